@@ -34,12 +34,17 @@ import org.jetbrains.kotlin.gradle.tasks.KotlinCompile
 
 open class AndroidPlugin34 : AndroidPluginCompat() {
 
-    override fun registerTransform(project: Project, debug: Property<Boolean>, hasKotlinPlugin: Boolean) {
+    override fun registerTransform(
+        project: Project,
+        debug: Property<Boolean>,
+        probeParallelism: Property<Int>,
+        hasKotlinPlugin: Boolean
+    ) {
         // For regular build and instrumentation (on mobile device) tests,
         // uses the Transform API for Android Plugin 7.1 and older.
         val androidExtension = project.extensions.findByType(BaseExtension::class.java)
             ?: error("The Android Gradle plugin BaseExtension was not found.")
-        androidExtension.registerTransform(ObjectBoxAndroidTransform(debug))
+        androidExtension.registerTransform(ObjectBoxAndroidTransform(debug, probeParallelism))
 
         // For local (on dev machine) unit tests.
         // A transform registered like above does only run when dexing is required
@@ -49,17 +54,17 @@ open class AndroidPlugin34 : AndroidPluginCompat() {
         // Note: see ProjectEnv.androidPluginIds which plugins are supported.
         when (androidExtension) {
             is AppExtension -> androidExtension.applicationVariants.all {
-                injectTransformTask(project, debug, hasKotlinPlugin, it, it.unitTestVariant)
+                injectTransformTask(project, debug, probeParallelism, hasKotlinPlugin, it, it.unitTestVariant)
             }
             // Used for Android Instant App base and feature modules, but deprecated as of
             // Android Plugin 3.4.0 (April 2019). Behaves similar to the library plugin.
             // https://developer.android.com/topic/google-play-instant/feature-module-migration
             is FeatureExtension -> androidExtension.featureVariants.all {
-                injectTransformTask(project, debug, hasKotlinPlugin, it, it.unitTestVariant)
+                injectTransformTask(project, debug, probeParallelism, hasKotlinPlugin, it, it.unitTestVariant)
             }
 
             is LibraryExtension -> androidExtension.libraryVariants.all {
-                injectTransformTask(project, debug, hasKotlinPlugin, it, it.unitTestVariant)
+                injectTransformTask(project, debug, probeParallelism, hasKotlinPlugin, it, it.unitTestVariant)
             }
             // Note: TestExtension is only used to create a separate instrumentation test module,
             // it can not run local unit tests.
@@ -78,7 +83,7 @@ open class AndroidPlugin34 : AndroidPluginCompat() {
      * (bug report to support unit tests at https://issuetracker.google.com/issues/37076369).
      */
     private fun injectTransformTask(
-        project: Project, debug: Property<Boolean>, hasKotlinPlugin: Boolean,
+        project: Project, debug: Property<Boolean>, probeParallelism: Property<Int>, hasKotlinPlugin: Boolean,
         baseVariant: BaseVariant, unitTestVariant: UnitTestVariant
     ) {
         // Add compiled Java project sources, makes Java compile task a dependency.
@@ -104,7 +109,7 @@ open class AndroidPlugin34 : AndroidPluginCompat() {
         val transformTask = project.tasks.register(
             transformTaskName,
             ObjectBoxTestClassesTransformTask::class.java,
-            ObjectBoxTestClassesTransformTask.ConfigAction(debug, outputDir, inputClasspath)
+            ObjectBoxTestClassesTransformTask.ConfigAction(debug, probeParallelism, outputDir, inputClasspath)
         )
 
         // Configure the test classpath by appending the transform output file collection to the start of
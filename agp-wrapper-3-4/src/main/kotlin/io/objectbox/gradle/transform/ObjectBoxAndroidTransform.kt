@@ -20,6 +20,7 @@ package io.objectbox.gradle.transform
 
 import com.android.build.api.transform.Format
 import com.android.build.api.transform.QualifiedContent
+import com.android.build.api.transform.Status
 import com.android.build.api.transform.Transform
 import com.android.build.api.transform.TransformInvocation
 import io.objectbox.logging.log
@@ -30,12 +31,17 @@ import java.io.File
 /**
  * A byte-code [Transform] to be registered with the Android plugin to run before dexing (regular builds or instrumented
  * unit test builds). The transform results are stored in a directory assigned to this Transform.
+ * Runs incrementally: only copies changed files and only transforms classes affected by changed class files,
+ * see [ObjectBoxJavaTransform.transformIncrementally].
  * To also support transformation for local unit test builds the registration code injects custom transform tasks
  * for each build variant with unit tests. They run an [ObjectBoxJavaTransform] before unit test code is compiled.
  *
  * @see ClassTransformer
  */
-class ObjectBoxAndroidTransform(private val debug: Property<Boolean>) : Transform() {
+class ObjectBoxAndroidTransform(
+    private val debug: Property<Boolean>,
+    private val probeParallelism: Property<Int>
+) : Transform() {
 
     override fun getName(): String {
         return "ObjectBoxAndroidTransform"
@@ -50,16 +56,19 @@ class ObjectBoxAndroidTransform(private val debug: Property<Boolean>) : Transfor
     }
 
     override fun isIncremental(): Boolean {
-        return false
+        return true
     }
 
     override fun transform(info: TransformInvocation) {
         super.transform(info)
         val debug = debug.get()
         try {
-            val probedClasses = mutableListOf<ProbedClass>()
+            val incremental = info.isIncremental
+            if (!incremental) info.outputProvider.deleteAll()
 
-            val classProber = ClassProber()
+            val byteCodeDirs = mutableListOf<File>()
+            val outDirs = mutableListOf<File>()
+            val changedClassFiles = mutableListOf<File>()
             info.inputs.forEach { transformInput ->
                 // Look through directory inputs to transform or just copy.
                 transformInput.directoryInputs.forEach { directoryInput ->
@@ -72,40 +81,68 @@ class ObjectBoxAndroidTransform(private val debug: Property<Boolean>) : Transfor
                         Format.DIRECTORY
                     )
                     if (debug) log("Output directory: $outDir")
+                    byteCodeDirs += directoryInput.file
+                    outDirs += outDir
 
-                    // TODO incremental: directoryInput.changedFiles
-
-                    var classes = 0
-                    var copied = 0
-                    directoryInput.file.walk().filter { it.isFile }.forEach { file ->
-                        if (file.name.endsWith(".class")) {
-                            probedClasses += classProber.probeClass(file, outDir)
-                            classes += 1
-                        } else {
+                    // Class files are handled by ObjectBoxJavaTransform, just copy (or delete) other files.
+                    if (incremental) {
+                        var changed = 0
+                        directoryInput.changedFiles.forEach { (file, status) ->
+                            if (status == Status.NOTCHANGED) return@forEach
+                            changed += 1
+                            if (file.name.endsWith(".class")) {
+                                changedClassFiles += file
+                            } else {
+                                val destFile = File(outDir, file.toRelativeString(directoryInput.file))
+                                if (status == Status.REMOVED) {
+                                    destFile.delete()
+                                } else if (file.isFile) {
+                                    file.copyTo(destFile, overwrite = true)
+                                }
+                            }
+                        }
+                        if (debug) log("$changed files changed.")
+                    } else {
+                        var copied = 0
+                        directoryInput.file.walk().filter { it.isFile && !it.name.endsWith(".class") }.forEach { file ->
                             val relativePath = file.toRelativeString(directoryInput.file)
                             val destFile = File(outDir, relativePath)
                             file.copyTo(destFile, overwrite = true)
                             copied += 1
                         }
+                        if (debug) log("Copied $copied files.")
                     }
-                    if (debug) log("Copied $copied files, will check $classes classes if transform required.")
                 }
 
                 // Not looking at class files in JARs, just copy them.
                 // It appears only Android Gradle Plugin 3.6.0 uses this to pass the R classes in a JAR.
                 // https://github.com/objectbox/objectbox-java/issues/817
                 transformInput.jarInputs.forEach { jarInput ->
+                    if (incremental && jarInput.status == Status.NOTCHANGED) return@forEach
                     if (debug) log("Input JAR: ${jarInput.name} ${jarInput.file}")
                     // Note: TransformOutputProvider.getContentLocation(name, ...) returns the same file if all params
                     // match. Make sure name differs for each JAR to avoid overwriting an already copied JAR.
                     val outFileJar =
                         info.outputProvider.getContentLocation(jarInput.name, outputTypes, scopes, Format.JAR)
-                    jarInput.file.copyTo(outFileJar, overwrite = true)
-                    if (debug) log("Output JAR: $outFileJar")
+                    if (incremental && jarInput.status == Status.REMOVED) {
+                        outFileJar.delete()
+                        if (debug) log("Removed output JAR: $outFileJar")
+                    } else {
+                        jarInput.file.copyTo(outFileJar, overwrite = true)
+                        if (debug) log("Output JAR: $outFileJar")
+                    }
                 }
             }
 
-            ClassTransformer(debug).transformOrCopyClasses(probedClasses)
+            // Keep the probed classes to only probe changed class files and only transform affected classes
+            // in incremental runs.
+            val indexFile = File(info.context.temporaryDir, ProbeIndex.FILE_NAME)
+            ObjectBoxJavaTransform(debug, probeParallelism.get()).transformIncrementally(
+                byteCodeDirs,
+                outDirs,
+                if (incremental) changedClassFiles else null,
+                indexFile
+            )
 
         } catch (e: Throwable) {
             val buildTracker = BasicBuildTracker("Transformer")
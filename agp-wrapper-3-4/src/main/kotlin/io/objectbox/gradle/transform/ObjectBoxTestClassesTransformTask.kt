@@ -26,6 +26,7 @@ import org.gradle.api.file.FileCollection
 import org.gradle.api.provider.Property
 import org.gradle.api.tasks.Classpath
 import org.gradle.api.tasks.Input
+import org.gradle.api.tasks.Internal
 import org.gradle.api.tasks.OutputDirectory
 import org.gradle.api.tasks.TaskAction
 import java.io.File
@@ -39,6 +40,9 @@ abstract class ObjectBoxTestClassesTransformTask : DefaultTask() {
     @get:Input
     abstract val debug: Property<Boolean>
 
+    @get:Internal
+    abstract val probeParallelism: Property<Int>
+
     @get:Classpath
     abstract val compiledClasses: ConfigurableFileCollection
 
@@ -52,11 +56,13 @@ abstract class ObjectBoxTestClassesTransformTask : DefaultTask() {
         outputDir.deleteRecursively()
         outputDir.mkdirs()
 
-        ObjectBoxJavaTransform(debug.get()).transform(compiledClasses, outputDir, copyNonTransformed = false)
+        ObjectBoxJavaTransform(debug.get(), probeParallelism.get())
+            .transform(compiledClasses, outputDir, copyNonTransformed = false)
     }
 
     internal class ConfigAction(
         private val debug: Property<Boolean>,
+        private val probeParallelism: Property<Int>,
         private val outputDir: File,
         private val inputClasspath: FileCollection
     ) : Action<ObjectBoxTestClassesTransformTask> {
@@ -64,6 +70,7 @@ abstract class ObjectBoxTestClassesTransformTask : DefaultTask() {
             transformTask.group = "objectbox"
             transformTask.description = "Transforms Java bytecode for local unit tests."
             transformTask.debug.set(debug)
+            transformTask.probeParallelism.set(probeParallelism)
             transformTask.outputDir.set(outputDir)
             transformTask.compiledClasses.from(inputClasspath)
         }
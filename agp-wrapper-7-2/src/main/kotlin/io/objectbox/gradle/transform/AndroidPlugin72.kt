@@ -18,15 +18,27 @@
 
 package io.objectbox.gradle.transform
 
+import com.android.build.api.artifact.MultipleArtifact
 import com.android.build.api.instrumentation.FramesComputationMode
 import com.android.build.api.instrumentation.InstrumentationScope
 import com.android.build.api.variant.AndroidComponentsExtension
+import com.android.build.api.variant.AndroidPluginVersion
+import com.android.build.api.variant.SourceDirectories
 import org.gradle.api.Project
 import org.gradle.api.provider.Property
 
 class AndroidPlugin72 : AndroidPlugin34() {
 
-    override fun registerTransform(project: Project, debug: Property<Boolean>, hasKotlinPlugin: Boolean) {
+    companion object {
+        private const val OBJECTBOX_JAVA_MODULE = "io.objectbox:objectbox-java"
+    }
+
+    override fun registerTransform(
+        project: Project,
+        debug: Property<Boolean>,
+        probeParallelism: Property<Int>,
+        hasKotlinPlugin: Boolean
+    ) {
         // For all builds and tests (on device, on dev machine),
         // uses the new Transform API for Android Plugin 7.2 and newer.
         val androidComponents = project.extensions.getByType(AndroidComponentsExtension::class.java)
@@ -43,4 +55,89 @@ class AndroidPlugin72 : AndroidPlugin34() {
         }
     }
 
-}
\ No newline at end of file
+    override fun registerKeepRules(project: Project, keepRules: Property<Boolean>) {
+        val androidComponents = project.extensions.getByType(AndroidComponentsExtension::class.java)
+        // The consumer rules of objectbox-java keep all fields and constructors of entity classes, so the generated
+        // rules only narrow what R8 keeps if those are ignored, which requires Android Plugin 8.3 or newer.
+        val replaceLibraryRules = androidComponents.pluginVersion >= AndroidPluginVersion(8, 3)
+        androidComponents.finalizeDsl { extension ->
+            if (keepRules.get()) {
+                // See ObjectBoxProcessor.OPTION_KEEP_RULES, kapt also uses these arguments.
+                extension.defaultConfig.javaCompileOptions.annotationProcessorOptions.arguments
+                    .putIfAbsent("objectbox.keepRules", "true")
+                if (replaceLibraryRules) {
+                    extension.buildTypes.forEach { ignoreKeepRulesOf(it, OBJECTBOX_JAVA_MODULE) }
+                } else {
+                    project.logger.info(
+                        "ObjectBox: keep rules of $OBJECTBOX_JAVA_MODULE require Android Plugin 8.3 or newer to be " +
+                                "ignored, entity classes are still fully kept."
+                    )
+                }
+            }
+        }
+        androidComponents.onVariants { variant ->
+            if (!keepRules.get()) return@onVariants
+            // R8 does not read the rules the processor writes to META-INF/proguard of the classes of this module,
+            // so collect and add them to the ProGuard files of the variant.
+            val keepRulesTask = project.tasks.register(
+                "objectboxKeepRules${variant.name.capitalize()}",
+                ObjectBoxKeepRulesTask::class.java
+            ) {
+                it.classesDirs.from(variant.artifacts.getAll(MultipleArtifact.ALL_CLASSES_DIRS))
+                it.includeLibraryRules.set(replaceLibraryRules)
+                it.rulesFile.set(
+                    project.layout.buildDirectory.file("intermediates/objectbox/keep-rules/${variant.name}/objectbox.pro")
+                )
+            }
+            variant.proguardFiles.add(keepRulesTask.flatMap { it.rulesFile })
+        }
+    }
+
+    /**
+     * Makes R8 ignore the consumer keep rules of the given library module for a build type, see
+     * ObjectBoxKeepRulesTask.LIBRARY_RULES for those it has to replace. The build type keep rules DSL
+     * (optimization.keepRules) of Android Plugin 8.3 is not available at compile time.
+     */
+    private fun ignoreKeepRulesOf(buildType: Any, module: String) {
+        val optimization = buildType.javaClass.getMethod("getOptimization").invoke(buildType)
+        val keepRules = optimization.javaClass.getMethod("getKeepRules").invoke(optimization)
+        keepRules.javaClass.getMethod("ignoreExternalDependencies", Array<String>::class.java)
+            .invoke(keepRules, arrayOf(module))
+    }
+
+    override fun registerBaselineProfile(project: Project, baselineProfile: Property<Boolean>) {
+        val androidComponents = project.extensions.getByType(AndroidComponentsExtension::class.java)
+        // Baseline profile sources of variants are only available with Android Plugin 8.0 and newer.
+        if (androidComponents.pluginVersion < AndroidPluginVersion(8, 0)) {
+            androidComponents.finalizeDsl {
+                if (baselineProfile.get()) {
+                    project.logger.warn("ObjectBox: baselineProfile requires Android Plugin 8.0 or newer, ignoring it.")
+                }
+            }
+            return
+        }
+        androidComponents.finalizeDsl { extension ->
+            if (baselineProfile.get()) {
+                // See ObjectBoxProcessor.OPTION_BASELINE_PROFILE, kapt also uses these arguments.
+                extension.defaultConfig.javaCompileOptions.annotationProcessorOptions.arguments
+                    .putIfAbsent("objectbox.baselineProfile", "true")
+            }
+        }
+        androidComponents.onVariants { variant ->
+            if (!baselineProfile.get()) return@onVariants
+            // The processor writes the rules to the class output, collect them into a baseline profile source
+            // directory of the variant, which the Android Plugin merges into the baseline profile of the app.
+            val baselineProfileTask = project.tasks.register(
+                "objectboxBaselineProfile${variant.name.capitalize()}",
+                ObjectBoxBaselineProfileTask::class.java
+            ) {
+                it.classesDirs.from(variant.artifacts.getAll(MultipleArtifact.ALL_CLASSES_DIRS))
+            }
+            // Sources.baselineProfiles was added with Android Plugin 8.0, so it is not available at compile time.
+            val baselineProfiles = variant.sources.javaClass.getMethod("getBaselineProfiles")
+                .invoke(variant.sources) as SourceDirectories?
+            baselineProfiles?.addGeneratedSourceDirectory(baselineProfileTask) { it.outputDir }
+        }
+    }
+
+}
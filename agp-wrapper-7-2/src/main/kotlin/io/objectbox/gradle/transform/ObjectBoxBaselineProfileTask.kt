@@ -0,0 +1,69 @@
+/*
+ * ObjectBox Build Tools
+ * Copyright (C) 2025 ObjectBox Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.objectbox.gradle.transform
+
+import org.gradle.api.DefaultTask
+import org.gradle.api.file.ConfigurableFileCollection
+import org.gradle.api.file.DirectoryProperty
+import org.gradle.api.file.FileTree
+import org.gradle.api.tasks.CacheableTask
+import org.gradle.api.tasks.InputFiles
+import org.gradle.api.tasks.Internal
+import org.gradle.api.tasks.OutputDirectory
+import org.gradle.api.tasks.PathSensitive
+import org.gradle.api.tasks.PathSensitivity
+import org.gradle.api.tasks.TaskAction
+
+/**
+ * Merges the Baseline Profile rules the ObjectBox annotation processor writes to META-INF/objectbox/baseline-prof of
+ * the class output of a variant into a baseline-prof.txt file in [outputDir], which is added to the baseline profile
+ * sources of the variant.
+ */
+@CacheableTask
+abstract class ObjectBoxBaselineProfileTask : DefaultTask() {
+
+    /** The class directories of a variant, only [profileFiles] in them are inputs of this task. */
+    @get:Internal
+    abstract val classesDirs: ConfigurableFileCollection
+
+    @get:InputFiles
+    @get:PathSensitive(PathSensitivity.NAME_ONLY)
+    val profileFiles: FileTree
+        get() = classesDirs.asFileTree.matching { it.include(PROFILE_PATTERN) }
+
+    /** Set by the Android Plugin when added as a generated source directory. */
+    @get:OutputDirectory
+    abstract val outputDir: DirectoryProperty
+
+    @TaskAction
+    fun mergeProfiles() {
+        val outputDir = outputDir.get().asFile
+        outputDir.deleteRecursively()
+        outputDir.mkdirs()
+        // Sort by name so the output does not depend on the order of class directories.
+        val rules = profileFiles.files.sortedBy { it.name }.joinToString("") { it.readText() }
+        outputDir.resolve("baseline-prof.txt").writeText(rules)
+    }
+
+    companion object {
+        /** Matches files written by the annotation processor if its objectbox.baselineProfile option is enabled. */
+        const val PROFILE_PATTERN = "META-INF/objectbox/baseline-prof/objectbox-*.txt"
+    }
+
+}
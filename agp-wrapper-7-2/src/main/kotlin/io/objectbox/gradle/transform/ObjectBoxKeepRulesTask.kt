@@ -0,0 +1,110 @@
+/*
+ * ObjectBox Build Tools
+ * Copyright (C) 2025 ObjectBox Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.objectbox.gradle.transform
+
+import org.gradle.api.DefaultTask
+import org.gradle.api.file.ConfigurableFileCollection
+import org.gradle.api.file.FileTree
+import org.gradle.api.file.RegularFileProperty
+import org.gradle.api.provider.Property
+import org.gradle.api.tasks.CacheableTask
+import org.gradle.api.tasks.Input
+import org.gradle.api.tasks.InputFiles
+import org.gradle.api.tasks.Internal
+import org.gradle.api.tasks.OutputFile
+import org.gradle.api.tasks.PathSensitive
+import org.gradle.api.tasks.PathSensitivity
+import org.gradle.api.tasks.TaskAction
+
+/**
+ * Merges the keep rules the ObjectBox annotation processor writes to META-INF/proguard of the class output of a
+ * variant into [rulesFile], so they can be added to the ProGuard files of the variant: R8 only reads rules in
+ * META-INF/proguard of library JARs, not of the classes of the module it runs for.
+ *
+ * If [includeLibraryRules] is set, also adds the rules of objectbox-java that are not about entity classes, for when
+ * the consumer rules of objectbox-java are ignored.
+ */
+@CacheableTask
+abstract class ObjectBoxKeepRulesTask : DefaultTask() {
+
+    /** The class directories of a variant, only [rulesFiles] in them are inputs of this task. */
+    @get:Internal
+    abstract val classesDirs: ConfigurableFileCollection
+
+    @get:InputFiles
+    @get:PathSensitive(PathSensitivity.NAME_ONLY)
+    val rulesFiles: FileTree
+        get() = classesDirs.asFileTree.matching { it.include(RULES_PATTERN) }
+
+    @get:Input
+    abstract val includeLibraryRules: Property<Boolean>
+
+    @get:OutputFile
+    abstract val rulesFile: RegularFileProperty
+
+    init {
+        @Suppress("LeakingThis")
+        includeLibraryRules.convention(false)
+    }
+
+    @TaskAction
+    fun mergeRules() {
+        // Sort by name so the output does not depend on the order of class directories.
+        val rules = rulesFiles.files.sortedBy { it.name }.map { it.readText() }
+        val allRules = if (includeLibraryRules.get()) listOf(LIBRARY_RULES) + rules else rules
+        rulesFile.get().asFile.writeText(allRules.joinToString("\n"))
+    }
+
+    companion object {
+        /**
+         * The consumer rules of objectbox-java (META-INF/proguard/objectbox-java.pro) without those keeping all fields
+         * and constructors of entity classes, which the generated rules replace.
+         */
+        val LIBRARY_RULES = """
+            # Rules of objectbox-java except those for entity classes, added by the ObjectBox Gradle plugin.
+            -keepattributes *Annotation*
+            -keepclasseswithmembernames class io.objectbox.** {
+                native <methods>;
+            }
+            -keep class io.objectbox.BoxStore
+            -keep class * extends io.objectbox.Cursor {
+                <init>(...);
+            }
+            -keep class io.objectbox.relation.ToOne {
+                void setTargetId(long);
+            }
+            -keep class io.objectbox.relation.ToMany
+            -keep class io.objectbox.tree.LeafNode
+            -keep @interface io.objectbox.annotation.Entity
+            -keep interface io.objectbox.converter.PropertyConverter {*;}
+            -keep class * implements io.objectbox.converter.PropertyConverter {*;}
+            -keep class io.objectbox.exception.DbException {*;}
+            -keep class * extends io.objectbox.exception.DbException {*;}
+            -keep class io.objectbox.exception.DbExceptionListener {*;}
+            -keep class * implements io.objectbox.exception.DbExceptionListener {*;}
+            -dontwarn sun.misc.Unsafe
+            -dontwarn edu.umd.cs.findbugs.annotations.SuppressFBWarnings
+
+        """.trimIndent()
+
+        /** Matches files written by the annotation processor if its objectbox.keepRules option is enabled. */
+        const val RULES_PATTERN = "META-INF/proguard/objectbox-*.pro"
+    }
+
+}
@@ -23,7 +23,26 @@ import org.gradle.api.provider.Property
 
 abstract class AndroidPluginCompat {
 
-    abstract fun registerTransform(project: Project, debug: Property<Boolean>, hasKotlinPlugin: Boolean)
+    abstract fun registerTransform(
+        project: Project,
+        debug: Property<Boolean>,
+        probeParallelism: Property<Int>,
+        hasKotlinPlugin: Boolean
+    )
+
+    /**
+     * If [keepRules] is enabled, enables the keep rules annotation processor option and adds the generated rules to
+     * the ProGuard files of each variant. Does nothing for Android Plugins before 7.2.
+     */
+    open fun registerKeepRules(project: Project, keepRules: Property<Boolean>) {
+    }
+
+    /**
+     * If [baselineProfile] is enabled, enables the baseline profile annotation processor option and adds the
+     * generated rules to the baseline profile sources of each variant. Does nothing for Android Plugins before 8.0.
+     */
+    open fun registerBaselineProfile(project: Project, baselineProfile: Property<Boolean>) {
+    }
 
     /**
      * Returns the Android application ID of the first found build variant of the given project.
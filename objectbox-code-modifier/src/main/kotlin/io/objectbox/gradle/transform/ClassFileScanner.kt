@@ -0,0 +1,140 @@
+/*
+ * ObjectBox Build Tools
+ * Copyright (C) 2025 ObjectBox Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.objectbox.gradle.transform
+
+import java.io.ByteArrayInputStream
+import java.io.DataInputStream
+import java.io.IOException
+
+/**
+ * Scans just the constant pool and the class and super class names of a class file, which is much cheaper than
+ * parsing all fields, methods and attributes into a javassist ClassFile.
+ *
+ * A class can only be an entity, a @BaseEntity, a cursor or an EntityInfo class if its constant pool contains the
+ * name of the respective annotation, super class or interface. See [ClassProber].
+ *
+ * See https://docs.oracle.com/javase/specs/jvms/se8/html/jvms-4.html
+ */
+internal object ClassFileScanner {
+
+    class Result(
+        /** Fully qualified name (dot notation) of the class. */
+        val name: String,
+        /** Fully qualified name (dot notation) of the super class, null for java.lang.Object. */
+        val superClass: String?,
+        /** If the constant pool contains a name that makes the class a candidate for transformation. */
+        val isCandidate: Boolean
+    )
+
+    private val candidateMarkers: List<ByteArray> = listOf(
+        "L${ClassConst.entityAnnotationName.replace('.', '/')};",
+        "L${ClassConst.baseEntityAnnotationName.replace('.', '/')};",
+        ClassConst.cursorClass.replace('.', '/'),
+        ClassConst.entityInfo.replace('.', '/')
+    ).map { it.toByteArray(Charsets.UTF_8) }
+
+    private const val MAGIC = 0xCAFEBABE.toInt()
+
+    private const val TAG_UTF8 = 1
+    private const val TAG_INTEGER = 3
+    private const val TAG_FLOAT = 4
+    private const val TAG_LONG = 5
+    private const val TAG_DOUBLE = 6
+    private const val TAG_CLASS = 7
+    private const val TAG_STRING = 8
+    private const val TAG_FIELD_REF = 9
+    private const val TAG_METHOD_REF = 10
+    private const val TAG_INTERFACE_METHOD_REF = 11
+    private const val TAG_NAME_AND_TYPE = 12
+    private const val TAG_METHOD_HANDLE = 15
+    private const val TAG_METHOD_TYPE = 16
+    private const val TAG_DYNAMIC = 17
+    private const val TAG_INVOKE_DYNAMIC = 18
+    private const val TAG_MODULE = 19
+    private const val TAG_PACKAGE = 20
+
+    fun scan(bytes: ByteArray): Result {
+        if (readInt(bytes, 0) != MAGIC) throw IOException("Not a class file (bad magic)")
+        val constantPoolCount = readUnsignedShort(bytes, 8)
+        // Offset of each constant pool entry, index 0 is unused.
+        val entryOffsets = IntArray(constantPoolCount)
+        var isCandidate = false
+        var offset = 10
+        var index = 1
+        while (index < constantPoolCount) {
+            entryOffsets[index] = offset
+            val tag = bytes[offset].toInt()
+            offset += 1
+            when (tag) {
+                TAG_UTF8 -> {
+                    val length = readUnsignedShort(bytes, offset)
+                    if (!isCandidate) isCandidate = isCandidateMarker(bytes, offset + 2, length)
+                    offset += 2 + length
+                }
+
+                TAG_CLASS, TAG_STRING, TAG_METHOD_TYPE, TAG_MODULE, TAG_PACKAGE -> offset += 2
+                TAG_METHOD_HANDLE -> offset += 3
+                TAG_INTEGER, TAG_FLOAT, TAG_FIELD_REF, TAG_METHOD_REF, TAG_INTERFACE_METHOD_REF,
+                TAG_NAME_AND_TYPE, TAG_DYNAMIC, TAG_INVOKE_DYNAMIC -> offset += 4
+
+                TAG_LONG, TAG_DOUBLE -> {
+                    offset += 8
+                    index++ // Takes two entries.
+                }
+
+                else -> throw IOException("Unknown constant pool tag $tag at index $index")
+            }
+            index++
+        }
+
+        // Followed by access flags (u2), this class (u2) and super class (u2).
+        val name = readClassName(bytes, entryOffsets, readUnsignedShort(bytes, offset + 2))
+            ?: throw IOException("Class file has no name")
+        val superClass = readClassName(bytes, entryOffsets, readUnsignedShort(bytes, offset + 4))
+        return Result(name, superClass, isCandidate)
+    }
+
+    private fun isCandidateMarker(bytes: ByteArray, offset: Int, length: Int): Boolean {
+        return candidateMarkers.any { marker ->
+            marker.size == length && marker.indices.all { bytes[offset + it] == marker[it] }
+        }
+    }
+
+    /** Returns the name (dot notation) of the class constant at the given index, null if the index is 0. */
+    private fun readClassName(bytes: ByteArray, entryOffsets: IntArray, classIndex: Int): String? {
+        if (classIndex == 0) return null
+        val classOffset = entryOffsets[classIndex]
+        if (bytes[classOffset].toInt() != TAG_CLASS) throw IOException("Expected class constant at index $classIndex")
+        val utf8Offset = entryOffsets[readUnsignedShort(bytes, classOffset + 1)]
+        if (bytes[utf8Offset].toInt() != TAG_UTF8) throw IOException("Expected UTF-8 constant for class $classIndex")
+        // Class files use modified UTF-8 prefixed with the length, like DataInput.readUTF expects.
+        val length = readUnsignedShort(bytes, utf8Offset + 1)
+        val internalName = DataInputStream(ByteArrayInputStream(bytes, utf8Offset + 1, 2 + length)).readUTF()
+        return internalName.replace('/', '.')
+    }
+
+    private fun readUnsignedShort(bytes: ByteArray, offset: Int): Int {
+        return (bytes[offset].toInt() and 0xFF shl 8) or (bytes[offset + 1].toInt() and 0xFF)
+    }
+
+    private fun readInt(bytes: ByteArray, offset: Int): Int {
+        return (readUnsignedShort(bytes, offset) shl 16) or readUnsignedShort(bytes, offset + 2)
+    }
+
+}
@@ -20,18 +20,48 @@ package io.objectbox.gradle.transform
 
 import javassist.bytecode.ClassFile
 import javassist.bytecode.FieldInfo
-import java.io.BufferedInputStream
+import java.io.ByteArrayInputStream
 import java.io.DataInputStream
 import java.io.File
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ForkJoinPool
 
 
 /**
  * Probes a class (byte code) for properties required during transformation, notably determines if it is an entity
  * or cursor class.
  *
+ * If [preFilter] is enabled (the default), first scans the constant pool of a class file and only parses it fully if
+ * it could be a class that matters for transformation, see [ClassFileScanner]. For any other class only its name and
+ * super class are probed, which is all that is needed of them.
+ *
  * @see ClassTransformer
  */
-class ClassProber {
+class ClassProber(private val preFilter: Boolean = true) {
+
+    /**
+     * Probes the given class files, each paired with its out directory (see [probeClass]). If [parallelism] is above 1
+     * probes using a fork-join pool with that many threads. Either way, returns results in the order of the given files.
+     */
+    fun probeClasses(classFiles: List<Pair<File, File>>, parallelism: Int = 1): List<ProbedClass> {
+        if (parallelism <= 1 || classFiles.size <= 1) {
+            return classFiles.map { (file, outDir) -> probeClass(file, outDir) }
+        }
+        val pool = ForkJoinPool(parallelism)
+        try {
+            val tasks = classFiles.map { (file, outDir) -> Callable { probeClass(file, outDir) } }
+            return pool.invokeAll(tasks).map {
+                try {
+                    it.get()
+                } catch (e: ExecutionException) {
+                    throw e.cause ?: e
+                }
+            }
+        } finally {
+            pool.shutdown()
+        }
+    }
 
     /**
      * Probes the class inside a byte code [file] for properties used during transformation.
@@ -40,7 +70,20 @@ class ClassProber {
      */
     fun probeClass(file: File, outDir: File): ProbedClass {
         try {
-            DataInputStream(BufferedInputStream(file.inputStream())).use { input ->
+            val bytes = file.readBytes()
+            if (preFilter) {
+                val scanned = ClassFileScanner.scan(bytes)
+                if (!scanned.isCandidate) {
+                    return ProbedClass(
+                        outDir = outDir,
+                        file = file,
+                        name = scanned.name,
+                        superClass = scanned.superClass,
+                        javaPackage = scanned.name.substringBeforeLast('.', "")
+                    )
+                }
+            }
+            DataInputStream(ByteArrayInputStream(bytes)).use { input ->
                 val classFile = ClassFile(input)
                 val name = classFile.name
                 val javaPackage = name.substringBeforeLast('.', "")
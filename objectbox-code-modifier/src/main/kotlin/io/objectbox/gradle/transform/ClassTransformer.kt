@@ -41,11 +41,16 @@ import java.net.URLDecoder
 class ClassTransformer(private val debug: Boolean = false) {
 
     // Use internal once fixed (Kotlin 1.1.4?)
-    class Context(val probedClasses: List<ProbedClass>) {
+    class Context(val probedClasses: List<ProbedClass>, private val classesToTransform: Set<String>? = null) {
         val classPool = ClassPool()
         val transformedClasses = mutableSetOf<ProbedClass>()
         val ctByProbedClass = mutableMapOf<ProbedClass, CtClass>()
         val entityTypes: Set<String> = probedClasses.filter { it.isEntity }.map { it.name }.toHashSet()
+
+        /** To look up super classes without scanning all probed classes. If a name is probed twice, the first wins. */
+        private val probedClassesByName = HashMap<String, ProbedClass>(probedClasses.size * 2).apply {
+            probedClasses.forEach { putIfAbsent(it.name, it) }
+        }
         val stats = ClassTransformerStats()
 
         init {
@@ -62,6 +67,11 @@ class ClassTransformer(private val debug: Boolean = false) {
         }
 
         fun wasTransformed(probedClass: ProbedClass) = transformedClasses.contains(probedClass)
+
+        fun shouldTransform(probedClass: ProbedClass) =
+            classesToTransform == null || classesToTransform.contains(probedClass.name)
+
+        fun findProbedClass(name: String): ProbedClass? = probedClassesByName[name]
     }
 
     private class RelationField(
@@ -71,18 +81,24 @@ class ClassTransformer(private val debug: Boolean = false) {
         val targetTypeSignature: SignatureAttribute.ClassType?
     )
 
+    /**
+     * Transforms entity (and their base entity) and cursor classes of [probedClasses]. If [classesToTransform] is
+     * given, only transforms entity and cursor classes with those names, all other probed classes are still used to
+     * look up super classes, entity types and EntityInfo classes.
+     */
     fun transformOrCopyClasses(
         probedClasses: List<ProbedClass>,
-        copyNonTransformed: Boolean = true
+        copyNonTransformed: Boolean = true,
+        classesToTransform: Set<String>? = null
     ): ClassTransformerStats {
-        val context = Context(probedClasses)
+        val context = Context(probedClasses, classesToTransform)
 
         // First define all EntityInfo (Entity_) and entity classes to ensure the real classes are used
         // (E.g. constructor transformation may introduce dummy classes)
         probedClasses.forEach { if (it.isEntityInfo) makeCtClass(context, it) }
         probedClasses.forEach { probedClass ->
             if (probedClass.isEntity) {
-                makeCtClasses(context, probedClasses, probedClass)
+                makeCtClasses(context, probedClass)
                 probedClass.interfaces.forEach {
                     // create dummy classes for interfaces to enable searching fields in super classes
                     // (javassist searches interfaces first and fails if they are not in the class pool)
@@ -113,7 +129,7 @@ class ClassTransformer(private val debug: Boolean = false) {
     }
 
     private fun transformEntities(context: Context) {
-        context.probedClasses.filter { it.isEntity }.forEach { entityClass ->
+        context.probedClasses.filter { it.isEntity && context.shouldTransform(it) }.forEach { entityClass ->
             val ctClass = context.ctByProbedClass[entityClass]!!
             transformEntityAndBases(context, ctClass, entityClass)
         }
@@ -125,7 +141,7 @@ class ClassTransformer(private val debug: Boolean = false) {
      */
     private fun transformEntityAndBases(context: Context, ctClassEntity: CtClass, probedClass: ProbedClass) {
         if (probedClass.superClass != null) {
-            context.probedClasses.find { it.name == probedClass.superClass }?.let { superClass ->
+            context.findProbedClass(probedClass.superClass)?.let { superClass ->
                 transformEntityAndBases(context, ctClassEntity, superClass)
             }
         }
@@ -166,11 +182,11 @@ class ClassTransformer(private val debug: Boolean = false) {
      * Walks up inheritance chain and creates a CtClass for each super class as well as the given class. This ensures
      * all fields of super classes are known when transforming entities and entity base classes.
      */
-    private fun makeCtClasses(context: Context, probedClasses: List<ProbedClass>, probedClass: ProbedClass) {
+    private fun makeCtClasses(context: Context, probedClass: ProbedClass) {
         if (probedClass.superClass != null && probedClass.superClass.isNotEmpty()) {
-            val superClass = probedClasses.find { it.name == probedClass.superClass }
+            val superClass = context.findProbedClass(probedClass.superClass)
             if (superClass != null) {
-                makeCtClasses(context, probedClasses, superClass)
+                makeCtClasses(context, superClass)
             }
         }
 
@@ -408,7 +424,7 @@ class ClassTransformer(private val debug: Boolean = false) {
     }
 
     private fun transformCursors(context: Context) {
-        context.probedClasses.filter { it.isCursor }.forEach { cursorClass ->
+        context.probedClasses.filter { it.isCursor && context.shouldTransform(it) }.forEach { cursorClass ->
             val ctClass = makeCtClass(context, cursorClass)
             try {
                 if (transformCursor(ctClass, cursorClass.outDir, context.classPool)) {
@@ -21,41 +21,82 @@ package io.objectbox.gradle.transform
 import org.gradle.api.Action
 import org.gradle.api.DefaultTask
 import org.gradle.api.file.ConfigurableFileCollection
+import org.gradle.api.file.Directory
+import org.gradle.api.file.DirectoryProperty
 import org.gradle.api.file.FileCollection
+import org.gradle.api.file.FileType
 import org.gradle.api.provider.Property
+import org.gradle.api.provider.Provider
+import org.gradle.api.tasks.CacheableTask
 import org.gradle.api.tasks.Classpath
 import org.gradle.api.tasks.Internal
+import org.gradle.api.tasks.OutputDirectory
 import org.gradle.api.tasks.TaskAction
+import org.gradle.work.Incremental
+import org.gradle.work.InputChanges
 
 /**
- * Transforms class (byte code) files produced by JVM projects (projects applying just a Java plugin)
- * in place.
+ * Transforms class (byte code) files produced by JVM projects (projects applying just a Java plugin),
+ * writes transformed and all other class files to [outputDir].
+ *
+ * Runs incrementally: only probes changed class files and only transforms classes affected by them,
+ * see [ObjectBoxJavaTransform.transformIncrementally].
+ *
+ * As the compiled classes are not changed, the outputs of this task can be cached.
  */
+@CacheableTask
 abstract class ObjectBoxJavaClassesTransformTask : DefaultTask() {
 
     @get:Internal
     abstract val debug: Property<Boolean>
 
+    @get:Internal
+    abstract val probeParallelism: Property<Int>
+
+    @get:Incremental
     @get:Classpath
     abstract val compiledClasses: ConfigurableFileCollection
 
+    /**
+     * The directory to write transformed and all other class files to. Use it instead of the output directory of the
+     * compile task as a classes directory of the source set.
+     */
+    @get:OutputDirectory
+    abstract val outputDir: DirectoryProperty
+
+    /** Contains the [ProbeIndex] of [compiledClasses]. */
+    @get:OutputDirectory
+    abstract val probeIndexDir: DirectoryProperty
+
+    private val probeIndexFile get() = probeIndexDir.file(ProbeIndex.FILE_NAME).get().asFile
+
     @TaskAction
-    fun transformClasses() {
-        // Currently transforming in place, no need to copy non-transformed files.
-        // In the future, might want to change this to output to a custom directory,
-        // then re-wire that to be used as the classes directory of a source set.
-        ObjectBoxJavaTransform(debug.get()).transform(compiledClasses, null, copyNonTransformed = false)
+    fun transformClasses(inputChanges: InputChanges) {
+        val changedFiles = if (inputChanges.isIncremental) {
+            inputChanges.getFileChanges(compiledClasses)
+                .filter { it.fileType == FileType.FILE }
+                .map { it.file }
+        } else null
+        ObjectBoxJavaTransform(debug.get(), probeParallelism.get())
+            .transformIncrementally(compiledClasses, outputDir.get().asFile, changedFiles, probeIndexFile)
     }
 
     class ConfigAction(
         private val debug: Property<Boolean>,
-        private val inputClasspath: FileCollection
+        private val probeParallelism: Property<Int>,
+        private val inputClasspath: FileCollection,
+        private val outputDir: Provider<Directory>
     ) : Action<ObjectBoxJavaClassesTransformTask> {
         override fun execute(transformTask: ObjectBoxJavaClassesTransformTask) {
             transformTask.group = "objectbox"
             transformTask.description = "Transforms Java bytecode for JVM projects."
             transformTask.debug.set(debug)
+            transformTask.probeParallelism.set(probeParallelism)
             transformTask.compiledClasses.from(inputClasspath)
+            transformTask.outputDir.set(outputDir)
+            transformTask.probeIndexDir.set(
+                transformTask.project.layout.buildDirectory.dir("objectbox/${transformTask.name}")
+            )
         }
     }
 }
\ No newline at end of file
@@ -33,21 +33,44 @@ import java.io.File
  * See ObjectBoxAndroidTransform in AGP 3.3 module.
  * @see ClassTransformer
  */
-class ObjectBoxJavaTransform(private val debug: Boolean) {
+class ObjectBoxJavaTransform @JvmOverloads constructor(
+    private val debug: Boolean,
+    /** Number of threads to probe class files with, see [ClassProber.probeClasses]. */
+    private val probeParallelism: Int = 1
+) {
 
     fun transform(compiledClasses: ConfigurableFileCollection, outDir: File?, copyNonTransformed: Boolean) {
-        try {
-            // Process classpath in reverse order to ensure output for first items overwrites output for last items.
-            val byteCodeDirs = compiledClasses.files.toList().reversed()
-            // Currently not modifying JAR files as there are not expected to be some,
-            // but instruct users to report if there are.
-            byteCodeDirs.forEach {
-                if (it.isFile && it.extension == "jar") {
-                    logWarning("Detected JAR file in transform classpath ($it), relations might not work, please report this to us.")
-                }
+        trackErrors { transform(byteCodeDirsOf(compiledClasses), outDir, copyNonTransformed) }
+    }
+
+    /**
+     * Like [transformIncrementally], for the byte code directories of [compiledClasses].
+     */
+    fun transformIncrementally(
+        compiledClasses: ConfigurableFileCollection,
+        outDir: File,
+        changedFiles: Collection<File>?,
+        indexFile: File
+    ) {
+        trackErrors { transformIncrementally(byteCodeDirsOf(compiledClasses), outDir, changedFiles, indexFile) }
+    }
+
+    private fun byteCodeDirsOf(compiledClasses: ConfigurableFileCollection): List<File> {
+        // Process classpath in reverse order to ensure output for first items overwrites output for last items.
+        val byteCodeDirs = compiledClasses.files.toList().reversed()
+        // Currently not modifying JAR files as there are not expected to be some,
+        // but instruct users to report if there are.
+        byteCodeDirs.forEach {
+            if (it.isFile && it.extension == "jar") {
+                logWarning("Detected JAR file in transform classpath ($it), relations might not work, please report this to us.")
             }
+        }
+        return byteCodeDirs
+    }
 
-            transform(byteCodeDirs, outDir, copyNonTransformed)
+    private inline fun trackErrors(block: () -> Unit) {
+        try {
+            block()
         } catch (e: Throwable) {
             val buildTracker = BasicBuildTracker("Transformer")
             if (e is TransformException) buildTracker.trackError("Transform failed", e)
@@ -60,19 +83,99 @@ class ObjectBoxJavaTransform(private val debug: Boolean) {
      * NOTE: This method is used by the ObjectBox Maven plugin.
      */
     fun transform(byteCodeDirs: List<File>, outDir: File?, copyNonTransformed: Boolean) {
-        val probedClasses = mutableListOf<ProbedClass>()
-        val classProber = ClassProber()
-        byteCodeDirs.forEach { byteCodeDir ->
+        val classFiles = findClassFiles(byteCodeDirs, byteCodeDirs.map { outDir ?: it })
+        val probedClasses = ClassProber().probeClasses(classFiles, probeParallelism)
+
+        ClassTransformer(debug).transformOrCopyClasses(probedClasses, copyNonTransformed)
+    }
+
+    /**
+     * Like [transformIncrementally], writing class files of all [byteCodeDirs] to [outDir].
+     */
+    fun transformIncrementally(byteCodeDirs: List<File>, outDir: File, changedFiles: Collection<File>?, indexFile: File) {
+        transformIncrementally(byteCodeDirs, byteCodeDirs.map { outDir }, changedFiles, indexFile)
+    }
+
+    /**
+     * Transforms the class files in [byteCodeDirs] like [transform] and stores their probed classes in [indexFile], see
+     * [ProbeIndex]. Transformed and all other class files of each byte code directory are written to the out directory
+     * at the same index of [outDirs], which must not be a byte code directory.
+     *
+     * If [changedFiles] are given (including removed files) and [indexFile] has a matching index, only probes the
+     * changed class files and only transforms entities, base entities and cursors affected by them. So if no such class
+     * changed, nothing is transformed. Otherwise, probes and transforms all class files.
+     */
+    fun transformIncrementally(
+        byteCodeDirs: List<File>,
+        outDirs: List<File>,
+        changedFiles: Collection<File>?,
+        indexFile: File
+    ) {
+        if (outDirs.any { byteCodeDirs.contains(it) }) {
+            throw TransformException("Can not transform incrementally in place, out directories are $outDirs")
+        }
+        val index = if (changedFiles != null) ProbeIndex.read(indexFile, byteCodeDirs, outDirs) else null
+        if (changedFiles == null || index == null) {
+            if (debug && changedFiles != null) log("No probe index found, transforming all classes")
+            // Remove outputs of removed class files, out directories may contain other files.
+            outDirs.distinct().forEach { outDir ->
+                outDir.walk().filter { it.isFile && it.name.endsWith(".class") }.toList().forEach { it.delete() }
+            }
+            val probedClasses = ClassProber().probeClasses(findClassFiles(byteCodeDirs, outDirs), probeParallelism)
+            val newIndex = ProbeIndex(byteCodeDirs, outDirs, probedClasses)
+            ClassTransformer(debug).transformOrCopyClasses(probedClasses)
+            newIndex.write(indexFile)
+            return
+        }
+
+        val previousEntityTypes = index.entityTypes
+        val changedClassFiles = changedFiles.filter { it.name.endsWith(".class") }
+        val (existingFiles, removedFiles) = changedClassFiles.partition { it.isFile }
+        removedFiles.forEach { file -> index[file]?.let { outputFileOf(it).delete() } }
+        val classFiles = existingFiles.map { file ->
+            val dirIndex = byteCodeDirs.indexOfFirst { file.startsWith(it) }
+            if (dirIndex == -1) {
+                throw TransformException("Changed class file \"${file.absolutePath}\" is not in a byte code dir")
+            }
+            Pair(file, outDirs[dirIndex])
+        }
+        val probedClasses = ClassProber().probeClasses(classFiles, probeParallelism)
+        val changedNames = index.update(probedClasses, removedFiles)
+
+        val classesToTransform = index.affectedClasses(changedNames, previousEntityTypes)
+        if (debug) log("${changedClassFiles.size} class files changed, transforming ${classesToTransform.size} classes")
+        // Copy changed classes and classes to transform (the transformer only writes them if it changed them),
+        // which also reverts classes that were transformed before, but no longer need to be.
+        (probedClasses + index.withSuperClasses(classesToTransform)).distinct().forEach {
+            it.file.copyTo(outputFileOf(it), overwrite = true)
+        }
+        if (classesToTransform.isNotEmpty()) {
+            ClassTransformer(debug).transformOrCopyClasses(
+                index.probedClasses, copyNonTransformed = false, classesToTransform = classesToTransform
+            )
+        }
+        index.write(indexFile)
+    }
+
+    /** Like [ClassTransformer], writes class files to the out directory based on their class name. */
+    private fun outputFileOf(probedClass: ProbedClass) =
+        File(probedClass.outDir, probedClass.name.replace('.', '/') + ".class")
+
+    /**
+     * Returns all class files in [byteCodeDirs], each paired with the directory to write it to: the out directory at
+     * the same index. To overwrite original files with transformed files, it is the byte code directory.
+     */
+    private fun findClassFiles(byteCodeDirs: List<File>, outDirs: List<File>): List<Pair<File, File>> {
+        val classFiles = mutableListOf<Pair<File, File>>()
+        byteCodeDirs.forEachIndexed { dirIndex, byteCodeDir ->
             if (debug) log("Detected byte code dir ${byteCodeDir.path}")
             byteCodeDir.walk().filter { it.isFile }.forEach { file ->
                 if (file.name.endsWith(".class")) {
-                    // If no out directory is given, overwrite original files with transformed files: so outDir == byteCodeDir
-                    probedClasses += classProber.probeClass(file, outDir ?: byteCodeDir)
+                    classFiles += Pair(file, outDirs[dirIndex])
                 }
             }
         }
-
-        ClassTransformer(debug).transformOrCopyClasses(probedClasses, copyNonTransformed)
+        return classFiles
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,278 @@
+/*
+ * ObjectBox Build Tools
+ * Copyright (C) 2025 ObjectBox Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.objectbox.gradle.transform
+
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.File
+import java.io.IOException
+
+/**
+ * The probed classes of all class files in some byte code directories, so an incremental run only has to probe
+ * changed class files. See [ObjectBoxJavaTransform.transformIncrementally].
+ *
+ * Directories are stored relative to the directory of the index file, so an index restored from the build cache into
+ * a relocated project is still used.
+ */
+class ProbeIndex private constructor(
+    /** The byte code directories the class files are in, see [ObjectBoxJavaTransform.transform]. */
+    val byteCodeDirs: List<File>,
+    /** The directory to write class files of the byte code directory at the same index to, see [ProbedClass.outDir]. */
+    val outDirs: List<File>,
+    private val probedByFile: LinkedHashMap<File, ProbedClass>
+) {
+
+    constructor(byteCodeDirs: List<File>, outDirs: List<File>, probedClasses: List<ProbedClass>) : this(
+        byteCodeDirs,
+        outDirs,
+        LinkedHashMap<File, ProbedClass>(probedClasses.size * 2).apply { probedClasses.forEach { put(it.file, it) } }
+    )
+
+    companion object {
+        const val FILE_NAME = "probe-index.bin"
+
+        /** Increase if the file format or what is probed changes, to not use outdated index files. */
+        private const val FORMAT_VERSION = 3
+
+        /**
+         * Returns the index stored in the given file, or null if there is none or it is for other byte code or out
+         * directories or can not be read.
+         */
+        fun read(indexFile: File, byteCodeDirs: List<File>, outDirs: List<File>): ProbeIndex? {
+            if (!indexFile.isFile) return null
+            return try {
+                DataInputStream(indexFile.inputStream().buffered()).use { input ->
+                    val baseDir = indexFile.absoluteFile.parentFile
+                    if (input.readInt() != FORMAT_VERSION) return null
+                    val storedDirs = input.readDirs(baseDir)
+                    if (storedDirs != byteCodeDirs.map { it.absoluteFile.normalize() }) return null
+                    val storedOutDirs = input.readDirs(baseDir)
+                    if (storedOutDirs != outDirs.map { it.absoluteFile.normalize() }) return null
+                    val count = input.readInt()
+                    val probedByFile = LinkedHashMap<File, ProbedClass>(count * 2)
+                    repeat(count) {
+                        val probedClass = input.readProbedClass(byteCodeDirs, outDirs)
+                        probedByFile[probedClass.file] = probedClass
+                    }
+                    if (input.read() != -1) throw IOException("Unexpected data at end of file")
+                    ProbeIndex(byteCodeDirs, outDirs, probedByFile)
+                }
+            } catch (e: IOException) {
+                null // Like a truncated file, just probe all class files again.
+            }
+        }
+
+        /** Reads directories written by [writeDirs], resolves relative ones against [baseDir]. */
+        private fun DataInputStream.readDirs(baseDir: File): List<File> = List(readInt()) {
+            val dir = File(readUTF())
+            (if (dir.isAbsolute) dir else File(baseDir, dir.path)).normalize()
+        }
+
+        private fun DataInputStream.readDirIndex(byteCodeDirs: List<File>): Int {
+            val dirIndex = readInt()
+            if (dirIndex !in byteCodeDirs.indices) throw IOException("Invalid byte code directory $dirIndex")
+            return dirIndex
+        }
+
+        private fun DataInputStream.readProbedClass(byteCodeDirs: List<File>, outDirs: List<File>): ProbedClass {
+            val dirIndex = readDirIndex(byteCodeDirs)
+            val file = File(byteCodeDirs[dirIndex], readUTF())
+            val outDir = outDirs[dirIndex]
+            val name = readUTF()
+            val superClass = if (readBoolean()) readUTF() else null
+            val flags = readInt()
+            val listFieldTypes = List(readInt()) { readUTF() }
+            val interfaces = List(readInt()) { readUTF() }
+            return ProbedClass(
+                outDir = outDir,
+                file = file,
+                name = name,
+                javaPackage = name.substringBeforeLast('.', ""),
+                superClass = superClass,
+                isCursor = flags and FLAG_CURSOR != 0,
+                isEntity = flags and FLAG_ENTITY != 0,
+                isEntityInfo = flags and FLAG_ENTITY_INFO != 0,
+                isBaseEntity = flags and FLAG_BASE_ENTITY != 0,
+                listFieldTypes = listFieldTypes,
+                hasToOneRef = flags and FLAG_TO_ONE_REF != 0,
+                hasToManyRef = flags and FLAG_TO_MANY_REF != 0,
+                hasBoxStoreField = flags and FLAG_BOX_STORE_FIELD != 0,
+                interfaces = interfaces
+            )
+        }
+
+        private const val FLAG_CURSOR = 1
+        private const val FLAG_ENTITY = 1 shl 1
+        private const val FLAG_ENTITY_INFO = 1 shl 2
+        private const val FLAG_BASE_ENTITY = 1 shl 3
+        private const val FLAG_TO_ONE_REF = 1 shl 4
+        private const val FLAG_TO_MANY_REF = 1 shl 5
+        private const val FLAG_BOX_STORE_FIELD = 1 shl 6
+    }
+
+    /** All probed classes, in the order they were first probed. */
+    val probedClasses: List<ProbedClass> get() = probedByFile.values.toList()
+
+    val entityTypes: Set<String> get() = probedByFile.values.filter { it.isEntity }.map { it.name }.toHashSet()
+
+    /** Returns the probed class of the given class file, or null if it was not probed. */
+    operator fun get(file: File): ProbedClass? = probedByFile[file]
+
+    /**
+     * Replaces the probed classes of the given class files with [probedClasses] and removes those of
+     * [removedFiles]. Returns the names of all classes that were removed, added or changed.
+     */
+    fun update(probedClasses: List<ProbedClass>, removedFiles: Collection<File>): Set<String> {
+        val changedNames = HashSet<String>()
+        removedFiles.forEach { file ->
+            probedByFile.remove(file)?.let { changedNames += it.name }
+        }
+        probedClasses.forEach { probedClass ->
+            probedByFile.put(probedClass.file, probedClass)?.let { changedNames += it.name }
+            changedNames += probedClass.name
+        }
+        return changedNames
+    }
+
+    /**
+     * Returns the names of entity and cursor classes that need to be transformed (again) if the classes with the
+     * given names changed, given the entity types before the change:
+     * - if an entity was added or removed, all as detecting List relations depends on the entity types,
+     * - entities that changed or have a changed super class (which may be a @BaseEntity) or EntityInfo class,
+     * - cursors that changed. Transforming a cursor does not depend on its entity: if that gets or loses relations,
+     *   the generated cursor changes as well.
+     */
+    fun affectedClasses(changedNames: Set<String>, previousEntityTypes: Set<String>): Set<String> {
+        val probedByName = probedByName()
+        val allAffected = entityTypes != previousEntityTypes
+
+        val affected = HashSet<String>()
+        probedByName.values.forEach { probedClass ->
+            if (probedClass.isEntity) {
+                if (allAffected || changedNames.contains(probedClass.name + '_')
+                    || superClassChainContainsAny(probedClass, probedByName, changedNames)) {
+                    affected += probedClass.name
+                }
+            } else if (probedClass.isCursor && (allAffected || changedNames.contains(probedClass.name))) {
+                affected += probedClass.name
+            }
+        }
+        return affected
+    }
+
+    /**
+     * Returns the probed classes with the given names and all of their probed super classes.
+     */
+    fun withSuperClasses(names: Set<String>): Set<ProbedClass> {
+        val probedByName = probedByName()
+        val classes = HashSet<ProbedClass>()
+        names.forEach { name -> probedByName[name]?.let { classes += superClassChain(it, probedByName) } }
+        return classes
+    }
+
+    private fun probedByName(): Map<String, ProbedClass> {
+        // Like ClassTransformer, if a name is probed twice, the first wins.
+        val probedByName = HashMap<String, ProbedClass>(probedByFile.size * 2)
+        probedByFile.values.forEach { probedByName.putIfAbsent(it.name, it) }
+        return probedByName
+    }
+
+    private fun superClassChainContainsAny(
+        probedClass: ProbedClass,
+        probedByName: Map<String, ProbedClass>,
+        names: Set<String>
+    ): Boolean = superClassChain(probedClass, probedByName).any { names.contains(it.name) }
+
+    /** Returns the given class and its probed super classes, starting with the given class. */
+    private fun superClassChain(probedClass: ProbedClass, probedByName: Map<String, ProbedClass>): List<ProbedClass> {
+        val chain = mutableListOf<ProbedClass>()
+        var current: ProbedClass? = probedClass
+        // Guard against cycles, which can only exist in broken class files.
+        while (current != null && chain.size <= probedByName.size) {
+            chain += current
+            current = current.superClass?.let { probedByName[it] }
+        }
+        return chain
+    }
+
+    /**
+     * Writes this to the given file. Failing to write is not an error as the next run then probes all class files.
+     */
+    fun write(indexFile: File) {
+        try {
+            indexFile.parentFile?.mkdirs()
+            val baseDir = indexFile.absoluteFile.parentFile
+            DataOutputStream(indexFile.outputStream().buffered()).use { output ->
+                output.writeInt(FORMAT_VERSION)
+                output.writeDirs(byteCodeDirs, baseDir)
+                output.writeDirs(outDirs, baseDir)
+                output.writeInt(probedByFile.size)
+                probedByFile.values.forEach { output.writeProbedClass(it) }
+            }
+        } catch (e: IOException) {
+            indexFile.delete() // Do not leave a partially written file.
+        }
+    }
+
+    /**
+     * Writes the paths of [dirs] relative to [baseDir], or absolute if there is no relative path (like on another
+     * drive on Windows).
+     */
+    private fun DataOutputStream.writeDirs(dirs: List<File>, baseDir: File) {
+        writeInt(dirs.size)
+        dirs.forEach { dir ->
+            val absoluteDir = dir.absoluteFile.normalize()
+            val path = try {
+                absoluteDir.toRelativeString(baseDir)
+            } catch (e: IllegalArgumentException) {
+                absoluteDir.path
+            }
+            writeUTF(path)
+        }
+    }
+
+    private fun DataOutputStream.writeFile(file: File) {
+        val dirIndex = byteCodeDirs.indexOfFirst { file.startsWith(it) }
+        if (dirIndex == -1) throw IOException("$file is not in a byte code directory")
+        writeInt(dirIndex)
+        writeUTF(file.relativeTo(byteCodeDirs[dirIndex]).path)
+    }
+
+    private fun DataOutputStream.writeProbedClass(probedClass: ProbedClass) {
+        // The out directory is the one of the byte code directory.
+        writeFile(probedClass.file)
+        writeUTF(probedClass.name)
+        writeBoolean(probedClass.superClass != null)
+        probedClass.superClass?.let { writeUTF(it) }
+        var flags = 0
+        if (probedClass.isCursor) flags = flags or FLAG_CURSOR
+        if (probedClass.isEntity) flags = flags or FLAG_ENTITY
+        if (probedClass.isEntityInfo) flags = flags or FLAG_ENTITY_INFO
+        if (probedClass.isBaseEntity) flags = flags or FLAG_BASE_ENTITY
+        if (probedClass.hasToOneRef) flags = flags or FLAG_TO_ONE_REF
+        if (probedClass.hasToManyRef) flags = flags or FLAG_TO_MANY_REF
+        if (probedClass.hasBoxStoreField) flags = flags or FLAG_BOX_STORE_FIELD
+        writeInt(flags)
+        writeInt(probedClass.listFieldTypes.size)
+        probedClass.listFieldTypes.forEach { writeUTF(it) }
+        writeInt(probedClass.interfaces.size)
+        probedClass.interfaces.forEach { writeUTF(it) }
+    }
+
+}
@@ -30,7 +30,7 @@ abstract class AbstractTransformTest {
         "build/classes/kotlin/testFixtures",
         "objectbox-gradle-plugin/build/classes/kotlin/testFixtures",
     )
-    private val classDir = classDirs.map(::File).first { it.exists() }
+    protected val classDir = classDirs.map(::File).first { it.exists() }
 
     private val prober = ClassProber()
 
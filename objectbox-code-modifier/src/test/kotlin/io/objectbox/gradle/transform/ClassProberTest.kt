@@ -24,6 +24,7 @@ import org.junit.Assert.assertNotNull
 import org.junit.Assert.assertTrue
 import org.junit.Test
 import java.io.File
+import kotlin.reflect.KClass
 
 
 class ClassProberTest : AbstractTransformTest() {
@@ -133,4 +134,47 @@ class ClassProberTest : AbstractTransformTest() {
         )
     }
 
+    @Test
+    fun probeClasses_parallelMatchesSequential() {
+        val outDir = File(".")
+        val classFiles = classDir.walk()
+            .filter { it.isFile && it.name.endsWith(".class") }
+            .map { Pair(it, outDir) }
+            .toList()
+        assertTrue(classFiles.size > 10)
+
+        val prober = ClassProber()
+        val sequential = prober.probeClasses(classFiles)
+        val parallel = prober.probeClasses(classFiles, parallelism = 4)
+        assertEquals(classFiles.map { it.first }, sequential.map { it.file })
+        assertEquals(sequential, parallel)
+    }
+
+    @Test
+    fun preFilter_matchesFullParsing() {
+        val outDir = File(".")
+        val classFiles = classDir.walk().filter { it.isFile && it.name.endsWith(".class") }.toList()
+        val fullyParsed = classFiles.map { ClassProber(preFilter = false).probeClass(it, outDir) }
+        val preFiltered = classFiles.map { ClassProber().probeClass(it, outDir) }
+        assertEquals(fullyParsed, preFiltered)
+    }
+
+    @Test
+    fun classFileScanner_detectsCandidates() {
+        fun scan(kclass: KClass<*>): ClassFileScanner.Result {
+            val file = File(classDir, kclass.qualifiedName!!.replace('.', '/') + ".class")
+            return ClassFileScanner.scan(file.readBytes())
+        }
+
+        assertTrue(scan(EntityEmpty::class).isCandidate)
+        assertTrue(scan(EntityBase::class).isCandidate)
+        assertTrue(scan(TestCursor::class).isCandidate)
+        assertTrue(scan(EntityInfoStub::class).isCandidate)
+        scan(JustCopyMe::class).let {
+            assertFalse(it.isCandidate)
+            assertEquals(JustCopyMe::class.qualifiedName, it.name)
+            assertEquals("java.lang.Object", it.superClass)
+        }
+    }
+
 }
\ No newline at end of file
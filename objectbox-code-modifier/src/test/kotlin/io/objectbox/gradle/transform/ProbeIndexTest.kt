@@ -0,0 +1,165 @@
+/*
+ * ObjectBox Build Tools
+ * Copyright (C) 2025 ObjectBox Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.objectbox.gradle.transform
+
+import com.google.common.truth.Truth.assertThat
+import org.junit.After
+import org.junit.Assert.assertThrows
+import org.junit.Test
+import java.io.File
+import kotlin.reflect.KClass
+
+class ProbeIndexTest : AbstractTransformTest() {
+
+    private val classes = listOf(
+        EntitySub::class, EntitySub_::class, EntityBase::class, EntitySubCursor::class, EntityInterface::class,
+        EntityEmpty::class, JustCopyMe::class
+    )
+
+    private val tempDir: File = File.createTempFile("probe-index-test", "").also {
+        it.delete()
+        it.mkdir()
+    }
+    private val byteCodeDir = File(tempDir, "classes")
+    private val indexFile = File(tempDir, ProbeIndex.FILE_NAME)
+
+    @After
+    fun deleteTempDir() {
+        tempDir.deleteRecursively()
+    }
+
+    @Test
+    fun affectedClasses() {
+        val index = ProbeIndex(listOf(classDir), listOf(classDir), classes.map { probeClass(it, classDir) })
+        val entityTypes = index.entityTypes
+        assertThat(entityTypes).containsExactly(EntitySub::class.qualifiedName, EntityEmpty::class.qualifiedName)
+
+        fun affectedBy(vararg changed: KClass<*>, previousEntityTypes: Set<String> = entityTypes) =
+            index.affectedClasses(changed.map { it.qualifiedName!! }.toSet(), previousEntityTypes)
+
+        assertThat(affectedBy(JustCopyMe::class)).isEmpty()
+        assertThat(affectedBy(EntityBase::class)).containsExactly(EntitySub::class.qualifiedName)
+        assertThat(affectedBy(EntitySub_::class)).containsExactly(EntitySub::class.qualifiedName)
+        assertThat(affectedBy(EntitySubCursor::class)).containsExactly(EntitySubCursor::class.qualifiedName)
+        // If an entity was added, all entities and cursors are affected.
+        assertThat(affectedBy(EntityEmpty::class, previousEntityTypes = setOf(EntitySub::class.qualifiedName!!)))
+            .containsExactly(
+                EntitySub::class.qualifiedName, EntityEmpty::class.qualifiedName,
+                EntitySubCursor::class.qualifiedName
+            )
+    }
+
+    @Test
+    fun writeAndRead() {
+        val probedClasses = classes.map { probeClass(it, classDir) }
+        val index = ProbeIndex(listOf(classDir), listOf(classDir), probedClasses)
+        index.write(indexFile)
+
+        assertThat(ProbeIndex.read(indexFile, listOf(classDir), listOf(classDir))!!.probedClasses)
+            .isEqualTo(probedClasses)
+        // Not used for other byte code or out directories.
+        assertThat(ProbeIndex.read(indexFile, listOf(tempDir), listOf(classDir))).isNull()
+        assertThat(ProbeIndex.read(indexFile, listOf(classDir), listOf(tempDir))).isNull()
+        // Not used if broken.
+        indexFile.writeBytes(indexFile.readBytes().copyOf(100))
+        assertThat(ProbeIndex.read(indexFile, listOf(classDir), listOf(classDir))).isNull()
+    }
+
+    @Test
+    fun read_afterRelocation() {
+        copyClassesToByteCodeDir()
+        val outDir = File(tempDir, "out")
+        val probedClasses = classes.map { ClassProber().probeClass(classFile(it), outDir) }
+        ProbeIndex(listOf(byteCodeDir), listOf(outDir), probedClasses).write(indexFile)
+
+        // Like restored from the build cache into a project in another directory.
+        val relocatedDir = File(tempDir, "relocated")
+        tempDir.listFiles()!!.forEach { it.copyRecursively(File(relocatedDir, it.name)) }
+        val relocatedByteCodeDir = File(relocatedDir, byteCodeDir.name)
+        val relocatedIndexFile = File(relocatedDir, indexFile.name)
+        val relocatedIndex = ProbeIndex.read(
+            relocatedIndexFile, listOf(relocatedByteCodeDir), listOf(File(relocatedDir, outDir.name))
+        )!!
+        assertThat(relocatedIndex.probedClasses.map { it.name }).isEqualTo(probedClasses.map { it.name })
+        relocatedIndex.probedClasses.forEach { assertThat(it.file.startsWith(relocatedByteCodeDir)).isTrue() }
+        assertThat(ProbeIndex.read(relocatedIndexFile, listOf(byteCodeDir), listOf(outDir))).isNull()
+    }
+
+    @Test
+    fun transformToOutputDir_incremental() {
+        val originalBytes = copyClassesToByteCodeDir()
+        val outDir = File(tempDir, "out")
+        val transform = ObjectBoxJavaTransform(true)
+
+        // Full run transforms entity and cursor and copies all other classes, does not change input.
+        transform.transformIncrementally(listOf(byteCodeDir), outDir, null, indexFile)
+        classes.forEach { assertThat(classFile(it).readBytes()).isEqualTo(originalBytes[it]) }
+        assertThat(outDir.walk().filter { it.isFile }.count()).isEqualTo(classes.size)
+        val transformedEntity = classFile(EntitySub::class, outDir).readBytes()
+        assertThat(transformedEntity).isNotEqualTo(originalBytes[EntitySub::class])
+        assertThat(classFile(JustCopyMe::class, outDir).readBytes()).isEqualTo(originalBytes[JustCopyMe::class])
+
+        // Changed entity is transformed again, removed class file is removed from output.
+        val removedFile = classFile(JustCopyMe::class)
+        removedFile.delete()
+        val changedFiles = listOf(classFile(EntitySub::class), removedFile)
+        transform.transformIncrementally(listOf(byteCodeDir), outDir, changedFiles, indexFile)
+        assertThat(classFile(EntitySub::class, outDir).readBytes()).isEqualTo(transformedEntity)
+        assertThat(classFile(JustCopyMe::class, outDir).exists()).isFalse()
+        val probedNames = ProbeIndex.read(indexFile, listOf(byteCodeDir), listOf(outDir))!!
+            .probedClasses.map { it.name }
+        assertThat(probedNames).doesNotContain(JustCopyMe::class.qualifiedName)
+        assertThat(probedNames).hasSize(classes.size - 1)
+    }
+
+    @Test
+    fun transformIncrementally_inPlaceFails() {
+        copyClassesToByteCodeDir()
+        assertThrows(TransformException::class.java) {
+            ObjectBoxJavaTransform(true).transformIncrementally(listOf(byteCodeDir), byteCodeDir, null, indexFile)
+        }
+        assertThat(indexFile.exists()).isFalse()
+    }
+
+    @Test
+    fun transformToOutputDirs_fullRunKeepsOtherFiles() {
+        copyClassesToByteCodeDir()
+        val outDir = File(tempDir, "out")
+        // Like the Android transform, which copies other files itself.
+        val resourceFile = File(outDir, "resource.txt").apply {
+            parentFile.mkdirs()
+            writeText("resource")
+        }
+        val staleClassFile = File(outDir, "Removed.class").apply { writeText("stale") }
+
+        ObjectBoxJavaTransform(true).transformIncrementally(listOf(byteCodeDir), listOf(outDir), null, indexFile)
+        assertThat(resourceFile.exists()).isTrue()
+        assertThat(staleClassFile.exists()).isFalse()
+        assertThat(outDir.walk().filter { it.isFile }.count()).isEqualTo(classes.size + 1)
+    }
+
+    private fun classFile(kclass: KClass<*>, dir: File = byteCodeDir) =
+        File(dir, kclass.qualifiedName!!.replace('.', '/') + ".class")
+
+    /** Copies the class files of [classes] to [byteCodeDir], returns their content. */
+    private fun copyClassesToByteCodeDir(): Map<KClass<*>, ByteArray> = classes.associateWith {
+        classFile(it, classDir).copyTo(classFile(it)).readBytes()
+    }
+
+}
@@ -20,12 +20,24 @@ package io.objectbox.generator;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
 
 import freemarker.template.Configuration;
 import freemarker.template.Template;
@@ -34,63 +46,126 @@ import io.objectbox.generator.model.Entity;
 import io.objectbox.generator.model.Property;
 import io.objectbox.generator.model.Schema;
 import io.objectbox.generator.model.ToManyBase;
+import io.objectbox.generator.model.ToManyByBacklink;
 import io.objectbox.generator.model.ToManyStandalone;
 import io.objectbox.generator.model.ToOne;
+import org.jetbrains.annotations.TestOnly;
 
 /**
  * Once you have your model created, use this class to generate box cursors as required by ObjectBox.
  */
 public class BoxGenerator {
 
-    public static final String MYOBJECTBOX_FTL = "myobjectbox.ftl";
     public static final String BASE_PACKAGE_PATH = "/io/objectbox/generator/";
+    private static final String DAO_FTL = "dao.ftl";
+
+    /**
+     * Templates parsed once and shared by all generators. As this is static, it is scoped to the class loader and
+     * so to the version of this generator, e.g. when it stays loaded in a Gradle daemon.
+     */
+    @Nullable
+    private static volatile Templates cachedTemplates;
 
-    private final Template templateMyObjectBox;
-    private final Template templateCursor;
-    private final Template templateEntityInfo;
     private final Template templateFlatbuffersSchema;
+    private final Template templateBaselineProfile;
+    private final Template templateKeepRules;
     // For DAOcompat
     private final Template templateDao;
     private final Template templateDaoSession;
 
+    /** Set from the job for the duration of {@link #generateAll(GeneratorJob)}. */
+    @Nullable
+    private Map<String, Long> fileTimesNanos;
+
+    /**
+     * The parsed templates. Processing a {@link Template} is thread-safe, as long as its configuration is not changed.
+     */
+    static final class Templates {
+        final Template flatbuffersSchema;
+        final Template baselineProfile;
+        final Template keepRules;
+        final Template dao;
+        final Template daoSession;
+        final long parseTimeMillis;
+
+        private Templates() throws IOException {
+            long start = System.currentTimeMillis();
+            Configuration config = getConfiguration(DAO_FTL);
+            flatbuffersSchema = config.getTemplate("flatbuffers-schema.ftl");
+            baselineProfile = config.getTemplate("baseline-prof.ftl");
+            keepRules = config.getTemplate("keep-rules.ftl");
+            dao = config.getTemplate(DAO_FTL);
+            daoSession = config.getTemplate("dao-session.ftl");
+            parseTimeMillis = System.currentTimeMillis() - start;
+        }
+
+        private static Configuration getConfiguration(String probingTemplate) throws IOException {
+            Configuration config = new Configuration(Configuration.VERSION_2_3_25);
+            config.setClassForTemplateLoading(BoxGenerator.class, BASE_PACKAGE_PATH);
+
+            try {
+                config.getTemplate(probingTemplate);
+            } catch (TemplateNotFoundException e) {
+                // When running from an IDE like IntelliJ, class loading resources may fail for some reason (Gradle is OK)
+
+                // Working dir is module dir
+                File dir = new File("../../objectbox-generator/src/main/resources/" + BASE_PACKAGE_PATH);
+                if (!dir.exists()) {
+                    // Working dir is base module dir
+                    dir = new File("objectbox-generator/src/main/resources/" + BASE_PACKAGE_PATH);
+                }
+                if (dir.exists() && new File(dir, probingTemplate).exists()) {
+                    config.setDirectoryForTemplateLoading(dir);
+                    config.getTemplate(probingTemplate);
+                } else {
+                    throw e;
+                }
+            }
+            return config;
+        }
+    }
+
     public BoxGenerator() throws IOException {
         log("ObjectBox Generator");
         log("Copyright 2017-2025 ObjectBox Ltd, objectbox.io. Licensed under GNU Affero General Public License, Version 3.");
         log("This program comes with ABSOLUTELY NO WARRANTY");
 
-        Configuration config = getConfiguration(MYOBJECTBOX_FTL);
-        templateMyObjectBox = config.getTemplate(MYOBJECTBOX_FTL);
-        templateCursor = config.getTemplate("cursor.ftl");
-        templateEntityInfo = config.getTemplate("entity-info.ftl");
-        templateFlatbuffersSchema = config.getTemplate("flatbuffers-schema.ftl");
+        Templates templates = cachedTemplates;
+        if (templates == null) {
+            synchronized (BoxGenerator.class) {
+                templates = cachedTemplates;
+                if (templates == null) {
+                    templates = new Templates();
+                    cachedTemplates = templates;
+                    log("Parsed templates in " + templates.parseTimeMillis + "ms");
+                }
+            }
+        }
+        templateFlatbuffersSchema = templates.flatbuffersSchema;
+        templateBaselineProfile = templates.baselineProfile;
+        templateKeepRules = templates.keepRules;
         // For DAOcompat
-        templateDao = config.getTemplate("dao.ftl");
-        templateDaoSession = config.getTemplate("dao-session.ftl");
+        templateDao = templates.dao;
+        templateDaoSession = templates.daoSession;
     }
 
-    private Configuration getConfiguration(String probingTemplate) throws IOException {
-        Configuration config = new Configuration(Configuration.VERSION_2_3_25);
-        config.setClassForTemplateLoading(getClass(), BASE_PACKAGE_PATH);
+    /**
+     * Returns the templates shared by all generators, or null if no generator was created since the last
+     * {@link #resetTemplateCache()}.
+     */
+    @Nullable
+    static Templates getCachedTemplates() {
+        return cachedTemplates;
+    }
 
-        try {
-            config.getTemplate(probingTemplate);
-        } catch (TemplateNotFoundException e) {
-            // When running from an IDE like IntelliJ, class loading resources may fail for some reason (Gradle is OK)
-
-            // Working dir is module dir
-            File dir = new File("../../objectbox-generator/src/main/resources/" + BASE_PACKAGE_PATH);
-            if (!dir.exists()) {
-                // Working dir is base module dir
-                dir = new File("objectbox-generator/src/main/resources/" + BASE_PACKAGE_PATH);
-            }
-            if (dir.exists() && new File(dir, probingTemplate).exists()) {
-                config.setDirectoryForTemplateLoading(dir);
-                config.getTemplate(probingTemplate);
-            } else {
-                throw e;
-            }
+    /**
+     * Drops the shared templates, so the next generator parses them again. For tests.
+     */
+    @TestOnly
+    public static void resetTemplateCache() {
+        synchronized (BoxGenerator.class) {
+            cachedTemplates = null;
         }
-        return config;
     }
 
     /** Generates all classes and other artifacts for the given job. Assumes the given schema is finished. */
@@ -103,20 +178,42 @@ public class BoxGenerator {
         }
 
         log("Processing schema version " + schema.getVersion() + "...");
+        fileTimesNanos = job.getFileTimesNanos();
 
         List<Entity> entities = schema.getEntities();
-        for (Entity entity : entities) {
-            Map<String, Object> extras = createExtrasForCursor(entity);
-            generate(templateCursor, job, entity.getJavaPackageDao(), entity.getClassNameDao(), entity, extras);
-            generate(templateEntityInfo, job, entity.getJavaPackageDao(), entity.getClassName() + "_",
-                    entity, createExtrasForEntityInfo(entity));
+        FileRenderer cursorRenderer = SourceEmitter::emitCursor;
+        FileRenderer entityInfoRenderer = SourceEmitter::emitEntityInfo;
+        FileRenderer myObjectBoxRenderer = SourceEmitter::emitMyObjectBox;
+        int threads = Math.min(job.getGeneratorThreads(), entities.size());
+        if (threads > 1) {
+            generateEntityClassesParallel(job, entities, threads, cursorRenderer, entityInfoRenderer);
+        } else {
+            for (Entity entity : entities) {
+                Map<String, Object> extras = createExtrasForCursor(entity, job);
+                generate(cursorRenderer, job, entity.getJavaPackageDao(), entity.getClassNameDao(), entity, extras);
+                generate(entityInfoRenderer, job, entity.getJavaPackageDao(), entity.getClassName() + "_",
+                        entity, createExtrasForEntityInfo(entity, job));
+            }
         }
         if (job.getOutputFlatbuffersSchema() != null) {
-            generate(templateFlatbuffersSchema, job.getOutputFlatbuffersSchema(), "", "flatbuffers", ".fbs",
+            generate(templateFlatbuffersSchema::process, job.getOutputFlatbuffersSchema(), "", "flatbuffers", ".fbs",
                     job.getSchema(), null, null);
         }
-        generate(templateMyObjectBox, job, schema.getDefaultJavaPackageDao(),
-                "My" + schema.getPrefix() + "ObjectBox", null, createExtrasForMyObjectBox(schema));
+        String myObjectBoxClassName = "My" + schema.getPrefix() + "ObjectBox";
+        generate(myObjectBoxRenderer, job, schema.getDefaultJavaPackageDao(),
+                myObjectBoxClassName, null, createExtrasForMyObjectBox(job));
+        // Name resources after MyObjectBox so those of multiple modules do not collide when packaged together
+        String resourceName = "objectbox-" + (isNotEmpty(schema.getDefaultJavaPackageDao())
+                ? schema.getDefaultJavaPackageDao() + "." : "") + myObjectBoxClassName;
+        if (job.isBaselineProfile()) {
+            generate(templateBaselineProfile::process, job.getOutput(), "", "META-INF/objectbox/baseline-prof/"
+                            + resourceName, ".txt", job.getSchema(), null,
+                    Collections.singletonMap("myObjectBoxClassName", myObjectBoxClassName));
+        }
+        if (job.isKeepRules()) {
+            generate(templateKeepRules::process, job.getOutput(), "", "META-INF/proguard/" + resourceName, ".pro",
+                    job.getSchema(), null, createExtrasForKeepRules(schema));
+        }
 
         if (job.isDaoCompat()) {
             // generate DAO classes
@@ -124,36 +221,152 @@ public class BoxGenerator {
                 // change Dao class name
                 entity.setClassNameDao(entity.getClassName() + "Dao");
 
-                generate(templateDao, job, entity.getJavaPackageDao(), entity.getClassNameDao(), entity);
+                generate(templateDao::process, job, entity.getJavaPackageDao(), entity.getClassNameDao(), entity);
             }
-            generate(templateDaoSession, job, schema.getDefaultJavaPackageDao(), schema.getPrefix() + "DaoSession",
-                    null);
+            generate(templateDaoSession::process, job, schema.getDefaultJavaPackageDao(),
+                    schema.getPrefix() + "DaoSession", null);
         }
 
         long time = System.currentTimeMillis() - start;
         log("Processed " + entities.size() + " entities in " + time + "ms");
     }
 
+    /**
+     * Renders the Cursor and EntityInfo classes of all entities using the given number of threads into memory,
+     * then writes them on the calling thread (as a {@link javax.annotation.processing.Filer} is not thread-safe)
+     * in the same order as when generating sequentially.
+     */
+    private void generateEntityClassesParallel(GeneratorJob job, List<Entity> entities, int threads,
+            FileRenderer cursorRenderer, FileRenderer entityInfoRenderer) throws Exception {
+        // Flags are computed on first access, templates of an entity may also access those of related entities.
+        // So compute them before rendering in parallel.
+        for (Entity entity : entities) {
+            entity.getEntityFlagsNames();
+            for (Property property : entity.getProperties()) {
+                property.getPropertyFlagsForGeneratedCode();
+            }
+        }
+
+        // Named daemon threads, so they are identifiable in thread dumps and never keep the compiler JVM alive.
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "ObjectBox generator " + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<RenderedFile[]>> results = new ArrayList<>(entities.size());
+            for (Entity entity : entities) {
+                results.add(executor.submit(() -> new RenderedFile[]{
+                        render(cursorRenderer, job.getOutput(), entity.getJavaPackageDao(), entity.getClassNameDao(),
+                                ".java", job.getSchema(), entity, createExtrasForCursor(entity, job)),
+                        render(entityInfoRenderer, job.getOutput(), entity.getJavaPackageDao(),
+                                entity.getClassName() + "_", ".java", job.getSchema(), entity,
+                                createExtrasForEntityInfo(entity, job))
+                }));
+            }
+            for (Future<RenderedFile[]> result : results) {
+                RenderedFile[] files;
+                try {
+                    files = result.get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    throw cause instanceof Exception ? (Exception) cause : e;
+                }
+                for (RenderedFile file : files) {
+                    long startNanos = System.nanoTime();
+                    file.write();
+                    putFileTime(file.getFilePath(), file.renderNanos + System.nanoTime() - startNanos);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Builds the class member specifications to keep for each entity class (and for each super class declaring
+     * property fields), returns them mapped by class name as 'keepMembers'.
+     * <p>
+     * Native code creates objects using the all-properties or no-arg constructor and accesses property fields
+     * (or for virtual to-one target ID properties the ToOne field) by name.
+     */
+    private Map<String, Object> createExtrasForKeepRules(Schema schema) {
+        Map<String, Set<String>> keepMembers = new LinkedHashMap<>();
+        for (Entity entity : schema.getEntities()) {
+            String entityClassName = entity.getBinaryClassName() != null
+                    ? entity.getBinaryClassName()
+                    : isNotEmpty(entity.getJavaPackage())
+                    ? entity.getJavaPackage() + "." + entity.getClassName() : entity.getClassName();
+            Set<String> entityMembers = keepMembers.computeIfAbsent(entityClassName, k -> new LinkedHashSet<>());
+            if (entity.hasAllArgsConstructor()) {
+                List<String> parameters = new ArrayList<>();
+                for (int i = 0; i < entity.getProperties().size(); i++) {
+                    parameters.add("***");
+                }
+                entityMembers.add("<init>(" + String.join(", ", parameters) + ");");
+            } else {
+                entityMembers.add("<init>();");
+            }
+            for (Property property : entity.getProperties()) {
+                if (property.isVirtual()) {
+                    entityMembers.add("*** " + property.getVirtualTargetName() + ";");
+                } else {
+                    String declaringClassName = property.getDeclaringClassName() != null
+                            ? property.getDeclaringClassName() : entityClassName;
+                    keepMembers.computeIfAbsent(declaringClassName, k -> new LinkedHashSet<>())
+                            .add("*** " + property.getPropertyName() + ";");
+                }
+            }
+            if (entity.getHasBoxStoreField() || entity.hasRelations()) {
+                entityMembers.add("*** __boxStore;");
+            }
+        }
+        return Collections.singletonMap("keepMembers", keepMembers);
+    }
+
     /**
      * Builds a sorted set of imports, returns it mapped as 'imports'.
+     * <p>
+     * If a precomputed model is requested, also builds the binary model and returns it as string literal chunks mapped
+     * as 'modelChunks' and its size as 'modelSize'. If that fails, falls back to generating ModelBuilder code.
      */
-    private Map<String, Object> createExtrasForMyObjectBox(Schema schema) {
+    private Map<String, Object> createExtrasForMyObjectBox(GeneratorJob job) {
+        Schema schema = job.getSchema();
+        Map<String, Object> extras = new HashMap<>();
         Set<String> imports = new TreeSet<>(); // instead of HashSet + then sorting that
+        extras.put("lazyEntityInfo", job.isLazyEntityInfo());
+        extras.put("modelFingerprints", job.isModelFingerprints());
+
+        byte[] model = null;
+        if (job.isPrecomputedModel()) {
+            try {
+                model = PrecomputedModel.build(schema);
+            } catch (RuntimeException | LinkageError e) {
+                // E.g. the ObjectBox library on the processor path is too old to have ModelBuilder.
+                log("Could not precompute model, generating ModelBuilder code instead: " + e);
+            }
+        }
 
         imports.add("io.objectbox.BoxStore");
         imports.add("io.objectbox.BoxStoreBuilder");
-        imports.add("io.objectbox.ModelBuilder");
-        imports.add("io.objectbox.ModelBuilder.EntityBuilder");
-        imports.add("io.objectbox.model.PropertyFlags");
-        imports.add("io.objectbox.model.PropertyType");
-        // External types are optional, so only import classes if necessary
-        if (hasExternalTypes(schema)) {
-            imports.add("io.objectbox.model.ExternalPropertyType");
-        }
-        // HNSW params are optional, so only import classes if necessary
-        if (hasHnswParams(schema)) {
-            imports.add("io.objectbox.model.HnswFlags");
-            imports.add("io.objectbox.model.HnswDistanceType");
+        if (model != null) {
+            extras.put("modelChunks", PrecomputedModel.toStringLiteralChunks(model));
+            extras.put("modelSize", model.length);
+        } else {
+            imports.add("io.objectbox.ModelBuilder");
+            imports.add("io.objectbox.ModelBuilder.EntityBuilder");
+            imports.add("io.objectbox.model.PropertyFlags");
+            imports.add("io.objectbox.model.PropertyType");
+            // External types are optional, so only import classes if necessary
+            if (hasExternalTypes(schema)) {
+                imports.add("io.objectbox.model.ExternalPropertyType");
+            }
+            // HNSW params are optional, so only import classes if necessary
+            if (hasHnswParams(schema)) {
+                imports.add("io.objectbox.model.HnswFlags");
+                imports.add("io.objectbox.model.HnswDistanceType");
+            }
         }
 
         for (Entity entity : schema.getEntities()) {
@@ -168,7 +381,6 @@ public class BoxGenerator {
             }
         }
 
-        Map<String, Object> extras = new HashMap<>();
         extras.put("imports", imports);
         return extras;
     }
@@ -211,21 +423,26 @@ public class BoxGenerator {
 
     /**
      * Builds a sorted set of imports, returns it mapped as 'imports'.
-     * And builds collect method code, returns it mapped as 'propertyCollector'.
+     * And builds collect method code, returns it mapped as 'propertyCollector' (and 'collectMethods' if split).
+     * For the packed put mode also builds the slot array fields, returns them mapped as 'packedFields', and the put
+     * methods called depending on the ObjectBox library in use, mapped as 'collectMethods'.
      */
-    private Map<String, Object> createExtrasForCursor(Entity entity) {
+    private Map<String, Object> createExtrasForCursor(Entity entity, GeneratorJob job) {
         Set<String> imports = new TreeSet<>(); // instead of HashSet + then sorting that
 
         /*
         Note: Some ObjectBox classes which names are likely to conflict
         with user-defined entity classes are imported as fully qualified
-        imports instead. See cursor.ftl.
+        imports instead. See SourceEmitter.
         */
 
         imports.add("io.objectbox.BoxStore");
         imports.add("io.objectbox.Cursor");
-        imports.add("io.objectbox.annotation.apihint.Internal");
-        imports.add("io.objectbox.internal.CursorFactory");
+        if (!job.isSingleAccessorClass()) {
+            // For the Factory class
+            imports.add("io.objectbox.annotation.apihint.Internal");
+            imports.add("io.objectbox.internal.CursorFactory");
+        }
 
         if (isNotEmpty(entity.getIncomingToManyRelations()) || isNotEmpty(entity.getToManyRelations())) {
             imports.add("java.util.List");
@@ -246,25 +463,38 @@ public class BoxGenerator {
 
         final HashMap<String, Object> map = new HashMap<>();
         map.put("imports", imports);
-        map.put("propertyCollector", new PropertyCollector(entity).createPropertyCollector());
+        PropertyCollector propertyCollector = new PropertyCollector(entity);
+        map.put("singleAccessorClass", job.isSingleAccessorClass());
+        map.put("lazyEntityInfo", job.isLazyEntityInfo());
+        if (job.isPackedPut()) {
+            imports.add("java.lang.invoke.MethodHandle");
+            imports.add("java.lang.invoke.MethodHandles");
+            imports.add("java.lang.invoke.MethodType");
+            map.put("packedFields", propertyCollector.createPackedFields());
+            map.put("propertyCollector", propertyCollector.createPackedPutCall());
+            map.put("collectMethods", propertyCollector.createPackedPutMethods());
+        } else {
+            map.put("propertyCollector", propertyCollector.createPropertyCollector());
+            map.put("collectMethods", propertyCollector.getCollectMethods());
+        }
         return map;
     }
 
     /**
      * Builds a sorted set of imports, returns it mapped as 'imports'.
      */
-    private Map<String, Object> createExtrasForEntityInfo(Entity entity) {
+    private Map<String, Object> createExtrasForEntityInfo(Entity entity, GeneratorJob job) {
         Set<String> imports = new TreeSet<>(); // instead of HashSet + then sorting that
 
         /*
         Note: Some ObjectBox classes which names are likely to conflict
         with user-defined entity classes are imported as fully qualified
-        imports instead. See entity-info.ftl.
+        imports instead. See SourceEmitter.
         */
 
         // note: need to check package, could be unnamed package
         String javaPackageDao = entity.getJavaPackageDao();
-        if (isNotEmpty(javaPackageDao)) {
+        if (isNotEmpty(javaPackageDao) && !job.isSingleAccessorClass()) {
             imports.add(String.format("%s.%s.Factory", javaPackageDao, entity.getClassNameDao()));
         }
 
@@ -276,8 +506,11 @@ public class BoxGenerator {
         if (entity.hasRelations()) {
             imports.add("io.objectbox.relation.RelationInfo");
             imports.add("io.objectbox.relation.ToOne");
-            imports.add("io.objectbox.internal.ToOneGetter");
             List<ToManyBase> toManyRelations = entity.getToManyRelations();
+            // With accessor classes, ToOneGetter is only implemented if there are to-one getters
+            if (!job.isSingleAccessorClass() || hasToOneGetters(entity)) {
+                imports.add("io.objectbox.internal.ToOneGetter");
+            }
             if (isNotEmpty(toManyRelations)) {
                 imports.add("io.objectbox.internal.ToManyGetter");
                 imports.add("java.util.List");
@@ -295,9 +528,28 @@ public class BoxGenerator {
 
         Map<String, Object> extras = new HashMap<>();
         extras.put("imports", imports);
+        extras.put("lazyEntityInfo", job.isLazyEntityInfo());
+        extras.put("singleAccessorClass", job.isSingleAccessorClass());
+        extras.put("modelFingerprints", job.isModelFingerprints());
         return extras;
     }
 
+    /**
+     * Returns if the entity has a to-one relation or a to-many relation backed by a to-one, which both require a
+     * ToOneGetter.
+     */
+    private boolean hasToOneGetters(Entity entity) {
+        if (!entity.getToOneRelations().isEmpty()) {
+            return true;
+        }
+        for (ToManyBase toMany : entity.getToManyRelations()) {
+            if (toMany instanceof ToManyByBacklink && ((ToManyByBacklink) toMany).getTargetToOne() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Adds _-class import if target entity has a package name set
      * and it is not equal to that of the entity.
@@ -309,33 +561,31 @@ public class BoxGenerator {
         }
     }
 
-    private void generate(Template template, GeneratorJob job, String javaPackage, String javaClassName, Entity entity)
-            throws Exception {
-        generate(template, job.getOutput(), javaPackage, javaClassName, ".java", job.getSchema(), entity, null);
+    private void generate(FileRenderer renderer, GeneratorJob job, String javaPackage, String javaClassName,
+            Entity entity) throws Exception {
+        generate(renderer, job.getOutput(), javaPackage, javaClassName, ".java", job.getSchema(), entity, null);
     }
 
-    private void generate(Template template, GeneratorJob job, String javaPackage, String javaClassName, Entity entity,
-            Map<String, Object> extrasForTemplate) throws Exception {
-        generate(template, job.getOutput(), javaPackage, javaClassName, ".java", job.getSchema(), entity,
+    private void generate(FileRenderer renderer, GeneratorJob job, String javaPackage, String javaClassName,
+            Entity entity, Map<String, Object> extrasForTemplate) throws Exception {
+        generate(renderer, job.getOutput(), javaPackage, javaClassName, ".java", job.getSchema(), entity,
                 extrasForTemplate);
     }
 
-    private void generate(Template template, GeneratorOutput output,
+    private void generate(FileRenderer renderer, GeneratorOutput output,
             String javaPackage, String fileName, String fileExtension,
             Schema schema, Entity entity, Map<String, Object> extrasForTemplate)
             throws Exception {
-        Map<String, Object> root = new HashMap<>();
-        root.put("schema", schema);
-        root.put("entity", entity);
-        if (extrasForTemplate != null) {
-            root.putAll(extrasForTemplate);
-        }
+        long startNanos = System.nanoTime();
+        Map<String, Object> root = createDataModel(schema, entity, extrasForTemplate);
         String filePath = javaPackage + "." + fileName + fileExtension;
         try {
-            try (Writer writer = output.createWriter(javaPackage, fileName, fileExtension)) {
-                template.process(root, writer);
+            try (Writer writer = output.createWriter(javaPackage, fileName, fileExtension,
+                    getOriginatingElements(schema, entity))) {
+                renderer.render(root, writer);
                 writer.flush();
             }
+            putFileTime(filePath, System.nanoTime() - startNanos);
             log("Written " + filePath);
         } catch (Exception ex) {
             System.err.println("Data map for template: " + root);
@@ -344,6 +594,99 @@ public class BoxGenerator {
         }
     }
 
+    /**
+     * Like {@link #generate(FileRenderer, GeneratorOutput, String, String, String, Schema, Entity, Map)}, but only
+     * renders the file into memory, call {@link RenderedFile#write()} to write it.
+     */
+    private RenderedFile render(FileRenderer renderer, GeneratorOutput output,
+            String javaPackage, String fileName, String fileExtension,
+            Schema schema, Entity entity, Map<String, Object> extrasForTemplate)
+            throws Exception {
+        long startNanos = System.nanoTime();
+        Map<String, Object> root = createDataModel(schema, entity, extrasForTemplate);
+        StringWriter writer = new StringWriter();
+        try {
+            renderer.render(root, writer);
+        } catch (Exception ex) {
+            System.err.println("Data map for template: " + root);
+            System.err.println("Error while generating " + javaPackage + "." + fileName + fileExtension);
+            throw ex;
+        }
+        return new RenderedFile(output, javaPackage, fileName, fileExtension,
+                getOriginatingElements(schema, entity), writer.toString(), System.nanoTime() - startNanos);
+    }
+
+    private void putFileTime(String filePath, long nanos) {
+        if (fileTimesNanos != null) {
+            fileTimesNanos.put(filePath, nanos);
+        }
+    }
+
+    private Map<String, Object> createDataModel(Schema schema, @Nullable Entity entity,
+            @Nullable Map<String, Object> extrasForTemplate) {
+        Map<String, Object> root = new HashMap<>();
+        root.put("schema", schema);
+        root.put("entity", entity);
+        if (extrasForTemplate != null) {
+            root.putAll(extrasForTemplate);
+        }
+        return root;
+    }
+
+    /**
+     * Writes a file for the given data model, like {@link Template#process(Object, Writer)} or {@link SourceEmitter}.
+     */
+    private interface FileRenderer {
+        void render(Map<String, Object> model, Writer writer) throws Exception;
+    }
+
+    /** A file rendered into memory, to be written to its output. */
+    private static final class RenderedFile {
+        private final GeneratorOutput output;
+        private final String javaPackage;
+        private final String fileName;
+        private final String fileExtension;
+        private final Object[] originatingElements;
+        private final String content;
+        private final long renderNanos;
+
+        RenderedFile(GeneratorOutput output, String javaPackage, String fileName, String fileExtension,
+                Object[] originatingElements, String content, long renderNanos) {
+            this.output = output;
+            this.javaPackage = javaPackage;
+            this.fileName = fileName;
+            this.fileExtension = fileExtension;
+            this.originatingElements = originatingElements;
+            this.content = content;
+            this.renderNanos = renderNanos;
+        }
+
+        String getFilePath() {
+            return javaPackage + "." + fileName + fileExtension;
+        }
+
+        void write() throws IOException {
+            try (Writer writer = output.createWriter(javaPackage, fileName, fileExtension, originatingElements)) {
+                writer.write(content);
+            }
+            log("Written " + getFilePath());
+        }
+    }
+
+    /**
+     * Returns the parsed element of the entity a file is generated for, or if not for an entity (like MyObjectBox),
+     * those of all entities. These are opaque to the generator, see {@link GeneratorOutput}.
+     */
+    private Object[] getOriginatingElements(Schema schema, Entity entity) {
+        List<Object> elements = new ArrayList<>();
+        for (Entity originatingEntity : entity != null ? Collections.singletonList(entity) : schema.getEntities()) {
+            if (originatingEntity.getParsedElement() != null) {
+                elements.add(originatingEntity.getParsedElement());
+            }
+        }
+        return elements.toArray();
+    }
+
     private boolean isNotEmpty(String value) {
         return value != null && value.length() > 0;
     }
@@ -18,6 +18,10 @@
 
 package io.objectbox.generator;
 
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
 import io.objectbox.generator.model.Schema;
 
 /** State for a job done by {@link BoxGenerator}. */
@@ -26,7 +30,17 @@ public class GeneratorJob {
     private final GeneratorOutput output;
 
     private GeneratorOutput outputFlatbuffersSchema;
+    private boolean baselineProfile;
     private boolean daoCompat;
+    private boolean packedPut;
+    private boolean precomputedModel;
+    private boolean modelFingerprints;
+    private boolean lazyEntityInfo;
+    private boolean singleAccessorClass;
+    private boolean keepRules;
+    private int generatorThreads;
+    @Nullable
+    private Map<String, Long> fileTimesNanos;
 
     public GeneratorJob(Schema schema, GeneratorOutput output) {
         this.schema = schema;
@@ -49,6 +63,18 @@ public class GeneratorJob {
         this.outputFlatbuffersSchema = outputFlatbuffersSchema;
     }
 
+    public boolean isBaselineProfile() {
+        return baselineProfile;
+    }
+
+    /**
+     * If enabled, writes Android Baseline Profile rules for the generated classes to META-INF/objectbox/baseline-prof
+     * of the output, so ART compiles them ahead of time. Android builds add them to the baseline profile sources.
+     */
+    public void setBaselineProfile(boolean baselineProfile) {
+        this.baselineProfile = baselineProfile;
+    }
+
     public boolean isDaoCompat() {
         return daoCompat;
     }
@@ -56,4 +82,105 @@ public class GeneratorJob {
     public void setDaoCompat(boolean daoCompat) {
         this.daoCompat = daoCompat;
     }
+
+    public boolean isPackedPut() {
+        return packedPut;
+    }
+
+    /**
+     * If enabled, generated Cursor classes pass all properties of an object with a single collectPacked call instead
+     * of chaining multiple collect calls. They check at runtime if the ObjectBox library in use has collectPacked and
+     * otherwise use chained collect calls.
+     */
+    public void setPackedPut(boolean packedPut) {
+        this.packedPut = packedPut;
+    }
+
+    public boolean isPrecomputedModel() {
+        return precomputedModel;
+    }
+
+    /**
+     * If enabled, the generated MyObjectBox class contains the binary model built at generation time instead of
+     * code that builds it at runtime using ModelBuilder.
+     */
+    public void setPrecomputedModel(boolean precomputedModel) {
+        this.precomputedModel = precomputedModel;
+    }
+
+    public boolean isModelFingerprints() {
+        return modelFingerprints;
+    }
+
+    /**
+     * If enabled, the generated MyObjectBox and EntityInfo classes contain the fingerprints of the synced model, see
+     * {@link io.objectbox.generator.idsync.ModelFingerprint}.
+     */
+    public void setModelFingerprints(boolean modelFingerprints) {
+        this.modelFingerprints = modelFingerprints;
+    }
+
+    public boolean isLazyEntityInfo() {
+        return lazyEntityInfo;
+    }
+
+    /**
+     * If enabled, generated EntityInfo (Entity_) classes contain a lightweight descriptor class which MyObjectBox
+     * registers entities with, and a holder class for properties. Initializing the descriptor constructs neither
+     * properties nor relation infos: properties are constructed once ObjectBox or the EntityInfo class first uses
+     * them, relation infos when the EntityInfo class is first used.
+     */
+    public void setLazyEntityInfo(boolean lazyEntityInfo) {
+        this.lazyEntityInfo = lazyEntityInfo;
+    }
+
+    public boolean isSingleAccessorClass() {
+        return singleAccessorClass;
+    }
+
+    /**
+     * If enabled, generates a single class per entity that implements the ID getter, the cursor factory and the
+     * relation getters of one to-one and one to-many relation type (switching on the relation), instead of a separate
+     * class for each of them. Getters of other relation types share a class per type.
+     */
+    public void setSingleAccessorClass(boolean singleAccessorClass) {
+        this.singleAccessorClass = singleAccessorClass;
+    }
+
+    public boolean isKeepRules() {
+        return keepRules;
+    }
+
+    /**
+     * If enabled, writes R8/ProGuard rules to META-INF/proguard that keep only the constructor and fields of each
+     * entity class that are used by native code.
+     */
+    public void setKeepRules(boolean keepRules) {
+        this.keepRules = keepRules;
+    }
+
+    public int getGeneratorThreads() {
+        return generatorThreads;
+    }
+
+    /**
+     * If more than 1, renders the classes of entities in parallel using at most this many threads.
+     * Files are still written one after another in the same order. By default, generates sequentially.
+     */
+    public void setGeneratorThreads(int generatorThreads) {
+        this.generatorThreads = generatorThreads;
+    }
+
+    @Nullable
+    public Map<String, Long> getFileTimesNanos() {
+        return fileTimesNanos;
+    }
+
+    /**
+     * If set, puts the time it took to generate each file (in nanoseconds) into the given map, keyed by file name.
+     * Only accessed by the thread calling {@link BoxGenerator#generateAll(GeneratorJob)}.
+     */
+    public void setFileTimesNanos(@Nullable Map<String, Long> fileTimesNanos) {
+        this.fileTimesNanos = fileTimesNanos;
+    }
 }
@@ -22,9 +22,14 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.annotation.processing.Filer;
+import javax.lang.model.element.Element;
+import javax.tools.FileObject;
 import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
 
 /**
  * Abstraction for output used by {@link io.objectbox.generator.BoxGenerator}.
@@ -51,8 +56,13 @@ public class GeneratorOutput {
         this.outDirFile = outDirFile;
     }
 
+    /**
+     * Creates a writer for the given file. If written using a Filer, the given originating elements (the parsed
+     * elements of the model) that are annotation processing elements are associated with the file, so tools like
+     * Gradle or IDEs know which classes the file was generated from.
+     */
     protected Writer createWriter(String javaPackage, String fileOrJavaClassName,
-            String fileExtension) throws IOException {
+            String fileExtension, Object... parsedElements) throws IOException {
         if (outDirFile != null) {
             return new FileWriter(getFileOrNull(javaPackage, fileOrJavaClassName, fileExtension));
         } else if (filer != null && ".java".equals(fileExtension)) {
@@ -63,13 +73,28 @@ public class GeneratorOutput {
             } else {
                 fileName = fileOrJavaClassName; // no package
             }
-            JavaFileObject sourceFile = filer.createSourceFile(fileName);
+            JavaFileObject sourceFile = filer.createSourceFile(fileName, toElements(parsedElements));
             return sourceFile.openWriter();
+        } else if (filer != null && javaPackage.length() == 0 && fileOrJavaClassName.startsWith("META-INF/")) {
+            // Resources to package with the compiled classes, like keep rules, are written to the class output
+            FileObject resource = filer.createResource(StandardLocation.CLASS_OUTPUT, "",
+                    fileOrJavaClassName + fileExtension, toElements(parsedElements));
+            return resource.openWriter();
         } else {
             throw new IllegalStateException("Info missing");
         }
     }
 
+    private static Element[] toElements(Object[] parsedElements) {
+        List<Element> elements = new ArrayList<>(parsedElements.length);
+        for (Object parsedElement : parsedElements) {
+            if (parsedElement instanceof Element) {
+                elements.add((Element) parsedElement);
+            }
+        }
+        return elements.toArray(new Element[0]);
+    }
+
     protected File getFileOrNull(String javaPackage, String fileName, String fileExtension) {
         if (outDirFile != null) {
             File file = toFile(outDirFile, javaPackage, fileName, fileExtension);
@@ -0,0 +1,218 @@
+/*
+ * ObjectBox Build Tools
+ * Copyright (C) 2025 ObjectBox Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.objectbox.generator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import io.objectbox.ModelBuilder;
+import io.objectbox.ModelBuilder.EntityBuilder;
+import io.objectbox.ModelBuilder.PropertyBuilder;
+import io.objectbox.ModelBuilder.RelationBuilder;
+import io.objectbox.generator.model.Entity;
+import io.objectbox.generator.model.HnswParams;
+import io.objectbox.generator.model.Property;
+import io.objectbox.generator.model.Schema;
+import io.objectbox.generator.model.ToManyBase;
+import io.objectbox.generator.model.ToManyStandalone;
+
+/**
+ * Builds the binary (FlatBuffers) model at compile time, so the generated MyObjectBox class can contain the model
+ * bytes instead of calling the {@link ModelBuilder} at runtime.
+ * <p>
+ * Calls the {@link ModelBuilder} exactly like the MyObjectBox code written by {@link SourceEmitter} does, so keep
+ * both in sync.
+ * Processor tests compare the models built both ways for all expected source files.
+ */
+class PrecomputedModel {
+
+    /**
+     * Max chars of a chunk string constant. Each char is stored as 1 or 2 bytes in the class file (modified UTF-8)
+     * and a constant may have at most 65535 bytes.
+     */
+    private final static int CHUNK_LENGTH = 30000;
+    /** Chars of a chunk string on a single line of source code. */
+    private final static int LINE_LENGTH = 100;
+
+    private final static String MODEL_PACKAGE = "io.objectbox.model.";
+
+    static byte[] build(Schema schema) {
+        ModelBuilder modelBuilder = new ModelBuilder();
+        if (schema.getLastEntityId() != null) {
+            modelBuilder.lastEntityId(schema.getLastEntityId().getId(), schema.getLastEntityId().getUid());
+        }
+        if (schema.getLastIndexId() != null) {
+            modelBuilder.lastIndexId(schema.getLastIndexId().getId(), schema.getLastIndexId().getUid());
+        }
+        if (schema.getLastRelationId() != null) {
+            modelBuilder.lastRelationId(schema.getLastRelationId().getId(), schema.getLastRelationId().getUid());
+        }
+        for (Entity entity : schema.getEntities()) {
+            buildEntity(modelBuilder, entity);
+        }
+        return modelBuilder.build();
+    }
+
+    private static void buildEntity(ModelBuilder modelBuilder, Entity entity) {
+        EntityBuilder entityBuilder = modelBuilder.entity(entity.getDbName());
+        if (entity.getExternalName() != null) {
+            entityBuilder.externalName(entity.getExternalName());
+        }
+        if (entity.getModelId() != null) {
+            entityBuilder.id(entity.getModelId(), entity.getModelUid());
+            if (entity.getLastPropertyId() != null) {
+                entityBuilder.lastPropertyId(entity.getLastPropertyId().getId(), entity.getLastPropertyId().getUid());
+            }
+        }
+        if (entity.getEntityFlags() != 0) {
+            entityBuilder.flags(entity.getEntityFlags());
+        }
+
+        for (Property property : entity.getPropertiesColumns()) {
+            int type = property.getDbTypeId();
+            PropertyBuilder propertyBuilder;
+            if (property.getTargetEntity() == null) {
+                propertyBuilder = entityBuilder.property(property.getDbName(), type);
+            } else if (property.getVirtualTargetName() == null) {
+                propertyBuilder = entityBuilder.property(property.getDbName(),
+                        property.getTargetEntity().getDbName(), type);
+            } else {
+                propertyBuilder = entityBuilder.property(property.getDbName(),
+                        property.getTargetEntity().getDbName(), property.getVirtualTargetName(), type);
+            }
+            if (!property.getPropertyName().equals(property.getDbName())) {
+                propertyBuilder.secondaryName(property.getPropertyName());
+            }
+            if (property.getModelId() != null) {
+                propertyBuilder.id(property.getModelId().getId(), property.getModelId().getUid());
+            }
+            if (!property.getPropertyFlagsForGeneratedCode().isEmpty()) {
+                propertyBuilder.flags(resolveFlags(property.getPropertyFlagsForGeneratedCode()));
+            }
+            if (property.getIndex() != null && property.getIndex().getMaxValueLength() > 0) {
+                propertyBuilder.indexMaxValueLength(property.getIndex().getMaxValueLength());
+            }
+            if (property.getModelIndexId() != null) {
+                propertyBuilder.indexId(property.getModelIndexId().getId(), property.getModelIndexId().getUid());
+            }
+            if (property.getExternalName() != null) {
+                propertyBuilder.externalName(property.getExternalName());
+            }
+            if (property.getExternalTypeId() != null) {
+                propertyBuilder.externalType(property.getExternalTypeId());
+            }
+            HnswParams hnswParams = property.getHnswParams();
+            if (hnswParams != null) {
+                String distanceType = hnswParams.getDistanceTypeExpression();
+                propertyBuilder.hnswParams(
+                        hnswParams.getDimensions(),
+                        hnswParams.getNeighborsPerNode(),
+                        hnswParams.getIndexingSearchCount(),
+                        hnswParams.getFlagsExpressionSet().isEmpty() ? null
+                                : resolveFlags(hnswParams.getFlagsExpressionSet()),
+                        distanceType != null ? resolveConstant(distanceType).shortValue() : null,
+                        hnswParams.getReparationBacklinkProbability(),
+                        hnswParams.getVectorCacheHintSizeKb()
+                );
+            }
+        }
+
+        for (ToManyBase toManyBase : entity.getToManyRelations()) {
+            if (toManyBase instanceof ToManyStandalone) {
+                ToManyStandalone toMany = (ToManyStandalone) toManyBase;
+                Entity targetEntity = toMany.getTargetEntity();
+                //noinspection DataFlowIssue Standalone ToMany always has a model ID.
+                RelationBuilder relationBuilder = entityBuilder.relation(toMany.getDbName(),
+                        toMany.getModelId().getId(), toMany.getModelId().getUid(),
+                        targetEntity.getModelId(), targetEntity.getModelUid());
+                if (toMany.getExternalName() != null) {
+                    relationBuilder.externalName(toMany.getExternalName());
+                }
+                if (toMany.getExternalTypeId() != null) {
+                    relationBuilder.externalType(toMany.getExternalTypeId());
+                }
+            }
+        }
+
+        entityBuilder.entityDone();
+    }
+
+    private static int resolveFlags(Collection<String> flagExpressions) {
+        int flags = 0;
+        for (String flagExpression : flagExpressions) {
+            flags |= resolveConstant(flagExpression).intValue();
+        }
+        return flags;
+    }
+
+    /**
+     * Returns the value of a constant of a class in the {@link io.objectbox.model} package referenced in generated
+     * code, e.g. "PropertyFlags.ID".
+     */
+    private static Number resolveConstant(String expression) {
+        if (expression.startsWith(MODEL_PACKAGE)) {
+            expression = expression.substring(MODEL_PACKAGE.length());
+        }
+        int dotIndex = expression.indexOf('.');
+        try {
+            Class<?> constantsClass = Class.forName(MODEL_PACKAGE + expression.substring(0, dotIndex));
+            return (Number) constantsClass.getField(expression.substring(dotIndex + 1)).get(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalStateException("Can not resolve model constant " + expression, e);
+        }
+    }
+
+    /**
+     * Encodes the bytes as chunks of Java string literal code (each byte as a char), so each fits into a class file
+     * string constant. Long chunks are split over multiple lines.
+     */
+    static List<String> toStringLiteralChunks(byte[] bytes) {
+        List<String> chunks = new ArrayList<>();
+        StringBuilder chunk = new StringBuilder();
+        for (int i = 0; i < bytes.length; i++) {
+            if (i % CHUNK_LENGTH == 0) {
+                if (i > 0) {
+                    chunk.append('"');
+                    chunks.add(chunk.toString());
+                    chunk.setLength(0);
+                }
+                chunk.append('"');
+            } else if (i % LINE_LENGTH == 0) {
+                chunk.append("\"\n                + \"");
+            }
+            int value = bytes[i] & 0xFF;
+            if (value >= 0x20 && value < 0x7F && value != '"' && value != '\\') {
+                chunk.append((char) value);
+            } else {
+                // Always use 3 digits so a following digit char is not mistaken as part of the escape sequence
+                chunk.append('\\')
+                        .append((char) ('0' + (value >> 6)))
+                        .append((char) ('0' + ((value >> 3) & 7)))
+                        .append((char) ('0' + (value & 7)));
+            }
+        }
+        chunk.append('"');
+        if (chunk.length() > 2 || chunks.isEmpty()) {
+            chunks.add(chunk.toString());
+        }
+        return chunks;
+    }
+
+}
@@ -20,6 +20,7 @@ package io.objectbox.generator;
 
 import org.greenrobot.essentials.collections.Multimap;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import io.objectbox.generator.model.Entity;
@@ -36,19 +37,51 @@ class PropertyCollector {
     private final static String BR_INDENT_EX = "\n" + INDENT_EX;
     private final static String SEP_BR = ',' + BR_INDENT_EX;
 
+    /**
+     * HotSpot does not JIT-compile methods with more than 8000 bytes of bytecode (HugeMethodLimit), ART has similar
+     * limits. If the estimated size of the collect calls exceeds this, they are split into multiple methods. This is
+     * only half of the HotSpot limit as the size is only roughly estimated.
+     */
+    final static int MAX_ESTIMATED_METHOD_SIZE = 4000;
+    // Estimated bytecode sizes: a call loads cursor, key and flags and pops or stores the result,
+    // a value loads its property ID and the value from the entity, a nullable value adds a local variable and branches.
+    private final static int SIZE_CALL = 16;
+    private final static int SIZE_ZERO_VALUE = 2;
+    private final static int SIZE_VALUE = 8;
+    private final static int SIZE_NULLABLE_VALUE = 36;
+    private final static int SIZE_CONVERTER = 8;
+
     /**
      * Contains all properties of the entity by type.
      */
     private final Multimap<PropertyType, Property> propertiesByType;
     private final Property idProperty;
+    private final String entityClassName;
+    private final StringBuilder collectMethods = new StringBuilder();
+    private int estimatedSize;
+
+    /**
+     * For the packed put mode: properties by the slot array they are passed with.
+     */
+    private final List<Property> packedLongs = new ArrayList<>();
+    private final List<Property> packedDoubles = new ArrayList<>();
+    private final List<Property> packedObjects = new ArrayList<>();
 
     public PropertyCollector(Entity entity) {
         propertiesByType = Multimap.create();
         for (Property property : entity.getProperties()) {
             if (!property.isPrimaryKey()) {
                 propertiesByType.putElement(property.getPropertyType(), property);
+                if (isPackedAsDouble(property.getPropertyType())) {
+                    packedDoubles.add(property);
+                } else if (isPackedAsLong(property.getPropertyType())) {
+                    packedLongs.add(property);
+                } else {
+                    packedObjects.add(property);
+                }
             }
         }
+        entityClassName = entity.getClassName();
         idProperty = entity.getPkProperty();
         if (idProperty == null) {
             throw new IllegalStateException("No ID property found for \"" + entity + "\" " +
@@ -68,17 +101,33 @@ class PropertyCollector {
         StringBuilder properties = new StringBuilder();
         StringBuilder all = new StringBuilder();
 
-        boolean first = true;
-        int previousPropertyCount = propertiesByType.countElements();
-        boolean last = previousPropertyCount == 0;
-        while (first || !last) {
-            int countByteArrays = propertiesByType.countElements(PropertyType.ByteArray) +
-                    propertiesByType.countElements(PropertyType.Flex);
-            int countScalarsNonFP = countScalarsNonFP();
-            int countFloats = propertiesByType.countElements(PropertyType.Float);
-            int countDoubles = propertiesByType.countElements(PropertyType.Double);
-            int maxCountFP = Math.max(countFloats, countDoubles);
-            int countStrings = propertiesByType.countElements(PropertyType.String);
+        // Each array property requires its own collect call, plan the remaining calls for all other properties.
+        int countArrays = propertiesByType.countElements(PropertyType.BooleanArray) +
+                propertiesByType.countElements(PropertyType.ShortArray) +
+                propertiesByType.countElements(PropertyType.CharArray) +
+                propertiesByType.countElements(PropertyType.IntArray) +
+                propertiesByType.countElements(PropertyType.LongArray) +
+                propertiesByType.countElements(PropertyType.FloatArray) +
+                propertiesByType.countElements(PropertyType.DoubleArray) +
+                propertiesByType.countElements(PropertyType.StringArray);
+        CollectPlan plan = CollectPlan.create(
+                propertiesByType.countElements(PropertyType.String),
+                propertiesByType.countElements(PropertyType.ByteArray) +
+                        propertiesByType.countElements(PropertyType.Flex),
+                countLongOnlyScalars(),
+                countIntScalars(),
+                propertiesByType.countElements(PropertyType.Float),
+                propertiesByType.countElements(PropertyType.Double),
+                countArrays > 0
+        );
+
+        int callCount = countArrays + plan.getCallCount();
+        List<String> calls = new ArrayList<>(callCount);
+        List<Integer> callSizes = new ArrayList<>(callCount);
+        for (int i = 0; i < callCount; i++) {
+            estimatedSize = SIZE_CALL;
+            boolean first = i == 0;
+            boolean last = i == callCount - 1;
 
             String collectSignature;
             if (hasPropertyOf(PropertyType.BooleanArray)) {
@@ -97,47 +146,324 @@ class PropertyCollector {
                 collectSignature = appendPropertyScalarArray(properties, preCall, PropertyType.DoubleArray);
             } else if (hasPropertyOf(PropertyType.StringArray)) {
                 collectSignature = appendPropertyStringArrayOrList(properties, preCall);
-            } else if (countStrings > 3 || countByteArrays > 1) {
-                // If there are more non-primitive properties than we can process with one call, we must first collect
-                // them before mixing with primitives
-                collectSignature = countByteArrays > 0 ? appendProperties430000(properties, preCall) :
-                        appendProperties400000(properties, preCall);
+            } else if (plan.calls430000 > 0) {
+                plan.calls430000--;
+                collectSignature = hasPropertyOf(PropertyType.ByteArray) || hasPropertyOf(PropertyType.Flex) ?
+                        appendProperties430000(properties, preCall) : appendProperties400000(properties, preCall);
+            } else if (plan.calls313311 > 0) {
+                plan.calls313311--;
+                collectSignature = appendProperties313311(properties, preCall);
+            } else if (plan.calls002033 > 0) {
+                plan.calls002033--;
+                collectSignature = appendProperties002033(properties, preCall);
             } else {
-                if (countStrings == 0 && countByteArrays == 0 && maxCountFP > 1 &&
-                        // Calls needed for FPs in 313311 > calls needed for non-FPs in 002033
-                        maxCountFP > (countScalarsNonFP + 1) / 2) {
-                    collectSignature = appendProperties002033(properties, preCall);
-                } else {
-                    if (propertiesByType.countElements() == countScalarsNonFP && (countScalarsNonFP <= 4 ||
-                            (countScalarsNonFP > 6 && countScalarsNonFP < 9))) {
-                        collectSignature = appendProperties004000(properties, preCall);
-                    } else {
-                        collectSignature = appendProperties313311(properties, preCall);
-                    }
-                }
+                plan.calls004000--;
+                collectSignature = appendProperties004000(properties, preCall);
             }
-            int propertyCount = propertiesByType.countElements();
-            if (!first && propertyCount == previousPropertyCount) {
-                throw new RuntimeException("Could not collect properties: " + propertiesByType.valuesElements());
-            }
-            last = propertyCount == 0;
-
-            appendCollectCall(collectSignature, all, preCall, properties, first, last);
 
-            first = false;
-            previousPropertyCount = propertyCount;
+            appendCollectCall("collect" + collectSignature, all, preCall, properties, first, last);
+            calls.add(all.toString());
+            callSizes.add(estimatedSize);
 
+            all.setLength(0);
             properties.setLength(0);
             preCall.setLength(0);
         }
+        if (propertiesByType.countElements() != 0) {
+            throw new RuntimeException("Could not collect properties: " + propertiesByType.valuesElements());
+        }
+        return splitCollectCalls(calls, callSizes);
+    }
+
+    /**
+     * Returns the code of all calls, if too large moves calls into methods returned by {@link #getCollectMethods()}
+     * and returns code calling those methods instead. The last call which assigns the ID is always kept.
+     */
+    private String splitCollectCalls(List<String> calls, List<Integer> callSizes) {
+        int totalSize = 0;
+        for (int size : callSizes) {
+            totalSize += size;
+        }
+        StringBuilder all = new StringBuilder();
+        if (totalSize <= MAX_ESTIMATED_METHOD_SIZE) {
+            for (String call : calls) {
+                all.append(call);
+            }
+            return all.toString();
+        }
+
+        int lastIndex = calls.size() - 1;
+        int methodCount = 0;
+        int methodSize = 0;
+        StringBuilder method = new StringBuilder();
+        for (int i = 0; i < lastIndex; i++) {
+            if (method.length() > 0 && methodSize + callSizes.get(i) > MAX_ESTIMATED_METHOD_SIZE) {
+                appendCollectMethod(all, method, ++methodCount);
+                methodSize = 0;
+            }
+            method.append(calls.get(i));
+            methodSize += callSizes.get(i);
+        }
+        if (method.length() > 0) {
+            appendCollectMethod(all, method, ++methodCount);
+        }
+        all.append('\n').append(calls.get(lastIndex));
         return all.toString();
     }
 
-    private int countScalarsNonFP() {
-        return propertiesByType.countElements(PropertyType.Date) + propertiesByType.countElements(PropertyType.Long) +
-                propertiesByType.countElements(PropertyType.Int) + propertiesByType.countElements(PropertyType.Short) +
+    private void appendCollectMethod(StringBuilder all, StringBuilder method, int methodNumber) {
+        String methodName = "collectPart" + methodNumber;
+        all.append(INDENT).append(methodName).append("(entity);\n");
+
+        // Remove trailing empty line
+        method.setLength(method.length() - 1);
+        if (collectMethods.length() > 0) {
+            collectMethods.append("\n\n");
+        }
+        collectMethods.append("    @SuppressWarnings({\"rawtypes\", \"unchecked\"})\n");
+        collectMethods.append("    private void ").append(methodName).append('(').append(entityClassName)
+                .append(" entity) {\n");
+        collectMethods.append(method);
+        collectMethods.append("    }");
+        method.setLength(0);
+    }
+
+    /**
+     * Code of methods containing collect calls split off by {@link #createPropertyCollector()} (otherwise empty).
+     */
+    String getCollectMethods() {
+        return collectMethods.toString();
+    }
+
+    /**
+     * Counts scalar properties that only fit a long slot of a collect call.
+     */
+    private int countLongOnlyScalars() {
+        return propertiesByType.countElements(PropertyType.Long) +
+                propertiesByType.countElements(PropertyType.RelationId) +
+                propertiesByType.countElements(PropertyType.DateNano) +
+                propertiesByType.countElements(PropertyType.Date);
+    }
+
+    /**
+     * Counts scalar properties that fit an int slot (or a long slot, see {@link #appendProperty}) of a collect call.
+     */
+    private int countIntScalars() {
+        return propertiesByType.countElements(PropertyType.Int) + propertiesByType.countElements(PropertyType.Short) +
                 propertiesByType.countElements(PropertyType.Char) + propertiesByType.countElements(PropertyType.Byte) +
-                propertiesByType.countElements(PropertyType.Boolean) + propertiesByType.countElements(PropertyType.DateNano);
+                propertiesByType.countElements(PropertyType.Boolean);
+    }
+
+    /**
+     * Number of collect calls per signature (not counting array calls) that collects all non-array properties with
+     * the least amount of calls, each call being a JNI crossing. If there are multiple such plans, the one passing
+     * the least zero/null values is used.
+     * <p>
+     * To find it, tries every possible count of 313311 calls; for each the required count of the remaining calls is
+     * known: 430000 calls for the strings and byte arrays left over, 002033 calls for the floats and doubles left over
+     * and 004000 calls for the long and int scalars left over. Scalars may be widened (e.g. an Int can be passed in a
+     * long slot), but not narrowed.
+     */
+    static class CollectPlan {
+        int calls313311;
+        /** If no byte arrays are left, a call is emitted as 400000 instead. */
+        int calls430000;
+        int calls002033;
+        int calls004000;
+
+        /**
+         * @param hasOtherCalls If there are other (array) calls, so it is fine to plan no calls at all.
+         */
+        static CollectPlan create(int strings, int byteArrays, int longs, int ints, int floats, int doubles,
+                boolean hasOtherCalls) {
+            int maxCountFP = Math.max(floats, doubles);
+            int max313311 = Math.max(Math.max(divideRoundUp(strings, 3), byteArrays),
+                    Math.max(Math.max(maxCountFP, divideRoundUp(longs, 3)), divideRoundUp(longs + ints, 6)));
+
+            CollectPlan best = null;
+            int bestSlots = 0;
+            for (int count313311 = 0; count313311 <= max313311; count313311++) {
+                CollectPlan plan = new CollectPlan();
+                plan.calls313311 = count313311;
+                plan.calls430000 = Math.max(divideRoundUp(strings - 3 * count313311, 4),
+                        divideRoundUp(byteArrays - count313311, 3));
+                plan.calls002033 = divideRoundUp(maxCountFP - count313311, 3);
+                int longSlots = 3 * count313311 + 2 * plan.calls002033;
+                int intSlots = 3 * count313311;
+                plan.calls004000 = Math.max(divideRoundUp(longs - longSlots, 4),
+                        divideRoundUp(longs + ints - longSlots - intSlots, 4));
+                if (plan.getCallCount() == 0 && !hasOtherCalls) {
+                    plan.calls004000 = 1; // At least one call is required to put the ID
+                }
+                int slots = plan.getSlotCount();
+                if (best == null || plan.getCallCount() < best.getCallCount()
+                        || (plan.getCallCount() == best.getCallCount() && slots < bestSlots)) {
+                    best = plan;
+                    bestSlots = slots;
+                }
+            }
+            return best;
+        }
+
+        private static int divideRoundUp(int count, int perCall) {
+            return count > 0 ? (count + perCall - 1) / perCall : 0;
+        }
+
+        int getCallCount() {
+            return calls313311 + calls430000 + calls002033 + calls004000;
+        }
+
+        /**
+         * Property slots (ID and value parameter pairs) passed by all calls.
+         */
+        int getSlotCount() {
+            return calls313311 * 12 + calls430000 * 7 + calls002033 * 8 + calls004000 * 4;
+        }
+    }
+
+    private static boolean isPackedAsLong(PropertyType type) {
+        return type.isScalar() || type == PropertyType.Date;
+    }
+
+    private static boolean isPackedAsDouble(PropertyType type) {
+        return type == PropertyType.Float || type == PropertyType.Double;
+    }
+
+    /**
+     * Builds code string declaring the static property ID table and the slot arrays (allocated once per Cursor) used
+     * by the put code of {@link #createPackedPutMethods()}, and the handle of the collectPacked method.
+     * <p>
+     * The ID table lists property IDs in slot order: long slots, then double slots, then object slots.
+     */
+    String createPackedFields() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("    private final static int[] __PACKED_IDS = {");
+        int count = 0;
+        for (List<Property> slots : packedSlotLists()) {
+            for (Property property : slots) {
+                sb.append(count++ == 0 ? "\n" : ",\n").append(INDENT).append("__ID_").append(property.getPropertyName());
+            }
+        }
+        sb.append(count == 0 ? "};\n" : "\n    };\n");
+        sb.append("    private final int[] __packedIds = __PACKED_IDS.clone();\n");
+        sb.append("    private final long[] __packedLongs = new long[").append(packedLongs.size()).append("];\n");
+        sb.append("    private final double[] __packedDoubles = new double[").append(packedDoubles.size()).append("];\n");
+        sb.append("    private final Object[] __packedObjects = new Object[").append(packedObjects.size()).append("];\n");
+        sb.append("\n");
+        sb.append("    /** The collectPacked method of the ObjectBox library in use, or null if it has none. */\n");
+        sb.append("    private static final MethodHandle COLLECT_PACKED = findCollectPacked();");
+        return sb.toString();
+    }
+
+    /**
+     * Builds the put code of the packed put mode: if the ObjectBox library in use has a collectPacked method (checked
+     * at runtime, see {@link #createPackedFields()}) calls the putPacked method, otherwise the putChained method
+     * returned by {@link #createPackedPutMethods()}.
+     */
+    String createPackedPutCall() {
+        return INDENT + "long __assignedId = COLLECT_PACKED != null ? putPacked(entity) : putChained(entity);\n";
+    }
+
+    /**
+     * Builds the methods called by {@link #createPackedPutCall()}:
+     * <ul>
+     * <li>putPacked writes all properties into the slot arrays declared by {@link #createPackedFields()} and passes
+     * them with a single collectPacked call. IDs of not null properties stay as copied from the static ID table, only
+     * IDs of nullable properties are updated. Object slots are cleared after the call.</li>
+     * <li>putChained uses the chained collect calls of {@link #createPropertyCollector()}.</li>
+     * </ul>
+     * And the methods to look up and call collectPacked.
+     */
+    String createPackedPutMethods() {
+        StringBuilder methods = new StringBuilder();
+        methods.append("    /** Passes all properties with a single collectPacked call. */\n");
+        appendPutMethod(methods, "putPacked", createPackedPropertyCollector());
+        methods.append("\n\n");
+        methods.append("    /** Passes all properties with chained collect calls, if collectPacked is not available. */\n");
+        appendPutMethod(methods, "putChained", createPropertyCollector());
+        if (collectMethods.length() > 0) {
+            methods.append("\n\n").append(collectMethods);
+        }
+        methods.append("\n\n");
+        methods.append("    private static long invokeCollectPacked(long cursor, long keyOrId, int flags, int[] propertyIds,\n");
+        methods.append("            long[] longValues, double[] doubleValues, Object[] objectValues) {\n");
+        methods.append("        try {\n");
+        methods.append("            return (long) COLLECT_PACKED.invokeExact(cursor, keyOrId, flags, propertyIds, longValues,\n");
+        methods.append("                    doubleValues, objectValues);\n");
+        methods.append("        } catch (RuntimeException | Error e) {\n");
+        methods.append("            throw e;\n");
+        methods.append("        } catch (Throwable e) {\n");
+        methods.append("            throw new RuntimeException(e);\n");
+        methods.append("        }\n");
+        methods.append("    }\n");
+        methods.append("\n");
+        methods.append("    /**\n");
+        methods.append("     * Returns the collectPacked method of the ObjectBox library in use, or null if it has none or method handles are\n");
+        methods.append("     * not supported (Android before API level 26).\n");
+        methods.append("     */\n");
+        methods.append("    private static MethodHandle findCollectPacked() {\n");
+        methods.append("        try {\n");
+        methods.append("            return MethodHandles.lookup().findStatic(Cursor.class, \"collectPacked\",\n");
+        methods.append("                    MethodType.methodType(long.class, long.class, long.class, int.class, int[].class,\n");
+        methods.append("                            long[].class, double[].class, Object[].class));\n");
+        methods.append("        } catch (NoSuchMethodException | IllegalAccessException | LinkageError e) {\n");
+        methods.append("            return null;\n");
+        methods.append("        }\n");
+        methods.append("    }");
+        return methods.toString();
+    }
+
+    private void appendPutMethod(StringBuilder methods, String methodName, String collector) {
+        methods.append("    @SuppressWarnings({\"rawtypes\", \"unchecked\"})\n");
+        methods.append("    private long ").append(methodName).append('(').append(entityClassName)
+                .append(" entity) {\n");
+        methods.append(collector);
+        methods.append(INDENT).append("return __assignedId;\n");
+        methods.append("    }");
+    }
+
+    private String createPackedPropertyCollector() {
+        StringBuilder preCall = new StringBuilder();
+        StringBuilder slots = new StringBuilder();
+        StringBuilder all = new StringBuilder();
+
+        int idIndex = 0;
+        String[] arrayNames = {"__packedLongs", "__packedDoubles", "__packedObjects"};
+        List<List<Property>> slotLists = packedSlotLists();
+        for (int i = 0; i < slotLists.size(); i++) {
+            List<Property> properties = slotLists.get(i);
+            boolean isScalar = i < 2;
+            for (int slot = 0; slot < properties.size(); slot++, idIndex++) {
+                Property property = properties.get(slot);
+                String[] idAndValue = getIdAndValue(preCall, property, isScalar);
+                if (!property.isTypeNotNull()) {
+                    slots.append(INDENT).append("__packedIds[").append(idIndex).append("] = ").append(idAndValue[0])
+                            .append(";\n");
+                }
+                slots.append(INDENT).append(arrayNames[i]).append('[').append(slot).append("] = ")
+                        .append(idAndValue[1]).append(";\n");
+            }
+        }
+        if (slots.length() > 0) {
+            preCall.append(preCall.length() > 0 ? "\n" : "").append(slots);
+        }
+
+        StringBuilder call = new StringBuilder("__packedIds, __packedLongs, __packedDoubles, __packedObjects);\n");
+        // Do not keep the put object's values reachable until the next put.
+        for (int slot = 0; slot < packedObjects.size(); slot++) {
+            call.append(INDENT).append("__packedObjects[").append(slot).append("] = null;\n");
+        }
+        call.append('\n');
+        appendCollectCall("invokeCollectPacked", all, preCall, call, true, true);
+        return all.toString();
+    }
+
+    private List<List<Property>> packedSlotLists() {
+        List<List<Property>> slotLists = new ArrayList<>(3);
+        slotLists.add(packedLongs);
+        slotLists.add(packedDoubles);
+        slotLists.add(packedObjects);
+        return slotLists;
     }
 
     private String appendProperties313311(StringBuilder properties, StringBuilder preCall) {
@@ -249,6 +575,7 @@ class PropertyCollector {
 
             // All compatible types checked, append a zero/null value
             // (and let property get added with the next collect call).
+            estimatedSize += SIZE_ZERO_VALUE;
             if (isScalar) {
                 sb.append("0, 0");
             } else {
@@ -256,42 +583,57 @@ class PropertyCollector {
             }
         } else {
             Property property = properties.remove(0);
-            String name = property.getPropertyName();
-            String propertyId = "__ID_" + name;
-            String propertyIdLocal = "__id" + property.getOrdinal();
-            if (!property.isTypeNotNull()) {
-                // Nullable type: if null pass zero ID and zero/null value instead.
-                preCall.append(INDENT).append(property.getJavaTypeInEntity()).append(' ').append(name)
-                        .append(" = ").append(getValue(property)).append(";\n");
-                preCall.append(INDENT).append("int ").append(propertyIdLocal).append(" = ").append(name)
-                        .append(" != null ? ").append(propertyId).append(" : 0;\n");
-                sb.append(propertyIdLocal).append(", ");
-                if (isScalar || property.getCustomType() != null) {
-                    sb.append(propertyIdLocal).append(" != 0 ? ").append(property.getDatabaseValueExpression(name))
-                            .append(isScalar ? " : 0" : " : null");
-                } else {
-                    sb.append(property.getDatabaseValueExpression(name));
-                }
+            String[] idAndValue = getIdAndValue(preCall, property, isScalar);
+            sb.append(idAndValue[0]).append(", ").append(idAndValue[1]);
+        }
+        return sb;
+    }
+
+    /**
+     * For a nullable property appends code to {@code preCall} to read its value into a local variable and to set its
+     * ID to zero if the value is null. Returns the ID and value code strings to pass for the property.
+     */
+    private String[] getIdAndValue(StringBuilder preCall, Property property, boolean isScalar) {
+        String name = property.getPropertyName();
+        String propertyId = "__ID_" + name;
+        String propertyIdLocal = "__id" + property.getOrdinal();
+        estimatedSize += property.isTypeNotNull() ? SIZE_VALUE : SIZE_NULLABLE_VALUE;
+        if (property.getCustomType() != null) {
+            estimatedSize += SIZE_CONVERTER;
+        }
+        if (!property.isTypeNotNull()) {
+            // Nullable type: if null pass zero ID and zero/null value instead.
+            preCall.append(INDENT).append(property.getJavaTypeInEntity()).append(' ').append(name)
+                    .append(" = ").append(getValue(property)).append(";\n");
+            preCall.append(INDENT).append("int ").append(propertyIdLocal).append(" = ").append(name)
+                    .append(" != null ? ").append(propertyId).append(" : 0;\n");
+            String value;
+            if (isScalar || property.getCustomType() != null) {
+                value = propertyIdLocal + " != 0 ? " + property.getDatabaseValueExpression(name)
+                        + (isScalar ? " : 0" : " : null");
             } else {
-                // Not null type
-                sb.append(propertyId).append(", ").append("entity.");
-                if (property.isVirtual()) {
-                    // TODO this is hard-coded for to-ones, not really a generic "virtual property"
-                    if (property.getVirtualTargetValueExpression() != null) {
-                        sb.append(property.getVirtualTargetValueExpression());
-                    } else {
-                        sb.append(property.getVirtualTargetName());
-                    }
-                    sb.append(".getTargetId()");
+                value = property.getDatabaseValueExpression(name);
+            }
+            return new String[]{propertyIdLocal, value};
+        } else {
+            // Not null type
+            StringBuilder value = new StringBuilder("entity.");
+            if (property.isVirtual()) {
+                // TODO this is hard-coded for to-ones, not really a generic "virtual property"
+                if (property.getVirtualTargetValueExpression() != null) {
+                    value.append(property.getVirtualTargetValueExpression());
                 } else {
-                    sb.append(property.getDatabaseValueExpression());
+                    value.append(property.getVirtualTargetName());
                 }
+                value.append(".getTargetId()");
+            } else {
+                value.append(property.getDatabaseValueExpression());
             }
+            return new String[]{propertyId, value.toString()};
         }
-        return sb;
     }
 
-    private void appendCollectCall(String collectSignature, StringBuilder all, StringBuilder preCall,
+    private void appendCollectCall(String collectMethod, StringBuilder all, StringBuilder preCall,
             StringBuilder call, boolean first, boolean last) {
         // ID property before preCall for non-primitives
         // TODO check if we can use fields directly
@@ -306,7 +648,7 @@ class PropertyCollector {
         if (last) {
             all.append("long __assignedId = ");
         }
-        all.append("collect").append(collectSignature).append("(cursor, ");
+        all.append(collectMethod).append("(cursor, ");
         if (last) {
             if (!idProperty.isTypeNotNull()) {
                 all.append(idProperty.getPropertyName()).append(" != null ? ").append(idProperty.getPropertyName())
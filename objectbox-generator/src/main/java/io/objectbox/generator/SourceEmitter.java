@@ -0,0 +1,890 @@
+/*
+ * ObjectBox Build Tools
+ * Copyright (C) 2025 ObjectBox Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.objectbox.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.objectbox.generator.model.Entity;
+import io.objectbox.generator.model.Property;
+import io.objectbox.generator.model.Schema;
+import io.objectbox.generator.model.ToManyBase;
+import io.objectbox.generator.model.ToManyByBacklink;
+import io.objectbox.generator.model.ToManyStandalone;
+import io.objectbox.generator.model.ToOne;
+
+/**
+ * Writes the Cursor, EntityInfo (Entity_) and MyObjectBox classes directly to a {@link Writer}. These are generated
+ * for every entity, so unlike other files they are not generated using a template.
+ * <p>
+ * Takes the data model built by {@link BoxGenerator}, like the templates do.
+ */
+class SourceEmitter {
+
+    private final Writer out;
+
+    private SourceEmitter(Writer out) {
+        this.out = out;
+    }
+
+    /** Writes the Cursor class. */
+    static void emitCursor(Map<String, Object> model, Writer writer) throws IOException {
+        new SourceEmitter(writer).cursor((Entity) model.get("entity"), model);
+    }
+
+    /** Writes the EntityInfo (Entity_) class. */
+    static void emitEntityInfo(Map<String, Object> model, Writer writer) throws IOException {
+        new SourceEmitter(writer).entityInfo((Entity) model.get("entity"), model);
+    }
+
+    /** Writes the MyObjectBox class. */
+    static void emitMyObjectBox(Map<String, Object> model, Writer writer) throws IOException {
+        new SourceEmitter(writer).myObjectBox((Schema) model.get("schema"), model);
+    }
+
+    private void print(Object... parts) throws IOException {
+        for (Object part : parts) {
+            out.write(String.valueOf(part));
+        }
+    }
+
+    private void println(Object... parts) throws IOException {
+        print(parts);
+        out.write('\n');
+    }
+
+    @SuppressWarnings("unchecked")
+    private void imports(Map<String, Object> model) throws IOException {
+        for (String anImport : (Collection<String>) model.get("imports")) {
+            println("import ", anImport, ";");
+        }
+    }
+
+    private void cursor(Entity entity, Map<String, Object> model) throws IOException {
+        String className = entity.getClassName();
+        String classNameDao = entity.getClassNameDao();
+        boolean singleAccessorClass = (Boolean) model.get("singleAccessorClass");
+        String packedFields = (String) model.get("packedFields");
+        String propertyCollector = (String) model.get("propertyCollector");
+        String collectMethods = (String) model.get("collectMethods");
+
+        if (!entity.getJavaPackageDao().isEmpty()) {
+            print("package ", entity.getJavaPackageDao(), ";");
+        }
+        println();
+        println();
+        imports(model);
+        println();
+        println("// THIS CODE IS GENERATED BY ObjectBox, DO NOT EDIT.");
+        println();
+        println("/**");
+        println(" * ObjectBox generated Cursor implementation for \"", entity.getDbName(), "\".");
+        println(" * Note that this is a low-level class: usually you should stick to the Box class.");
+        println(" */");
+        println("public final class ", classNameDao, " extends Cursor<", className, "> {");
+        if (!singleAccessorClass) {
+            println("    @Internal");
+            println("    static final class Factory implements CursorFactory<", className, "> {");
+            println("        @Override");
+            println("        public Cursor<", className, "> createCursor(io.objectbox.Transaction tx, long cursorHandle, BoxStore boxStoreForEntities) {");
+            println("            return new ", classNameDao, "(tx, cursorHandle, boxStoreForEntities);");
+            println("        }");
+            println("    }");
+            println();
+        }
+        println("    private static final ", className, "_.", className, singleAccessorClass ? "Accessors" : "IdGetter",
+                " ID_GETTER = ", className, "_.__ID_GETTER;");
+        println();
+        for (Property property : entity.getProperties()) {
+            if (hasContent(property.getCustomType())) {
+                println("    private final ", property.getConverterClassName(), " ", property.getPropertyName(),
+                        "Converter = new ", property.getConverterClassName(), "();");
+            }
+        }
+        println();
+        for (Property property : entity.getProperties()) {
+            if (!property.isPrimaryKey()) {
+                println("    private final static int __ID_", property.getPropertyName(), " = ", className, "_.",
+                        property.getPropertyName(), ".id;");
+            }
+        }
+        if (packedFields != null) {
+            println();
+            println(packedFields);
+        }
+        // Relation target cursors are opened once and kept until this cursor is closed,
+        // so putting many objects with the same cursor (like Box.put(Collection) does) does not re-open them.
+        Set<String> relationTargets = relationTargets(entity);
+        if (!relationTargets.isEmpty()) {
+            println();
+            for (String target : relationTargets) {
+                println("    private Cursor<", target, "> __", target, "TargetCursor;");
+            }
+        }
+        println();
+        println("    public ", classNameDao, "(io.objectbox.Transaction tx, long cursor, BoxStore boxStore) {");
+        println("        super(tx, cursor, ", entityInfoExpression(className, (Boolean) model.get("lazyEntityInfo")),
+                ", boxStore);");
+        println("    }");
+        println();
+        println("    @Override");
+        println("    public long getId(", className, " entity) {");
+        println("        return ID_GETTER.getId(entity);");
+        println("    }");
+        println();
+        println("    /**");
+        println("     * Puts an object into its box.");
+        println("     *");
+        println("     * @return The ID of the object within its box.");
+        println("     */");
+        println("    @SuppressWarnings({\"rawtypes\", \"unchecked\"}) ");
+        println("    @Override");
+        println("    public long put(", className, " entity) {");
+        for (ToOne toOne : entity.getToOneRelations()) {
+            String name = toOne.getName();
+            String target = toOne.getTargetEntity().getClassName();
+            println("        ToOne<", target, "> ", name, " = entity.", toOne.getToOneValueExpression(), ";");
+            println("        if(", name, " != null && ", name, ".internalRequiresPutTarget()) {");
+            println("            ", name, ".internalPutTarget(get", target, "TargetCursor());");
+            println("        }");
+        }
+        println(propertyCollector);
+        if (entity.hasRelations()) {
+            if (entity.getHasBoxStoreField()) {
+                println("        entity.__boxStore = boxStoreForEntities;");
+            } else {
+                println("        attachEntity(entity);");
+            }
+        }
+        for (ToManyBase toMany : entity.getToManyRelations()) {
+            String name = toMany.getName();
+            String target = toMany.getTargetEntity().getClassName();
+            // Like checkApplyToManyToDb, but using the target cursor kept by this cursor.
+            println("        List<", target, "> ", name, " = entity.", toMany.getValueExpression(), ";");
+            println("        if (", name, " instanceof ToMany) {");
+            println("            ToMany<", target, "> ", name, "ToMany = (ToMany<", target, ">) ", name, ";");
+            println("            if (", name, "ToMany.internalCheckApplyToDbRequired()) {");
+            println("                ", name, "ToMany.internalApplyToDb(this, get", target, "TargetCursor());");
+            println("            }");
+            println("        }");
+        }
+        println("        return __assignedId;");
+        println("    }");
+        if (hasContent(collectMethods)) {
+            println();
+            println(collectMethods);
+        }
+        println();
+        if (!relationTargets.isEmpty()) {
+            for (String target : relationTargets) {
+                println("    private Cursor<", target, "> get", target, "TargetCursor() {");
+                println("        if (__", target, "TargetCursor == null) {");
+                println("            __", target, "TargetCursor = getRelationTargetCursor(", target, ".class);");
+                println("        }");
+                println("        return __", target, "TargetCursor;");
+                println("    }");
+                println();
+            }
+            println("    @Override");
+            println("    public synchronized void close() {");
+            for (String target : relationTargets) {
+                println("        if (__", target, "TargetCursor != null) {");
+                println("            __", target, "TargetCursor.close();");
+                println("            __", target, "TargetCursor = null;");
+                println("        }");
+            }
+            println("        super.close();");
+            println("    }");
+            println();
+        }
+        if (entity.hasRelations() && !entity.getHasBoxStoreField()) {
+            println("    private void attachEntity(", className, " entity) {");
+            println("        // Transformer will create __boxStore field in entity and init it here:");
+            println("        // entity.__boxStore = boxStoreForEntities;");
+            println("    }");
+            println();
+        }
+        println("}");
+    }
+
+    /**
+     * Returns the class names of the target entities of the to-one and to-many relations of the entity, in the order
+     * relations are put.
+     */
+    private static Set<String> relationTargets(Entity entity) {
+        Set<String> targets = new LinkedHashSet<>();
+        for (ToOne toOne : entity.getToOneRelations()) {
+            targets.add(toOne.getTargetEntity().getClassName());
+        }
+        for (ToManyBase toMany : entity.getToManyRelations()) {
+            targets.add(toMany.getTargetEntity().getClassName());
+        }
+        return targets;
+    }
+
+    private void entityInfo(Entity entity, Map<String, Object> model) throws IOException {
+        String className = entity.getClassName();
+        boolean lazyEntityInfo = (Boolean) model.get("lazyEntityInfo");
+        boolean singleAccessorClass = (Boolean) model.get("singleAccessorClass");
+        boolean modelFingerprints = (Boolean) model.get("modelFingerprints");
+        List<ToOne> toOnes = entity.getToOneRelations();
+        List<ToManyBase> toManys = entity.getToManyRelations();
+        Property pkProperty = entity.getPkProperty();
+
+        String idGetterClass;
+        String cursorFactoryExpression;
+        int toOneCount = toOnes.size();
+        Map<String, List<RelationGetter>> gettersByClass = new LinkedHashMap<>();
+        Map<Integer, String> getterClassByRelation = new HashMap<>();
+        if (singleAccessorClass) {
+            idGetterClass = className + "Accessors";
+            cursorFactoryExpression = "new " + idGetterClass + "(-1)";
+            gettersByClass.put(idGetterClass, new ArrayList<>());
+            groupRelationGetters(entity, idGetterClass, gettersByClass, getterClassByRelation);
+        } else {
+            idGetterClass = className + "IdGetter";
+            cursorFactoryExpression = "new " + (entity.getJavaPackageDao().isEmpty()
+                    ? entity.getClassNameDao() + "." : "") + "Factory()";
+        }
+        String idGetterArgument = singleAccessorClass ? "-1" : "";
+
+        println();
+        if (!entity.getJavaPackageDao().isEmpty()) {
+            println("package ", entity.getJavaPackageDao(), ";");
+        }
+        println();
+        imports(model);
+        println();
+        println("// THIS CODE IS GENERATED BY ObjectBox, DO NOT EDIT.");
+        println();
+        println("/**");
+        println(" * Properties for entity \"", entity.getDbName(), "\". Can be used for QueryBuilder and for referencing DB names.");
+        println(" */");
+        println("public final class ", className, "_ implements EntityInfo<", className, "> {");
+        println();
+        println("    // Leading underscores for static constants to avoid naming conflicts with property names");
+        println();
+        println("    public static final String __ENTITY_NAME = \"", className, "\";");
+        println();
+        println("    public static final int __ENTITY_ID = ", entity.getModelId(), ";");
+        if (modelFingerprints && entity.getModelFingerprint() != null) {
+            println();
+            println("    /** Fingerprint of the model of this entity, changes if any of its IDs, names, types or flags changes. */");
+            println("    public static final long __ENTITY_FINGERPRINT = ", entity.getModelFingerprint(), "L;");
+        }
+        println();
+        println("    public static final Class<", className, "> __ENTITY_CLASS = ", className, ".class;");
+        println();
+        println("    public static final String __DB_NAME = \"", entity.getDbName(), "\";");
+        println();
+        List<Property> properties = entity.getPropertiesColumns();
+        if (lazyEntityInfo) {
+            println("    public static final CursorFactory<", className, "> __CURSOR_FACTORY = ", className,
+                    "Descriptor.__CURSOR_FACTORY;");
+            println();
+            println("    @Internal");
+            println("    static final ", idGetterClass, " __ID_GETTER = ", className, "Descriptor.__ID_GETTER;");
+            println();
+            println("    public final static ", className, "_ __INSTANCE = new ", className, "_();");
+            println();
+            for (Property property : properties) {
+                println("    public final static io.objectbox.Property<", className, "> ", property.getPropertyName(),
+                        " = ", className, "Properties.", property.getPropertyName(), ";");
+                println();
+            }
+            println("    public final static io.objectbox.Property<", className, ">[] __ALL_PROPERTIES = ", className,
+                    "Properties.__ALL_PROPERTIES;");
+        } else {
+            println("    public static final CursorFactory<", className, "> __CURSOR_FACTORY = ", cursorFactoryExpression,
+                    ";");
+            println();
+            println("    @Internal");
+            println("    static final ", idGetterClass, " __ID_GETTER = new ", idGetterClass, "(", idGetterArgument, ");");
+            println();
+            println("    public final static ", className, "_ __INSTANCE = new ", className, "_();");
+            println();
+            propertyFields("    ", "public ", className, "__INSTANCE", properties);
+        }
+        println();
+        println("    public final static io.objectbox.Property<", className, "> __ID_PROPERTY = ",
+                pkProperty.getPropertyName(), ";");
+        println();
+        entityInfoMethods("    ", className, "__ENTITY_CLASS", "__ALL_PROPERTIES", "__ID_PROPERTY");
+        println();
+        if (singleAccessorClass) {
+            List<RelationGetter> accessorsGetters = gettersByClass.get(idGetterClass);
+            println("    /**");
+            println("     * Implements the ID getter, the cursor factory and the relation getters of one to-one and one to-many");
+            println("     * relation type of this entity in a single class. Relation getters return the value of the relation");
+            println("     * selected by the index passed to the constructor, the ID getter and cursor factory use -1.");
+            println("     */");
+            println("    @Internal");
+            print("    static final class ", idGetterClass, " implements IdGetter<", className, ">, CursorFactory<",
+                    className, ">");
+            for (RelationGetter getter : distinctTypes(accessorsGetters)) {
+                print(", ", getter.interfaceType());
+            }
+            println(" {");
+            println();
+            println("        private final int relation;");
+            println();
+            println("        ", idGetterClass, "(int relation) {");
+            println("            this.relation = relation;");
+            println("        }");
+            println();
+            idGetterMethod(className, pkProperty);
+            println();
+            println("        @Override");
+            println("        public io.objectbox.Cursor<", className, "> createCursor(io.objectbox.Transaction tx, long cursorHandle, io.objectbox.BoxStore boxStoreForEntities) {");
+            println("            return new ", entity.getClassNameDao(), "(tx, cursorHandle, boxStoreForEntities);");
+            println("        }");
+            relationGetterMethods(accessorsGetters);
+            println("    }");
+            for (Map.Entry<String, List<RelationGetter>> entry : gettersByClass.entrySet()) {
+                if (entry.getKey().equals(idGetterClass)) {
+                    continue;
+                }
+                RelationGetter type = entry.getValue().get(0);
+                println();
+                println("    /** Implements the relation getters of ", type.toOne ? "to-one" : "to-many",
+                        " relations of type ", type.interfaceType(), ", see ", idGetterClass, ". */");
+                println("    @Internal");
+                println("    static final class ", entry.getKey(), " implements ", type.interfaceType(), " {");
+                println();
+                println("        private final int relation;");
+                println();
+                println("        ", entry.getKey(), "(int relation) {");
+                println("            this.relation = relation;");
+                println("        }");
+                relationGetterMethods(entry.getValue());
+                println("    }");
+            }
+        } else {
+            println("    @Internal");
+            println("    static final class ", className, "IdGetter implements IdGetter<", className, "> {");
+            idGetterMethod(className, pkProperty);
+            println("    }");
+        }
+        println();
+        if (lazyEntityInfo) {
+            String propertiesClass = className + "Properties";
+            println("    /**");
+            println("     * Describes entity \"", entity.getDbName(), "\" to register it with a BoxStoreBuilder without initializing");
+            println("     * ", className, "_, which constructs relation infos, or ", propertiesClass, ", which constructs properties.");
+            println("     * ObjectBox uses this as the EntityInfo of this entity, ", className, "_.__INSTANCE returns the same values.");
+            println("     */");
+            println("    @Internal");
+            println("    public static final class ", className, "Descriptor implements EntityInfo<", className, "> {");
+            println();
+            println("        public final static ", className, "Descriptor __INSTANCE = new ", className, "Descriptor();");
+            println();
+            println("        static final CursorFactory<", className, "> __CURSOR_FACTORY = ", cursorFactoryExpression, ";");
+            println();
+            println("        static final ", idGetterClass, " __ID_GETTER = new ", idGetterClass, "(", idGetterArgument, ");");
+            println();
+            entityInfoMethods("        ", className, className + ".class", propertiesClass + ".__ALL_PROPERTIES",
+                    propertiesClass + "." + pkProperty.getPropertyName());
+            println("    }");
+            println();
+            println("    /** Holds the properties of entity \"", entity.getDbName(), "\", constructed on first use. */");
+            println("    static final class ", propertiesClass, " {");
+            println();
+            propertyFields("        ", "", className, className + "Descriptor.__INSTANCE", properties);
+            println("    }");
+            println();
+        }
+        String sourceInfo = entityInfoExpression(className, lazyEntityInfo);
+        if (entity.hasRelations()) {
+            for (int i = 0; i < toOneCount; i++) {
+                ToOne toOne = toOnes.get(i);
+                String source = toOne.getSourceEntity().getClassName();
+                String target = toOne.getTargetEntity().getClassName();
+                println("    /** To-one relation \"", toOne.getName(), "\" to target entity \"", target, "\". */");
+                println("    public static final RelationInfo<", source, ", ", target, "> ", toOne.getName(), " =");
+                print("            new RelationInfo<>(", sourceInfo, ", ", entityInfoExpression(target, lazyEntityInfo), ", ",
+                        toOne.getIdRefPropertyName(), ",");
+                if (singleAccessorClass) {
+                    println(" new ", getterClassByRelation.get(i), "(", i, "));");
+                    print("    ");
+                } else {
+                    println(" new ToOneGetter<", source, ", ", target, ">() {");
+                    println("                @Override");
+                    println("                public ToOne<", target, "> getToOne(", source, " entity) {");
+                    println("                    return entity.", toOne.getToOneValueExpression(), ";");
+                    println("                }");
+                    println("            });");
+                }
+                println();
+            }
+            for (int i = 0; i < toManys.size(); i++) {
+                ToManyBase toMany = toManys.get(i);
+                String source = toMany.getSourceEntity().getClassName();
+                String target = toMany.getTargetEntity().getClassName();
+                ToOne targetToOne = targetToOne(toMany);
+                ToManyStandalone targetToMany = targetToMany(toMany);
+                println("    /** To-many relation \"", toMany.getName(), "\" to target entity \"", target, "\". */");
+                println("    public static final RelationInfo<", source, ", ", target, "> ", toMany.getName(),
+                        " = new RelationInfo<>(", sourceInfo, ", ", entityInfoExpression(target, lazyEntityInfo), ",");
+                if (singleAccessorClass) {
+                    println("            new ", getterClassByRelation.get(toOneCount + 2 * i), "(", toOneCount + 2 * i, "),");
+                    print("            ");
+                    if (targetToOne != null) {
+                        println(target, "_.", targetToOne.getIdRefPropertyName(), ",");
+                        print("            new ", getterClassByRelation.get(toOneCount + 2 * i + 1), "(",
+                                toOneCount + 2 * i + 1, ")");
+                    } else if (targetToMany != null) {
+                        print("new ", getterClassByRelation.get(toOneCount + 2 * i + 1), "(", toOneCount + 2 * i + 1,
+                                "), ", targetToMany.getModelId().getId());
+                    } else {
+                        print(" ", ((ToManyStandalone) toMany).getModelId().getId());
+                    }
+                    println(");");
+                } else {
+                    println("            new ToManyGetter<", source, ", ", target, ">() {");
+                    println("                @Override");
+                    println("                public List<", target, "> getToMany(", source, " entity) {");
+                    println("                    return entity.", toMany.getValueExpression(), ";");
+                    println("                }");
+                    println("            },");
+                    print("            ");
+                    if (targetToOne != null) {
+                        println(target, "_.", targetToOne.getIdRefPropertyName(), ",");
+                        println("            new ToOneGetter<", target, ", ", source, ">() {");
+                        println("                @Override");
+                        println("                public ToOne<", source, "> getToOne(", target, " entity) {");
+                        println("                    return entity.", targetToOne.getToOneValueExpression(), ";");
+                        println("                }");
+                        print("            }");
+                    } else if (targetToMany != null) {
+                        println("new ToManyGetter<", target, ", ", source, ">() {");
+                        println("                @Override");
+                        println("                public List<", source, "> getToMany(", target, " entity) {");
+                        println("                    return entity.", targetToMany.getValueExpression(), ";");
+                        println("                }");
+                        print("            }, ", targetToMany.getModelId().getId());
+                    } else {
+                        print(" ", ((ToManyStandalone) toMany).getModelId().getId());
+                    }
+                    println(");");
+                }
+                println();
+            }
+        }
+        println("}");
+    }
+
+    /**
+     * Assigns the relation getters of the entity to accessor classes, indexed like the relation infos: to-one
+     * relations first, then for each to-many relation its getter and the getter of its backlink (if any). The getters
+     * of the first to-one and the first to-many type go into the accessor class, getters of other types into a class
+     * per type, as a class can implement ToOneGetter and ToManyGetter only once.
+     */
+    private static void groupRelationGetters(Entity entity, String accessorsClass,
+            Map<String, List<RelationGetter>> gettersByClass, Map<Integer, String> getterClassByRelation) {
+        List<RelationGetter> getters = new ArrayList<>();
+        List<ToOne> toOnes = entity.getToOneRelations();
+        for (int i = 0; i < toOnes.size(); i++) {
+            ToOne toOne = toOnes.get(i);
+            getters.add(new RelationGetter(i, true, toOne.getSourceEntity().getClassName(),
+                    toOne.getTargetEntity().getClassName(), toOne.getToOneValueExpression()));
+        }
+        List<ToManyBase> toManys = entity.getToManyRelations();
+        for (int i = 0; i < toManys.size(); i++) {
+            ToManyBase toMany = toManys.get(i);
+            int relation = toOnes.size() + 2 * i;
+            String source = toMany.getSourceEntity().getClassName();
+            String target = toMany.getTargetEntity().getClassName();
+            getters.add(new RelationGetter(relation, false, source, target, toMany.getValueExpression()));
+            ToOne targetToOne = targetToOne(toMany);
+            ToManyStandalone targetToMany = targetToMany(toMany);
+            if (targetToOne != null) {
+                getters.add(new RelationGetter(relation + 1, true, target, source,
+                        targetToOne.getToOneValueExpression()));
+            } else if (targetToMany != null) {
+                getters.add(new RelationGetter(relation + 1, false, target, source,
+                        targetToMany.getValueExpression()));
+            }
+        }
+
+        Map<String, String> classByType = new HashMap<>();
+        boolean accessorsHasToOne = false;
+        boolean accessorsHasToMany = false;
+        for (RelationGetter getter : getters) {
+            String type = getter.interfaceType();
+            String getterClass = classByType.get(type);
+            if (getterClass == null) {
+                if (getter.toOne ? !accessorsHasToOne : !accessorsHasToMany) {
+                    getterClass = accessorsClass;
+                    accessorsHasToOne |= getter.toOne;
+                    accessorsHasToMany |= !getter.toOne;
+                } else {
+                    getterClass = getter.source + getter.target + (getter.toOne ? "ToOneGetter" : "ToManyGetter");
+                }
+                classByType.put(type, getterClass);
+            }
+            gettersByClass.computeIfAbsent(getterClass, key -> new ArrayList<>()).add(getter);
+            getterClassByRelation.put(getter.relation, getterClass);
+        }
+    }
+
+    /** Returns the first getter of each getter interface type. */
+    private static Collection<RelationGetter> distinctTypes(List<RelationGetter> getters) {
+        Map<String, RelationGetter> byType = new LinkedHashMap<>();
+        for (RelationGetter getter : getters) {
+            byType.putIfAbsent(getter.interfaceType(), getter);
+        }
+        return byType.values();
+    }
+
+    /** The getToOne and getToMany methods of an accessor class, selecting the relation by its index. */
+    private void relationGetterMethods(List<RelationGetter> getters) throws IOException {
+        for (RelationGetter type : distinctTypes(getters)) {
+            println();
+            println("        @Override");
+            if (type.toOne) {
+                println("        public ToOne<", type.target, "> getToOne(", type.source, " entity) {");
+            } else {
+                println("        public List<", type.target, "> getToMany(", type.source, " entity) {");
+            }
+            println("            switch (relation) {");
+            for (RelationGetter getter : getters) {
+                if (getter.toOne == type.toOne) {
+                    println("                case ", getter.relation, ":");
+                    println("                    return entity.", getter.valueExpression, ";");
+                }
+            }
+            println("                default:");
+            println("                    throw new IllegalStateException(\"No ", type.toOne ? "to-one" : "to-many",
+                    " relation \" + relation);");
+            println("            }");
+            println("        }");
+        }
+    }
+
+    /**
+     * Returns the expression of the EntityInfo ObjectBox uses for the entity with the given class name, see
+     * {@link #entityInfo(Entity, Map)}.
+     */
+    private static String entityInfoExpression(String className, boolean lazyEntityInfo) {
+        return className + "_." + (lazyEntityInfo ? className + "Descriptor." : "") + "__INSTANCE";
+    }
+
+    /** The property fields and the __ALL_PROPERTIES array of the EntityInfo class or its properties holder. */
+    private void propertyFields(String indent, String modifier, String className, String entityInfoExpression,
+            List<Property> properties) throws IOException {
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            println(indent, modifier, "final static io.objectbox.Property<", className, "> ",
+                    property.getPropertyName(), " =");
+            println(indent, "    ", propertyConstructor(property, i, entityInfoExpression), ";");
+            println();
+        }
+        println(indent, "@SuppressWarnings(\"unchecked\")");
+        println(indent, modifier, "final static io.objectbox.Property<", className,
+                ">[] __ALL_PROPERTIES = new io.objectbox.Property[]{");
+        for (Iterator<Property> iterator = properties.iterator(); iterator.hasNext(); ) {
+            println(indent, "    ", iterator.next().getPropertyName(), iterator.hasNext() ? "," : "");
+        }
+        println(indent, "};");
+    }
+
+    private String propertyConstructor(Property property, int index, String entityInfoExpression) {
+        StringBuilder code = new StringBuilder("new io.objectbox.Property<>(").append(entityInfoExpression).append(", ")
+                .append(index).append(", ")
+                .append(property.getModelId() != null ? property.getModelId().getId() : 0).append(", ")
+                .append(property.getJavaRawType()).append(".class, \"")
+                .append(property.getPropertyName()).append('"');
+        if (property.isVirtual()) {
+            code.append(", true");
+        }
+        String dbName = property.getDbName();
+        if (property.isPrimaryKey() || (dbName != null && !dbName.equals(property.getPropertyName()))
+                || property.getConverter() != null) {
+            code.append(", ").append(property.isPrimaryKey()).append(", \"").append(dbName).append('"');
+            if (property.getConverter() != null) {
+                code.append(", ").append(property.getConverterClassName()).append(".class, ")
+                        .append(property.getCustomTypeClassName()).append(".class");
+            }
+        }
+        return code.append(')').toString();
+    }
+
+    private void idGetterMethod(String className, Property pkProperty) throws IOException {
+        println("        @Override");
+        println("        public long getId(", className, " object) {");
+        if (!pkProperty.isTypeNotNull()) {
+            println("            ", pkProperty.getJavaType(), " id = object.", pkProperty.getValueExpression(), ";");
+            println("            return id != null? id : 0;");
+        } else {
+            println("            return object.", pkProperty.getValueExpression(), ";");
+        }
+        println("        }");
+    }
+
+    private void entityInfoMethods(String indent, String className, String entityClassExpression,
+            String allPropertiesExpression, String idPropertyExpression) throws IOException {
+        println(indent, "@Override");
+        println(indent, "public String getEntityName() {");
+        println(indent, "    return __ENTITY_NAME;");
+        println(indent, "}");
+        println();
+        println(indent, "@Override");
+        println(indent, "public int getEntityId() {");
+        println(indent, "    return __ENTITY_ID;");
+        println(indent, "}");
+        println();
+        println(indent, "@Override");
+        println(indent, "public Class<", className, "> getEntityClass() {");
+        println(indent, "    return ", entityClassExpression, ";");
+        println(indent, "}");
+        println();
+        println(indent, "@Override");
+        println(indent, "public String getDbName() {");
+        println(indent, "    return __DB_NAME;");
+        println(indent, "}");
+        println();
+        println(indent, "@Override");
+        println(indent, "public io.objectbox.Property<", className, ">[] getAllProperties() {");
+        println(indent, "    return ", allPropertiesExpression, ";");
+        println(indent, "}");
+        println();
+        println(indent, "@Override");
+        println(indent, "public io.objectbox.Property<", className, "> getIdProperty() {");
+        println(indent, "    return ", idPropertyExpression, ";");
+        println(indent, "}");
+        println();
+        println(indent, "@Override");
+        println(indent, "public IdGetter<", className, "> getIdGetter() {");
+        println(indent, "    return __ID_GETTER;");
+        println(indent, "}");
+        println();
+        println(indent, "@Override");
+        println(indent, "public CursorFactory<", className, "> getCursorFactory() {");
+        println(indent, "    return __CURSOR_FACTORY;");
+        println(indent, "}");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void myObjectBox(Schema schema, Map<String, Object> model) throws IOException {
+        boolean lazyEntityInfo = (Boolean) model.get("lazyEntityInfo");
+        boolean modelFingerprints = (Boolean) model.get("modelFingerprints");
+        List<String> modelChunks = (List<String>) model.get("modelChunks");
+
+        println();
+        if (!schema.getDefaultJavaPackageDao().isEmpty()) {
+            print("package ", schema.getDefaultJavaPackageDao(), ";");
+        }
+        println();
+        println();
+        imports(model);
+        println();
+        println("// THIS CODE IS GENERATED BY ObjectBox, DO NOT EDIT.");
+        println("/**");
+        println(" * Starting point for working with your ObjectBox. All boxes are set up for your objects here.");
+        println(" * <p>");
+        println(" * First steps (Android): get a builder using {@link #builder()}, call {@link BoxStoreBuilder#androidContext(Object)},");
+        println(" * and {@link BoxStoreBuilder#build()} to get a {@link BoxStore} to work with.");
+        println(" */");
+        println("public class MyObjectBox {");
+        println();
+        if (modelFingerprints && schema.getModelFingerprint() != null) {
+            println("    /** Fingerprint of the model IDs, UIDs, names, types and flags, changes if any of them changes. */");
+            println("    public static final long MODEL_FINGERPRINT = ", schema.getModelFingerprint(), "L;");
+            println();
+        }
+        println("    public static BoxStoreBuilder builder() {");
+        println("        BoxStoreBuilder builder = new BoxStoreBuilder(getModel());");
+        for (Entity entity : schema.getEntities()) {
+            println("        builder.entity(", entityInfoExpression(entity.getClassName(), lazyEntityInfo), ");");
+        }
+        println("        return builder;");
+        println("    }");
+        println();
+        if (modelChunks != null) {
+            println("    private static byte[] getModel() {");
+            println("        byte[] model = new byte[", model.get("modelSize"), "];");
+            println("        String[] chunks = {");
+            for (Iterator<String> iterator = modelChunks.iterator(); iterator.hasNext(); ) {
+                println("                ", iterator.next(), iterator.hasNext() ? "," : "");
+            }
+            println("        };");
+            println("        int offset = 0;");
+            println("        for (String chunk : chunks) {");
+            println("            byte[] bytes = chunk.getBytes(java.nio.charset.StandardCharsets.ISO_8859_1);");
+            println("            System.arraycopy(bytes, 0, model, offset, bytes.length);");
+            println("            offset += bytes.length;");
+            println("        }");
+            println("        return model;");
+            println("    }");
+            println();
+        } else {
+            println("    private static byte[] getModel() {");
+            println("        ModelBuilder modelBuilder = new ModelBuilder();");
+            if (schema.getLastEntityId() != null) {
+                println("        modelBuilder.lastEntityId(", schema.getLastEntityId().getId(), ", ",
+                        schema.getLastEntityId().getUid(), "L);");
+            }
+            if (schema.getLastIndexId() != null) {
+                println("        modelBuilder.lastIndexId(", schema.getLastIndexId().getId(), ", ",
+                        schema.getLastIndexId().getUid(), "L);");
+            }
+            if (schema.getLastRelationId() != null) {
+                println("        modelBuilder.lastRelationId(", schema.getLastRelationId().getId(), ", ",
+                        schema.getLastRelationId().getUid(), "L);");
+            }
+            println();
+            for (Entity entity : schema.getEntities()) {
+                println("        buildEntity", entity.getClassName(), "(modelBuilder);");
+            }
+            println();
+            println("        return modelBuilder.build();");
+            println("    }");
+            println();
+            for (Entity entity : schema.getEntities()) {
+                buildEntityMethod(entity);
+            }
+        }
+        println();
+        println("}");
+    }
+
+    private void buildEntityMethod(Entity entity) throws IOException {
+        println("    private static void buildEntity", entity.getClassName(), "(ModelBuilder modelBuilder) {");
+        println("        EntityBuilder entityBuilder = modelBuilder.entity(\"", entity.getDbName(), "\");");
+        if (entity.getExternalName() != null) {
+            println("        entityBuilder.externalName(\"", entity.getExternalName(), "\");");
+        }
+        if (entity.getModelId() != null) {
+            print("        entityBuilder.id(", entity.getModelId(), ", ", entity.getModelUid(), "L)");
+            if (entity.getLastPropertyId() != null) {
+                print(".lastPropertyId(", entity.getLastPropertyId().getId(), ", ",
+                        entity.getLastPropertyId().getUid(), "L)");
+            }
+            println(";");
+        }
+        Set<String> entityFlags = entity.getEntityFlagsNames();
+        if (!entityFlags.isEmpty()) {
+            println("        entityBuilder.flags(", String.join(" | ", entityFlags), ");");
+        }
+        println();
+        for (Property property : entity.getPropertiesColumns()) {
+            // Each builder call on a new line
+            print("        entityBuilder.property(\"", property.getDbName(), "\", ");
+            if (property.getTargetEntity() != null) {
+                print("\"", property.getTargetEntity().getDbName(), "\", ");
+                if (property.getVirtualTargetName() != null) {
+                    print("\"", property.getVirtualTargetName(), "\", ");
+                }
+            }
+            print("PropertyType.", property.getDbType(), ")");
+            if (!property.getPropertyName().equals(property.getDbName())) {
+                print("\n                .secondaryName(\"", property.getPropertyName(), "\")");
+            }
+            if (property.getModelId() != null) {
+                print("\n                .id(", property.getModelId().getId(), ", ", property.getModelId().getUid(), "L)");
+            }
+            Set<String> propertyFlags = property.getPropertyFlagsForGeneratedCode();
+            if (!propertyFlags.isEmpty()) {
+                print("\n                .flags(", String.join(" | ", propertyFlags), ")");
+            }
+            if (property.getIndex() != null && property.getIndex().getMaxValueLength() > 0) {
+                print("\n                .indexMaxValueLength(", property.getIndex().getMaxValueLength(), ")");
+            }
+            if (property.getModelIndexId() != null) {
+                print("\n                .indexId(", property.getModelIndexId().getId(), ", ",
+                        property.getModelIndexId().getUid(), "L)");
+            }
+            if (property.getExternalName() != null) {
+                print("\n                .externalName(\"", property.getExternalName(), "\")");
+            }
+            if (property.getExternalTypeExpression() != null) {
+                print("                \n                ", property.getExternalTypeExpression());
+            }
+            if (property.hasHnswParams()) {
+                print("\n                ", property.getHnswParamsExpression());
+            }
+            println(";");
+        }
+        if (!entity.getToManyRelations().isEmpty()) {
+            println();
+            for (ToManyBase toMany : entity.getToManyRelations()) {
+                if (toMany instanceof ToManyStandalone && ((ToManyStandalone) toMany).getModelId() != null) {
+                    ToManyStandalone standalone = (ToManyStandalone) toMany;
+                    Entity target = toMany.getTargetEntity();
+                    print("        entityBuilder.relation(\"", standalone.getDbName(), "\", ",
+                            standalone.getModelId().getId(), ", ", standalone.getModelId().getUid(), "L, ",
+                            target.getModelId(), ", ", target.getModelUid(), "L)");
+                    if (standalone.getExternalName() != null) {
+                        print("\n                .externalName(\"", standalone.getExternalName(), "\")");
+                    }
+                    if (standalone.getExternalTypeExpression() != null) {
+                        print("\n                ", standalone.getExternalTypeExpression());
+                    }
+                    println(";");
+                }
+            }
+        }
+        println();
+        println("        entityBuilder.entityDone();");
+        println("    }");
+        println();
+    }
+
+    private static ToOne targetToOne(ToManyBase toMany) {
+        return toMany instanceof ToManyByBacklink ? ((ToManyByBacklink) toMany).getTargetToOne() : null;
+    }
+
+    private static ToManyStandalone targetToMany(ToManyBase toMany) {
+        return toMany instanceof ToManyByBacklink ? ((ToManyByBacklink) toMany).getTargetToMany() : null;
+    }
+
+    /** A to-one or to-many getter of an accessor class, see {@link #groupRelationGetters}. */
+    private static final class RelationGetter {
+        final int relation;
+        final boolean toOne;
+        final String source;
+        final String target;
+        final String valueExpression;
+
+        RelationGetter(int relation, boolean toOne, String source, String target, String valueExpression) {
+            this.relation = relation;
+            this.toOne = toOne;
+            this.source = source;
+            this.target = target;
+            this.valueExpression = valueExpression;
+        }
+
+        String interfaceType() {
+            return (toOne ? "ToOneGetter<" : "ToManyGetter<") + source + ", " + target + ">";
+        }
+    }
+
+    private static boolean hasContent(String value) {
+        return value != null && !value.isEmpty();
+    }
+}
@@ -80,9 +80,31 @@ class IdSync(private val jsonFile: File = File("objectmodel.json")) {
     // Use IdentityHashMap here to avoid collisions (e.g. same name)
     private val entitiesBySchemaEntity = IdentityHashMap<io.objectbox.generator.model.Entity, Entity>()
 
+    // Lookups of properties and relations of entities read from the model file, built on first use
+    private val lookupsByEntityRead = IdentityHashMap<Entity, EntityLookups>()
+
     // Use IdentityHashMap here to avoid collisions (e.g. same name)
     private val propertiesBySchemaProperty = IdentityHashMap<io.objectbox.generator.model.Property, Property>()
 
+    /**
+     * Properties and relations of an entity read from the model file by UID and by lower case name.
+     * Lists to keep detecting duplicates.
+     */
+    private class EntityLookups(entity: Entity) {
+        val propertiesByUid: Map<Long, List<Property>> = entity.properties.groupBy { it.uid }
+        val propertiesByName: Map<String, List<Property>> =
+            entity.properties.groupBy { it.name.lowercase(Locale.getDefault()) }
+
+        @Suppress("UNNECESSARY_SAFE_CALL") // read from JSON
+        val relationsByUid: Map<Long, List<Relation>> = entity.relations?.groupBy { it.uid } ?: emptyMap()
+
+        @Suppress("UNNECESSARY_SAFE_CALL") // read from JSON
+        val relationsByName: Map<String, List<Relation>> =
+            entity.relations?.groupBy { it.name.lowercase(Locale.getDefault()) } ?: emptyMap()
+    }
+
+    private fun lookupsOf(entity: Entity) = lookupsByEntityRead.getOrPut(entity) { EntityLookups(entity) }
+
     companion object {
         const val MIN_VERSION = 2
         const val MAX_VERSION = IdSyncModel.MODEL_VERSION
@@ -205,7 +227,11 @@ class IdSync(private val jsonFile: File = File("objectmodel.json")) {
         }
     }
 
-    fun sync(schema: Schema) {
+    /**
+     * Assigns IDs to the finished [schema] and updates the model file. If [modelFingerprints], also sets the model
+     * fingerprints of the schema and its entities, see [ModelFingerprint].
+     */
+    fun sync(schema: Schema, modelFingerprints: Boolean = false) {
         if (!schema.isFinished) {
             throw IllegalStateException("Must call schema.finish() first")
         }
@@ -224,7 +250,14 @@ class IdSync(private val jsonFile: File = File("objectmodel.json")) {
             }.sortedBy { it.id.id }
 
             updateRetiredUids(entities)
-            writeModel(entities)
+            val model = writeModel(entities)
+
+            if (modelFingerprints) {
+                schema.modelFingerprint = ModelFingerprint.of(model)
+                entitiesBySchemaEntity.forEach { (schemaEntity, entity) ->
+                    schemaEntity.modelFingerprint = ModelFingerprint.of(entity)
+                }
+            }
         } catch (e: Throwable) {
             if (e is IdSyncPrintUidException) {
                 try {
@@ -341,8 +374,17 @@ class IdSync(private val jsonFile: File = File("objectmodel.json")) {
         lastPropertyId: IdUid
     ): ArrayList<Property> {
         val properties = ArrayList<Property>()
+        // Check entity for indexes as Property.index is only auto-set for to-ones
+        val indexedProperties =
+            Collections.newSetFromMap(IdentityHashMap<io.objectbox.generator.model.Property, Boolean>())
+        schemaEntity.indexes
+            .filter { it.properties.size == 1 }
+            .forEach { indexedProperties.add(it.properties[0]) }
         for (parsedProperty in schemaEntity.properties) {
-            val property = syncProperty(existingEntity, schemaEntity, parsedProperty, lastPropertyId)
+            val property = syncProperty(
+                existingEntity, schemaEntity, parsedProperty, indexedProperties.contains(parsedProperty),
+                lastPropertyId
+            )
             if (property.modelId > lastPropertyId.id) {
                 lastPropertyId.set(property.id)
             }
@@ -354,7 +396,7 @@ class IdSync(private val jsonFile: File = File("objectmodel.json")) {
 
     private fun syncProperty(
         existingEntity: Entity?, schemaEntity: io.objectbox.generator.model.Entity,
-        schemaProperty: io.objectbox.generator.model.Property, lastPropertyId: IdUid
+        schemaProperty: io.objectbox.generator.model.Property, hasIndex: Boolean, lastPropertyId: IdUid
     ): Property {
         val name = schemaProperty.dbName ?: schemaProperty.propertyName
         val propertyUid: Long? = schemaProperty.modelId?.uid
@@ -380,9 +422,7 @@ class IdSync(private val jsonFile: File = File("objectmodel.json")) {
         }
 
         var sourceIndexId: IdUid? = null
-        // check entity for index as Property.index is only auto-set for to-ones
-        val index = schemaEntity.indexes.find { it.properties.size == 1 && it.properties[0] == schemaProperty }
-        if (index != null) {
+        if (hasIndex) {
             sourceIndexId = existingProperty?.indexId ?: lastIndexId.incId(uidHelper.create())
         }
 
@@ -509,7 +549,7 @@ class IdSync(private val jsonFile: File = File("objectmodel.json")) {
 
     fun findProperty(entity: Entity, name: String, uid: Long?): Property? {
         if (uid != null && uid != 0L && uid != -1L) {
-            val filtered = entity.properties.filter { it.uid == uid }
+            val filtered = lookupsOf(entity).propertiesByUid[uid].orEmpty()
             if (filtered.isEmpty()) {
                 if (newUidPool.contains(uid)) {
                     return null
@@ -520,7 +560,7 @@ class IdSync(private val jsonFile: File = File("objectmodel.json")) {
             return filtered.first()
         } else {
             val nameLowerCase = name.lowercase(Locale.getDefault())
-            val filtered = entity.properties.filter { it.name.lowercase(Locale.getDefault()) == nameLowerCase }
+            val filtered = lookupsOf(entity).propertiesByName[nameLowerCase].orEmpty()
             check(filtered.size <= 1) { "size: ${filtered.size} property name: $name, UID: $uid" }
             return if (filtered.isNotEmpty()) filtered.first() else null
         }
@@ -529,7 +569,7 @@ class IdSync(private val jsonFile: File = File("objectmodel.json")) {
     private fun findRelation(entity: Entity, name: String, uid: Long?): Relation? {
         if (entity.relations == null) return null
         if (uid != null && uid != 0L && uid != -1L) {
-            val filtered = entity.relations.filter { it.uid == uid }
+            val filtered = lookupsOf(entity).relationsByUid[uid].orEmpty()
             if (filtered.isEmpty()) {
                 if (newUidPool.contains(uid)) {
                     return null
@@ -540,27 +580,28 @@ class IdSync(private val jsonFile: File = File("objectmodel.json")) {
             return filtered.first()
         } else {
             val nameLowerCase = name.lowercase(Locale.getDefault())
-            val filtered = entity.relations.filter { it.name.lowercase(Locale.getDefault()) == nameLowerCase }
+            val filtered = lookupsOf(entity).relationsByName[nameLowerCase].orEmpty()
             check(filtered.size <= 1) { "size: ${filtered.size} relation name: $name, UID: $uid" }
             return if (filtered.isNotEmpty()) filtered.first() else null
         }
     }
 
     private fun updateRetiredUids(entities: List<Entity>) {
+        // Note: remove using hash sets, removing a list from a list is quadratic.
         val oldEntityUids = entitiesReadByUid.keys.toMutableList()
-        oldEntityUids.removeAll(entities.map { it.uid })
+        oldEntityUids.removeAll(entities.map { it.uid }.toHashSet())
         retiredEntityUids.addAll(oldEntityUids)
 
         val oldPropertyUids = collectPropertyUids(entitiesReadByUid.values)
         val newPropertyUids = collectPropertyUids(entities)
 
-        oldPropertyUids.first.removeAll(newPropertyUids.first)
+        oldPropertyUids.first.removeAll(newPropertyUids.first.toHashSet())
         retiredPropertyUids.addAll(oldPropertyUids.first)
 
-        oldPropertyUids.second.removeAll(newPropertyUids.second)
+        oldPropertyUids.second.removeAll(newPropertyUids.second.toHashSet())
         retiredIndexUids.addAll(oldPropertyUids.second)
 
-        oldPropertyUids.third.removeAll(newPropertyUids.third)
+        oldPropertyUids.third.removeAll(newPropertyUids.third.toHashSet())
         retiredRelationUids.addAll(oldPropertyUids.third)
     }
 
@@ -583,7 +624,7 @@ class IdSync(private val jsonFile: File = File("objectmodel.json")) {
         return Triple(propertyUids, indexUids, relationUids)
     }
 
-    private fun writeModel(entities: List<Entity>) {
+    private fun writeModel(entities: List<Entity>): IdSyncModel {
         val model = IdSyncModel(
             version = 1, // User-version
             modelVersion = IdSyncModel.MODEL_VERSION,
@@ -602,6 +643,7 @@ class IdSync(private val jsonFile: File = File("objectmodel.json")) {
         writeModel(model)
         // Paranoia check, that synced model is OK (do this after writing because that's what the user sees)
         validateIds(model)
+        return model
     }
 
     private fun writeModel(model: IdSyncModel) {
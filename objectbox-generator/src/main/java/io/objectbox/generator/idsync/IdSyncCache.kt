@@ -0,0 +1,293 @@
+/*
+ * ObjectBox Build Tools
+ * Copyright (C) 2025 ObjectBox Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.objectbox.generator.idsync
+
+import io.objectbox.generator.IdUid
+import io.objectbox.generator.model.Entity
+import io.objectbox.generator.model.Property
+import io.objectbox.generator.model.Schema
+import io.objectbox.generator.model.ToManyStandalone
+import org.greenrobot.essentials.hash.Murmur3F
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.File
+import java.io.IOException
+import java.nio.file.AtomicMoveNotSupportedException
+import java.nio.file.Files
+import java.nio.file.StandardCopyOption
+import java.util.Collections
+import java.util.IdentityHashMap
+
+/**
+ * Caches the IDs [IdSync] assigned to a schema in [cacheFile], together with a fingerprint of everything IdSync reads
+ * from the parsed schema and a hash of the model file after syncing.
+ *
+ * If on the next build neither the parsed schema nor the model file changed, syncing would assign the same IDs and
+ * leave the model file unchanged. So [applyIfUnchanged] then just applies the cached IDs to the schema, skipping
+ * reading, validating and writing the model file.
+ *
+ * Use once per schema: call [applyIfUnchanged] before syncing, if it returns false sync and then call [store].
+ *
+ * Set [modelFingerprints] like when syncing, so cached IDs are only applied if they were synced with the same setting.
+ */
+class IdSyncCache(
+    private val modelFile: File,
+    private val cacheFile: File,
+    private val modelFingerprints: Boolean = false
+) {
+
+    companion object {
+        /** Increase if the file format or what affects syncing changes, to not apply outdated cache files. */
+        private const val FORMAT_VERSION = 2
+
+        /**
+         * Returns the name of the cache file for the given model file, which includes a hash of its path so
+         * compilations using different model files do not replace each other's cache file.
+         */
+        fun fileNameFor(modelFile: File): String {
+            val murmur = Murmur3F()
+            murmur.update(modelFile.absoluteFile.normalize().path.toByteArray())
+            return "idsync-cache-${modelFile.nameWithoutExtension}-${murmur.valueHexString}.bin"
+        }
+    }
+
+    private var inputFingerprint: Long? = null
+
+    /**
+     * If the given finished, not yet synced schema and the model file did not change since the cache file was
+     * stored, applies the cached IDs to the schema and returns true. Otherwise, returns false and the schema must be
+     * synced using [IdSync].
+     */
+    fun applyIfUnchanged(schema: Schema): Boolean {
+        if (!schema.isFinished) {
+            throw IllegalStateException("Must call schema.finish() first")
+        }
+        val inputFingerprint = fingerprintOf(schema)
+        this.inputFingerprint = inputFingerprint
+
+        if (!cacheFile.isFile || !modelFile.isFile) return false
+        return try {
+            DataInputStream(cacheFile.inputStream().buffered()).use { input ->
+                if (input.readInt() != FORMAT_VERSION
+                    || input.readLong() != inputFingerprint
+                    || input.readLong() != hashOf(modelFile)) {
+                    false
+                } else {
+                    readIds(input, schema)
+                    log("ID model file unchanged: ${modelFile.name} (applied cached IDs)")
+                    true
+                }
+            }
+        } catch (e: IOException) {
+            false // Like a truncated file, just sync again.
+        }
+    }
+
+    /**
+     * Stores the IDs of the given schema after it was synced using [IdSync], so the next build can re-use them if
+     * nothing changed. Failing to write the cache file is not an error as the next build then syncs again.
+     */
+    fun store(schema: Schema) {
+        val inputFingerprint = inputFingerprint
+            ?: throw IllegalStateException("Must call applyIfUnchanged() before syncing")
+        // Write to a temporary file first and then replace the cache file, so a concurrent compilation never reads a
+        // partially written file.
+        var tempFile: File? = null
+        try {
+            val directory = cacheFile.absoluteFile.parentFile
+            directory.mkdirs()
+            tempFile = File.createTempFile(cacheFile.name, ".tmp", directory)
+            DataOutputStream(tempFile.outputStream().buffered()).use { output ->
+                output.writeInt(FORMAT_VERSION)
+                output.writeLong(inputFingerprint)
+                output.writeLong(hashOf(modelFile))
+                writeIds(output, schema)
+            }
+            try {
+                Files.move(
+                    tempFile.toPath(), cacheFile.toPath(),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING
+                )
+            } catch (e: AtomicMoveNotSupportedException) {
+                Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING)
+            }
+        } catch (e: IOException) {
+            tempFile?.delete() // Do not leave a partially written file.
+            log("Could not write ID sync cache file ${cacheFile.absolutePath}: $e")
+        }
+    }
+
+    // Write and read in the order of the parsed schema: as its fingerprint matches, so does its structure.
+
+    private fun writeIds(output: DataOutputStream, schema: Schema) {
+        output.writeIdUid(schema.lastEntityId)
+        output.writeIdUid(schema.lastIndexId)
+        output.writeIdUid(schema.lastRelationId)
+        output.writeNullableLong(schema.modelFingerprint)
+        for (entity in schema.entities) {
+            output.writeInt(entity.modelId!!)
+            output.writeLong(entity.modelUid!!)
+            output.writeIdUid(entity.lastPropertyId)
+            output.writeNullableLong(entity.modelFingerprint)
+            for (property in entity.properties) {
+                output.writeIdUid(property.modelId)
+                output.writeBoolean(property.modelIndexId != null)
+                property.modelIndexId?.let { output.writeIdUid(it) }
+            }
+            for (relation in entity.standaloneRelations()) {
+                output.writeIdUid(relation.modelId!!)
+            }
+        }
+    }
+
+    private fun readIds(input: DataInputStream, schema: Schema) {
+        // Read all before applying, to not apply some IDs if the file is truncated.
+        val lastEntityId = input.readIdUid()
+        val lastIndexId = input.readIdUid()
+        val lastRelationId = input.readIdUid()
+        val modelFingerprint = input.readNullableLong()
+        val applyToEntities = ArrayList<() -> Unit>(schema.entities.size)
+        for (entity in schema.entities) {
+            val entityId = input.readInt()
+            val entityUid = input.readLong()
+            val lastPropertyId = input.readIdUid()
+            val entityFingerprint = input.readNullableLong()
+            val propertyIds = entity.properties.map {
+                val id = input.readIdUid()
+                val indexId = if (input.readBoolean()) input.readIdUid() else null
+                Pair(id, indexId)
+            }
+            val relations = entity.standaloneRelations()
+            val relationIds = relations.map { input.readIdUid() }
+            applyToEntities += {
+                entity.modelId = entityId
+                entity.modelUid = entityUid
+                entity.lastPropertyId = lastPropertyId
+                entity.modelFingerprint = entityFingerprint
+                entity.properties.forEachIndexed { index, property ->
+                    property.modelId = propertyIds[index].first
+                    property.modelIndexId = propertyIds[index].second
+                }
+                relations.forEachIndexed { index, relation -> relation.modelId = relationIds[index] }
+            }
+        }
+        if (input.read() != -1) throw IOException("Unexpected data at end of file")
+
+        applyToEntities.forEach { it() }
+        schema.lastEntityId = lastEntityId
+        schema.lastIndexId = lastIndexId
+        schema.lastRelationId = lastRelationId
+        schema.modelFingerprint = modelFingerprint
+    }
+
+    private fun DataOutputStream.writeIdUid(idUid: IdUid) {
+        writeInt(idUid.id)
+        writeLong(idUid.uid)
+    }
+
+    private fun DataInputStream.readIdUid() = IdUid(readInt(), readLong())
+
+    private fun DataOutputStream.writeNullableLong(value: Long?) {
+        writeBoolean(value != null)
+        value?.let { writeLong(it) }
+    }
+
+    private fun DataInputStream.readNullableLong() = if (readBoolean()) readLong() else null
+
+    private fun Entity.standaloneRelations() = toManyRelations.filterIsInstance<ToManyStandalone>()
+
+    private fun hashOf(file: File): Long {
+        val murmur = Murmur3F()
+        murmur.update(file.readBytes())
+        return murmur.value
+    }
+
+    /**
+     * Fingerprint of everything [IdSync] reads from the parsed schema: names, parsed UIDs, types, flags, indexes and
+     * relations, in schema order. Must be computed before syncing, which sets the IDs.
+     */
+    private fun fingerprintOf(schema: Schema): Long {
+        val murmur = Murmur3F()
+        murmur.updateLongLE(FORMAT_VERSION.toLong())
+        murmur.updateLongLE(IdSyncModel.MODEL_VERSION)
+        murmur.updateLongLE(if (modelFingerprints) 1 else 0)
+        murmur.updateLongLE(schema.entities.size.toLong())
+        for (entity in schema.entities) {
+            murmur.update(entity.dbName ?: entity.className)
+            murmur.update(entity.javaPackage)
+            murmur.update(entity.modelUid)
+            murmur.update(entity.externalName)
+            murmur.update(entity.entityFlagsForModelFile?.toLong())
+
+            val indexedProperties = Collections.newSetFromMap(IdentityHashMap<Property, Boolean>())
+            entity.indexes
+                .filter { it.properties.size == 1 }
+                .forEach { indexedProperties.add(it.properties[0]) }
+            murmur.updateLongLE(entity.properties.size.toLong())
+            for (property in entity.properties) {
+                murmur.update(property.dbName ?: property.propertyName)
+                murmur.update(property.propertyName)
+                murmur.update(property.modelId?.uid)
+                murmur.update(property.dbTypeId?.toLong())
+                murmur.update(property.externalName)
+                murmur.update(property.externalTypeId?.toLong())
+                murmur.update(property.propertyFlagsForModelFile?.toLong())
+                murmur.update(property.targetEntity?.dbName)
+                murmur.update(if (indexedProperties.contains(property)) 1L else 0L)
+            }
+
+            val relations = entity.standaloneRelations()
+            murmur.updateLongLE(relations.size.toLong())
+            for (relation in relations) {
+                murmur.update(relation.dbName)
+                murmur.update(relation.name)
+                murmur.update(relation.modelId?.uid)
+                murmur.update(relation.externalName)
+                murmur.update(relation.externalTypeId?.toLong())
+                murmur.update(relation.targetEntity.dbName ?: relation.targetEntity.className)
+            }
+        }
+        return murmur.value
+    }
+
+    // Like ModelFingerprint, prefix each value with a marker so a missing value can not collide with a present one.
+
+    private fun Murmur3F.update(value: Long?) {
+        updateLongLE(if (value != null) 1 else 0)
+        if (value != null) updateLongLE(value)
+    }
+
+    private fun Murmur3F.update(value: String?) {
+        updateLongLE(if (value != null) 1 else 0)
+        if (value != null) {
+            val stringMurmur = Murmur3F()
+            stringMurmur.update(value.toByteArray(Charsets.UTF_8))
+            updateLongLE(stringMurmur.value)
+            updateLongLE(stringMurmur.valueHigh)
+        }
+    }
+
+    /**
+     * Creates a Gradle log message pre-fixed with "`[ObjectBox]`".
+     */
+    private fun log(message: String) {
+        println("[ObjectBox] $message")
+    }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * ObjectBox Build Tools
+ * Copyright (C) 2025 ObjectBox Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.objectbox.generator.idsync
+
+import io.objectbox.generator.IdUid
+import org.greenrobot.essentials.hash.Murmur3F
+
+/**
+ * Computes stable fingerprints of a synced [IdSyncModel]: the same IDs, names, types and flags always result
+ * in the same fingerprint, independent of the order of properties or relations in the model file.
+ *
+ * Meant for the runtime to compare against the fingerprints of the model of an opened store to skip verifying
+ * the model or property IDs if they match. No released ObjectBox library reads them yet, so they are only computed
+ * and generated if enabled, see [IdSync.sync].
+ */
+object ModelFingerprint {
+
+    /**
+     * Fingerprint of the whole model, including all entities, the last IDs and all UIDs.
+     */
+    fun of(model: IdSyncModel): Long {
+        val murmur = Murmur3F()
+        murmur.update(model.lastEntityId, withUid = true)
+        murmur.update(model.lastIndexId, withUid = true)
+        murmur.update(model.lastRelationId, withUid = true)
+        model.entities.sortedBy { it.id.id }.forEach { murmur.update(it, withUids = true) }
+        return murmur.value
+    }
+
+    /**
+     * Fingerprint of a single entity including its properties and relations. Does not include UIDs, these only
+     * matter when the whole model is verified (see the model variant of this).
+     */
+    fun of(entity: Entity): Long {
+        val murmur = Murmur3F()
+        murmur.update(entity, withUids = false)
+        return murmur.value
+    }
+
+    private fun Murmur3F.update(entity: Entity, withUids: Boolean) {
+        update(entity.id, withUids)
+        update(entity.lastPropertyId, withUids)
+        update(entity.name)
+        update(entity.externalName)
+        update(entity.flags)
+        entity.properties.sortedBy { it.id.id }.forEach {
+            update(it.id, withUids)
+            update(it.name)
+            update(it.indexId, withUids)
+            update(it.type)
+            update(it.externalName)
+            update(it.externalType)
+            update(it.flags)
+            update(it.relationTarget)
+        }
+        @Suppress("UNNECESSARY_SAFE_CALL") // read from JSON
+        entity.relations?.sortedBy { it.id.id }?.forEach {
+            update(it.id, withUids)
+            update(it.name)
+            update(it.externalName)
+            update(it.externalType)
+            update(it.targetId, withUids)
+        }
+    }
+
+    // Each value is prefixed with a marker, so a missing value can not collide with any present value.
+    // Only update with longs as Murmur3F does not support mixing them with other alignments.
+
+    private fun Murmur3F.update(idUid: IdUid?, withUid: Boolean) {
+        updateLongLE(if (idUid != null) 1 else 0)
+        if (idUid != null) {
+            updateLongLE(idUid.id.toLong())
+            if (withUid) updateLongLE(idUid.uid)
+        }
+    }
+
+    private fun Murmur3F.update(value: Int?) {
+        updateLongLE(if (value != null) 1 else 0)
+        if (value != null) updateLongLE(value.toLong())
+    }
+
+    private fun Murmur3F.update(value: String?) {
+        updateLongLE(if (value != null) 1 else 0)
+        if (value != null) {
+            val stringMurmur = Murmur3F()
+            stringMurmur.update(value.toByteArray(Charsets.UTF_8))
+            updateLongLE(stringMurmur.value)
+            updateLongLE(stringMurmur.valueHigh)
+        }
+    }
+
+}
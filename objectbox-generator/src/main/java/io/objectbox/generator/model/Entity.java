@@ -46,6 +46,7 @@ public class Entity implements HasParsedElement {
     private Integer modelId;
     private Long modelUid;
     private IdUid lastPropertyId;
+    private Long modelFingerprint;
     private final List<Property> properties;
     private List<Property> propertiesColumns;
     private final List<Property> propertiesPk;
@@ -66,6 +67,7 @@ public class Entity implements HasParsedElement {
     private String classNameDao;
     private String javaPackage;
     private String javaPackageDao;
+    private String binaryClassName;
     private Property pkProperty;
     private String pkType;
 
@@ -122,6 +124,20 @@ public class Entity implements HasParsedElement {
         return this;
     }
 
+    /**
+     * Fingerprint of the synced model of this entity, see {@link io.objectbox.generator.idsync.ModelFingerprint}.
+     * Null if the model was not synced.
+     */
+    @Nullable
+    public Long getModelFingerprint() {
+        return modelFingerprint;
+    }
+
+    public Entity setModelFingerprint(Long modelFingerprint) {
+        this.modelFingerprint = modelFingerprint;
+        return this;
+    }
+
     public Property.PropertyBuilder addProperty(PropertyType propertyType, String propertyName) throws ModelException {
         Property.PropertyBuilder builder = new Property.PropertyBuilder(schema, this, propertyType, propertyName);
         Property property = builder.getProperty();
@@ -238,6 +254,15 @@ public class Entity implements HasParsedElement {
         this.javaPackage = javaPackage;
     }
 
+    /** The binary name of the entity class (e.g. com.example.Outer$Inner), if set by the parser. */
+    public String getBinaryClassName() {
+        return binaryClassName;
+    }
+
+    public void setBinaryClassName(String binaryClassName) {
+        this.binaryClassName = binaryClassName;
+    }
+
     public String getJavaPackageDao() {
         return javaPackageDao;
     }
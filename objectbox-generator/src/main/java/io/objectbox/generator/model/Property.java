@@ -262,6 +262,9 @@ public class Property implements HasParsedElement {
 
     private Object parsedElement;
 
+    /** The binary name of the class declaring the field of this property, may be a super class of the entity. */
+    private String declaringClassName;
+
     private Integer propertyFlagsModelFile;
     private Set<String> propertyFlagsGeneratedCode;
 
@@ -627,6 +630,14 @@ public class Property implements HasParsedElement {
         this.parsedElement = parsedElement;
     }
 
+    public String getDeclaringClassName() {
+        return declaringClassName;
+    }
+
+    public void setDeclaringClassName(String declaringClassName) {
+        this.declaringClassName = declaringClassName;
+    }
+
     /**
      * Based on this properties attributes computes required {@link PropertyFlags}.
      *
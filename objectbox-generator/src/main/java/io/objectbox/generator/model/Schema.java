@@ -21,9 +21,12 @@ package io.objectbox.generator.model;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.annotation.Nullable;
+
 import io.objectbox.generator.IdUid;
 import io.objectbox.generator.TextUtil;
 
@@ -37,12 +40,14 @@ public class Schema {
     private final String defaultJavaPackage;
     private String defaultJavaPackageDao;
     private final List<Entity> entities;
+    private final Map<String, Entity> entitiesByClassName;
     private Map<PropertyType, Mapping> propertyTypeMapping;
     private final String name;
     private final String prefix;
     private IdUid lastEntityId;
     private IdUid lastIndexId;
     private IdUid lastRelationId;
+    private Long modelFingerprint;
     private boolean isFinished;
 
     public Schema(String name, int version, String defaultJavaPackage) {
@@ -51,6 +56,7 @@ public class Schema {
         this.version = version;
         this.defaultJavaPackage = defaultJavaPackage;
         this.entities = new ArrayList<>();
+        this.entitiesByClassName = new HashMap<>();
         initTypeMappings();
     }
 
@@ -127,9 +133,18 @@ public class Schema {
     public Entity addEntity(String className) {
         Entity entity = new Entity(this, className);
         entities.add(entity);
+        entitiesByClassName.putIfAbsent(className, entity);
         return entity;
     }
 
+    /**
+     * Returns the first entity added with the given class name (without package), or null if there is none.
+     */
+    @Nullable
+    public Entity findEntityByClassName(String className) {
+        return entitiesByClassName.get(className);
+    }
+
     public String mapToDbType(PropertyType propertyType) {
         return mapType(propertyTypeMapping, propertyType).dbType;
     }
@@ -202,6 +217,19 @@ public class Schema {
         this.lastRelationId = lastRelationId;
     }
 
+    /**
+     * Fingerprint of the synced model, see {@link io.objectbox.generator.idsync.ModelFingerprint}.
+     * Null if the model was not synced.
+     */
+    @Nullable
+    public Long getModelFingerprint() {
+        return modelFingerprint;
+    }
+
+    public void setModelFingerprint(Long modelFingerprint) {
+        this.modelFingerprint = modelFingerprint;
+    }
+
     public boolean isFinished() {
         return isFinished;
     }
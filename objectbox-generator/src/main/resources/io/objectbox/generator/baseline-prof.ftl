@@ -0,0 +1,40 @@
+<#--
+
+ObjectBox Build Tools
+Copyright (C) 2025 ObjectBox Ltd.
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU Affero General Public License as published
+by the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU Affero General Public License for more details.
+
+You should have received a copy of the GNU Affero General Public License
+along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+-->
+<#--
+Android Baseline Profile rules for the generated classes, see https://developer.android.com/topic/performance/baselineprofiles.
+Each generated class is listed to be loaded at startup and all of its methods (including static initializers,
+constructors and nested classes like getters and the cursor factory) to be compiled ahead of time.
+Written to META-INF/objectbox/baseline-prof of the class output, for Android the Gradle plugin adds it to the baseline
+profile sources of each variant.
+-->
+<#-- @ftlvariable name="schema" type="io.objectbox.generator.model.Schema" -->
+<#-- @ftlvariable name="myObjectBoxClassName" type="java.lang.String" -->
+<#function typeName javaPackage className><#return (javaPackage?has_content)?then(javaPackage?replace(".", "/") + "/", "") + className></#function>
+<#macro classRules type>
+L${type};
+HSPL${type};->**(**)**
+HSPL${type}$*;->**(**)**
+</#macro>
+# THIS FILE IS GENERATED BY ObjectBox, DO NOT EDIT. It is overwritten on each build.
+<@classRules typeName(schema.defaultJavaPackageDao, myObjectBoxClassName)/>
+<#list schema.entities as entity>
+<@classRules typeName(entity.javaPackageDao, entity.classNameDao)/>
+<@classRules typeName(entity.javaPackageDao, entity.className + "_")/>
+</#list>
@@ -0,0 +1,30 @@
+<#--
+
+ObjectBox Build Tools
+Copyright (C) 2025 ObjectBox Ltd.
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU Affero General Public License as published
+by the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU Affero General Public License for more details.
+
+You should have received a copy of the GNU Affero General Public License
+along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+-->
+<#-- @ftlvariable name="keepMembers" type="java.util.Map<String, java.util.Set<String>>" -->
+# THIS FILE IS GENERATED BY ObjectBox, DO NOT EDIT.
+# Keeps the constructors and fields of entity classes used by native code.
+
+<#list keepMembers as className, members>
+-keepclassmembers class ${className} {
+<#list members as member>
+    ${member}
+</#list>
+}
+</#list>
@@ -23,6 +23,22 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.File;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.processing.Filer;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
 
 import io.objectbox.generator.model.Entity;
 import io.objectbox.generator.model.Index;
@@ -37,6 +53,25 @@ import static org.junit.Assert.*;
 @SuppressWarnings("ResultOfMethodCallIgnored")
 public class SimpleBoxGeneratorTest {
 
+    @Test
+    public void testTemplatesParsedOnce() throws Exception {
+        BoxGenerator.resetTemplateCache();
+        assertNull(BoxGenerator.getCachedTemplates());
+
+        new BoxGenerator();
+        BoxGenerator.Templates templates = BoxGenerator.getCachedTemplates();
+        assertNotNull(templates);
+        new BoxGenerator();
+        assertSame(templates, BoxGenerator.getCachedTemplates());
+
+        // After reset templates are parsed again
+        BoxGenerator.resetTemplateCache();
+        new BoxGenerator();
+        assertNotNull(BoxGenerator.getCachedTemplates());
+        assertNotSame(templates, BoxGenerator.getCachedTemplates());
+        assertNotSame(templates.dao, BoxGenerator.getCachedTemplates().dao);
+    }
+
     @Test
     public void testMinimalSchema() throws Exception {
         Schema schema = new Schema(1, "io.objectbox.test.minimalbox");
@@ -77,6 +112,80 @@ public class SimpleBoxGeneratorTest {
         assertContains(propertiesContent, "getAllProperties()");
     }
 
+    /**
+     * Generates a synthetic schema of 1000 entities sequentially and in parallel, asserts the files are the same.
+     */
+    @Test
+    public void testParallelGeneration() throws Exception {
+        Schema schema = createSchemaWithManyEntities("io.objectbox.test.parallel");
+
+        File outputDirSequential = new File("build/test-out/parallel-sequential");
+        File outputDirParallel = new File("build/test-out/parallel-parallel");
+        outputDirSequential.mkdirs();
+        outputDirParallel.mkdirs();
+        new BoxGenerator().generateAll(jobForFileForceExists(schema, outputDirSequential));
+
+        GeneratorJob job = jobForFileForceExists(schema, outputDirParallel);
+        job.setGeneratorThreads(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        new BoxGenerator().generateAll(job);
+
+        File packageDirSequential = new File(outputDirSequential, "io/objectbox/test/parallel");
+        String[] fileNames = packageDirSequential.list();
+        assertNotNull(fileNames);
+        assertEquals(2001, fileNames.length); // Cursor and EntityInfo for each entity, MyObjectBox
+        for (String fileName : fileNames) {
+            assertEquals(fileName,
+                    FileUtils.readUtf8(new File(packageDirSequential, fileName)),
+                    FileUtils.readUtf8(new File(outputDirParallel, "io/objectbox/test/parallel/" + fileName)));
+        }
+    }
+
+    /**
+     * IDs and UIDs are written as plain numbers, e.g. without grouping separators.
+     */
+    @Test
+    public void testLargeIds() throws Exception {
+        Schema schema = new Schema(1, "io.objectbox.test.largeids");
+        schema.setLastEntityId(new IdUid(1234, 1234567890123L));
+        Entity entity = schema.addEntity("LargeIds");
+        entity.setModelId(1234).setModelUid(1234567890123L).setLastPropertyId(new IdUid(5678, 2345678901234L));
+        entity.addIdProperty().modelId(new IdUid(5678, 2345678901234L));
+
+        File outputDir = new File("build/test-out");
+        outputDir.mkdirs();
+        String baseName = "io/objectbox/test/largeids/";
+        File entityInfoFile = fileDeleteIfExists(outputDir, baseName + "LargeIds_.java");
+        File myObjectBoxFile = fileDeleteIfExists(outputDir, baseName + "MyObjectBox.java");
+
+        schema.finish();
+        new BoxGenerator().generateAll(jobForFileForceExists(schema, outputDir));
+
+        String entityInfoContent = FileUtils.readUtf8(entityInfoFile);
+        assertContains(entityInfoContent, "public static final int __ENTITY_ID = 1234;");
+        assertContains(entityInfoContent, "new io.objectbox.Property<>(__INSTANCE, 0, 5678, Long.class, \"id\"");
+        String myObjectBoxContent = FileUtils.readUtf8(myObjectBoxFile);
+        assertContains(myObjectBoxContent, "modelBuilder.lastEntityId(1234, 1234567890123L);");
+        assertContains(myObjectBoxContent,
+                "entityBuilder.id(1234, 1234567890123L).lastPropertyId(5678, 2345678901234L);");
+        assertContains(myObjectBoxContent, ".id(5678, 2345678901234L)");
+    }
+
+    private Schema createSchemaWithManyEntities(String javaPackage) throws Exception {
+        Schema schema = new Schema(1, javaPackage);
+        for (int i = 0; i < 1000; i++) {
+            Entity entity = schema.addEntity("Entity" + i);
+            entity.addIdProperty();
+            entity.addProperty(PropertyType.String, "name").index();
+            for (int p = 0; p < 10; p++) {
+                entity.addProperty(PropertyType.Long, "number" + p);
+                entity.addProperty(PropertyType.String, "text" + p);
+            }
+        }
+        assignMissingIdsUids(schema);
+        schema.finish();
+        return schema;
+    }
+
     private File fileDeleteIfExists(File outputDir, String fileName) {
         File file = new File(outputDir, fileName);
         file.delete();
@@ -175,6 +284,117 @@ public class SimpleBoxGeneratorTest {
                 "                __ID_primitive, entity.getPrimitive(), 0, 0,\n");
     }
 
+    @Test
+    public void testSchemaWithMixedTypes_MinimalCollects() throws Exception {
+        Schema schema = new Schema(1, "io.objectbox.test.multicollect");
+        Entity multiCollectEntity = schema.addEntity("MultiCollectBox_MixedTypes");
+        multiCollectEntity.addIdProperty().typeNotNull();
+        multiCollectEntity.addProperty(PropertyType.ByteArray, "bytes1");
+        multiCollectEntity.addProperty(PropertyType.ByteArray, "bytes2");
+        for (int i = 1; i <= 4; i++) {
+            multiCollectEntity.addProperty(PropertyType.Long, "long" + i).typeNotNull();
+        }
+        multiCollectEntity.addProperty(PropertyType.Int, "primitive").typeNotNull();
+
+        File outputDir = new File("build/test-out");
+        outputDir.mkdirs();
+
+        String fileNameCursor = "io/objectbox/test/multicollect/" + multiCollectEntity.getClassName() + "Cursor.java";
+        File cursorFile = fileDeleteIfExists(outputDir, fileNameCursor);
+
+        assignMissingIdsUids(schema);
+        schema.finish();
+        new BoxGenerator().generateAll(jobForFileForceExists(schema, outputDir));
+
+        assertTrue(cursorFile.toString(), cursorFile.exists());
+        final String cursorContent = FileUtils.readUtf8(cursorFile);
+        // Byte arrays fit into the 313311 calls required for the longs anyway: 2 calls instead of 430000 + 2 x 004000
+        assertContains(cursorContent, "        collect313311(cursor, 0, PUT_FLAG_FIRST,\n");
+        assertContains(cursorContent, "        long __assignedId = collect313311(cursor, entity.getId(), PUT_FLAG_COMPLETE,\n");
+        assertEquals(2, cursorContent.split("collect\\d+\\(").length - 1);
+    }
+
+    @Test
+    public void testPackedPut() throws Exception {
+        Schema schema = new Schema(1, "io.objectbox.test.packed");
+        Entity packedEntity = schema.addEntity("PackedBox");
+        packedEntity.addIdProperty().typeNotNull();
+        packedEntity.addProperty(PropertyType.String, "text");
+        packedEntity.addProperty(PropertyType.Int, "primitive").typeNotNull();
+        packedEntity.addProperty(PropertyType.Long, "nullableLong");
+        packedEntity.addProperty(PropertyType.Double, "fp").typeNotNull();
+
+        File outputDir = new File("build/test-out");
+        outputDir.mkdirs();
+
+        String fileNameCursor = "io/objectbox/test/packed/" + packedEntity.getClassName() + "Cursor.java";
+        File cursorFile = fileDeleteIfExists(outputDir, fileNameCursor);
+
+        assignMissingIdsUids(schema);
+        schema.finish();
+        GeneratorJob job = jobForFileForceExists(schema, outputDir);
+        job.setPackedPut(true);
+        new BoxGenerator().generateAll(job);
+
+        assertTrue(cursorFile.toString(), cursorFile.exists());
+        final String cursorContent = FileUtils.readUtf8(cursorFile);
+        // IDs ordered by slot type: longs, doubles, objects
+        assertContains(cursorContent, "    private final static int[] __PACKED_IDS = {\n" +
+                "        __ID_primitive,\n" +
+                "        __ID_nullableLong,\n" +
+                "        __ID_fp,\n" +
+                "        __ID_text\n" +
+                "    };\n" +
+                "    private final int[] __packedIds = __PACKED_IDS.clone();\n" +
+                "    private final long[] __packedLongs = new long[2];\n" +
+                "    private final double[] __packedDoubles = new double[1];\n" +
+                "    private final Object[] __packedObjects = new Object[1];\n\n" +
+                "    /** The collectPacked method of the ObjectBox library in use, or null if it has none. */\n" +
+                "    private static final MethodHandle COLLECT_PACKED = findCollectPacked();\n");
+        // Checks at runtime if collectPacked is available, otherwise uses chained collect calls
+        assertContains(cursorContent, "        long __assignedId = COLLECT_PACKED != null ? putPacked(entity) : putChained(entity);\n");
+        assertContains(cursorContent, "    private long putChained(PackedBox entity) {\n");
+        assertContains(cursorContent, "        long __assignedId = collect313311(cursor, entity.getId(), PUT_FLAG_FIRST | PUT_FLAG_COMPLETE,\n");
+        assertContains(cursorContent, "        __packedLongs[0] = entity.getPrimitive();\n" +
+                "        __packedIds[1] = __id3;\n" +
+                "        __packedLongs[1] = __id3 != 0 ? nullableLong : 0;\n" +
+                "        __packedDoubles[0] = entity.getFp();\n" +
+                "        __packedIds[3] = __id1;\n" +
+                "        __packedObjects[0] = text;\n\n" +
+                "        long __assignedId = invokeCollectPacked(cursor, entity.getId(), PUT_FLAG_FIRST | PUT_FLAG_COMPLETE,\n" +
+                "                __packedIds, __packedLongs, __packedDoubles, __packedObjects);\n" +
+                "        __packedObjects[0] = null;\n\n" +
+                "        entity.setId(__assignedId);\n" +
+                "        return __assignedId;\n");
+        assertContains(cursorContent, "            return MethodHandles.lookup().findStatic(Cursor.class, \"collectPacked\",\n");
+    }
+
+    @Test
+    public void testCollectPlan() {
+        // Only ID
+        assertCollectPlan(PropertyCollector.CollectPlan.create(0, 0, 0, 0, 0, 0, false), 0, 0, 0, 1);
+        // Only array calls
+        assertCollectPlan(PropertyCollector.CollectPlan.create(0, 0, 0, 0, 0, 0, true), 0, 0, 0, 0);
+        // Strings and an int: 400000 + 004000 pass less zero values than 313311 + 313311
+        assertCollectPlan(PropertyCollector.CollectPlan.create(4, 0, 0, 1, 0, 0, false), 0, 1, 0, 1);
+        // Many floats
+        assertCollectPlan(PropertyCollector.CollectPlan.create(0, 0, 0, 0, 5, 0, false), 0, 0, 2, 0);
+        // Ints widened to long slots
+        assertCollectPlan(PropertyCollector.CollectPlan.create(0, 0, 0, 8, 0, 0, false), 0, 0, 0, 2);
+        // Longs can not be narrowed to int slots
+        assertCollectPlan(PropertyCollector.CollectPlan.create(0, 0, 9, 0, 0, 0, false), 0, 0, 0, 3);
+        // Mixed
+        assertCollectPlan(PropertyCollector.CollectPlan.create(2, 3, 7, 13, 2, 2, false), 3, 0, 0, 1);
+    }
+
+    private void assertCollectPlan(PropertyCollector.CollectPlan plan,
+                                   int calls313311, int calls430000, int calls002033, int calls004000) {
+        assertEquals(calls313311, plan.calls313311);
+        assertEquals(calls430000, plan.calls430000);
+        assertEquals(calls002033, plan.calls002033);
+        assertEquals(calls004000, plan.calls004000);
+    }
+
     private void assertContains(String full, String expectedPart) {
         if (!full.contains(expectedPart)) {
             String subPart = expectedPart;
@@ -274,5 +494,79 @@ public class SimpleBoxGeneratorTest {
         new BoxGenerator().generateAll(job);
     }
 
+    @Test
+    public void testOriginatingElements() throws Exception {
+        Schema schema = new Schema(1, "io.objectbox.test.originating");
+        Entity entityA = schema.addEntity("EntityA");
+        entityA.addIdProperty();
+        Entity entityB = schema.addEntity("EntityB");
+        entityB.addIdProperty();
+        // Elements only need to support equals for the assertions below.
+        InvocationHandler identityEquals = (proxy, method, args) -> proxy == args[0];
+        Element elementA = proxy(TypeElement.class, identityEquals);
+        Element elementB = proxy(TypeElement.class, identityEquals);
+        entityA.setParsedElement(elementA);
+        entityB.setParsedElement(elementB);
+
+        // Records the originating elements of each source file created through the Filer.
+        Map<String, List<Object>> originatingElements = new HashMap<>();
+        Filer filer = proxy(Filer.class, (proxy, method, args) -> {
+            assertEquals("createSourceFile", method.getName());
+            String name = (String) args[0];
+            originatingElements.put(name, Arrays.asList((Object[]) args[1]));
+            return new SimpleJavaFileObject(URI.create("mem:///" + name), JavaFileObject.Kind.SOURCE) {
+                @Override
+                public Writer openWriter() {
+                    return new StringWriter();
+                }
+            };
+        });
+
+        assignMissingIdsUids(schema);
+        schema.finish();
+        new BoxGenerator().generateAll(new GeneratorJob(schema, GeneratorOutput.create(filer)));
+
+        String prefix = "io.objectbox.test.originating.";
+        assertEquals(Collections.singletonList(elementA), originatingElements.get(prefix + "EntityACursor"));
+        assertEquals(Collections.singletonList(elementA), originatingElements.get(prefix + "EntityA_"));
+        assertEquals(Collections.singletonList(elementB), originatingElements.get(prefix + "EntityBCursor"));
+        assertEquals(Collections.singletonList(elementB), originatingElements.get(prefix + "EntityB_"));
+        assertEquals(Arrays.asList(elementA, elementB), originatingElements.get(prefix + "MyObjectBox"));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    @Test
+    public void testBaselineProfile() throws Exception {
+        Schema schema = new Schema(1, "io.objectbox.test.profile");
+        Entity entity = schema.addEntity("Profiled");
+        entity.addIdProperty();
+        entity.addProperty(PropertyType.String, "name");
+
+        File outputDir = new File("build/test-out");
+        File profileFile = fileDeleteIfExists(new File(outputDir, "META-INF/objectbox/baseline-prof"),
+                "objectbox-io.objectbox.test.profile.MyObjectBox.txt");
+
+        assignMissingIdsUids(schema);
+        schema.finish();
+        GeneratorJob job = new GeneratorJob(schema, GeneratorOutput.create(outputDir));
+        job.setBaselineProfile(true);
+        new BoxGenerator().generateAll(job);
+
+        assertTrue(profileFile.toString(), profileFile.exists());
+        final String profileContent = FileUtils.readUtf8(profileFile);
+        String[] classes = {"MyObjectBox", "ProfiledCursor", "Profiled_"};
+        for (String className : classes) {
+            String type = "io/objectbox/test/profile/" + className;
+            assertContains(profileContent, "L" + type + ";\n");
+            assertContains(profileContent, "HSPL" + type + ";->**(**)**\n");
+            assertContains(profileContent, "HSPL" + type + "$*;->**(**)**\n");
+        }
+        assertTrue(profileContent.startsWith("# THIS FILE IS GENERATED BY ObjectBox"));
+        assertEquals(1 + classes.length * 3, profileContent.split("\n").length);
+    }
+
 
 }
@@ -0,0 +1,196 @@
+/*
+ * ObjectBox Build Tools
+ * Copyright (C) 2025 ObjectBox Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.objectbox.generator.idsync
+
+import com.google.common.truth.Truth.assertThat
+import io.objectbox.generator.model.Entity
+import io.objectbox.generator.model.PropertyType
+import io.objectbox.generator.model.Schema
+import io.objectbox.generator.model.ToManyStandalone
+import org.junit.After
+import org.junit.Test
+import java.io.File
+
+class IdSyncCacheTest {
+
+    private val file: File = File.createTempFile("idsync-cache-test", ".json").also { it.delete() }
+    private val cacheFile: File = File.createTempFile("idsync-cache-test", ".bin").also { it.delete() }
+
+    @After
+    fun deleteFiles() {
+        file.delete()
+        File(file.absolutePath + ".bak").delete()
+        cacheFile.delete()
+    }
+
+    @Test
+    fun appliesCachedIds_ifUnchanged() {
+        val synced = syncWithCache(testSchema())
+        assertThat(synced.second).isFalse()
+        val modelFileContent = file.readText()
+
+        val cached = syncWithCache(testSchema())
+        assertThat(cached.second).isTrue()
+        assertThat(file.readText()).isEqualTo(modelFileContent)
+        assertThat(idsOf(cached.first)).isEqualTo(idsOf(synced.first))
+
+        // Syncing without cache assigns the same IDs.
+        val schema = testSchema()
+        IdSync(file).sync(schema)
+        assertThat(idsOf(schema)).isEqualTo(idsOf(cached.first))
+    }
+
+    @Test
+    fun appliesCachedIds_withoutModelFingerprints() {
+        val schema = testSchema()
+        val cache = IdSyncCache(file, cacheFile)
+        assertThat(cache.applyIfUnchanged(schema)).isFalse()
+        IdSync(file).sync(schema)
+        // Fingerprints are optional, the cache should not depend on them.
+        schema.modelFingerprint = null
+        schema.entities.forEach { it.modelFingerprint = null }
+        cache.store(schema)
+
+        val cached = syncWithCache(testSchema())
+        assertThat(cached.second).isTrue()
+        assertThat(idsOf(cached.first)).isEqualTo(idsOf(schema))
+    }
+
+    @Test
+    fun syncs_ifModelFingerprintsSettingChanged() {
+        assertThat(syncWithCache(testSchema()).second).isFalse()
+
+        // Cached without fingerprints: should sync to compute them.
+        val schema = testSchema()
+        val cache = IdSyncCache(file, cacheFile, modelFingerprints = true)
+        assertThat(cache.applyIfUnchanged(schema)).isFalse()
+        IdSync(file).sync(schema, modelFingerprints = true)
+        cache.store(schema)
+
+        val cached = testSchema()
+        assertThat(IdSyncCache(file, cacheFile, modelFingerprints = true).applyIfUnchanged(cached)).isTrue()
+        assertThat(cached.modelFingerprint).isNotNull()
+        assertThat(idsOf(cached)).isEqualTo(idsOf(schema))
+    }
+
+    @Test
+    fun store_replacesCacheFile_withoutLeavingTempFiles() {
+        syncWithCache(testSchema())
+        syncWithCache(testSchema { addProperty(PropertyType.Int, "added") })
+
+        val leftOver = cacheFile.parentFile.listFiles { f -> f.name.startsWith(cacheFile.name) && f != cacheFile }
+        assertThat(leftOver).isEmpty()
+        assertThat(syncWithCache(testSchema { addProperty(PropertyType.Int, "added") }).second).isTrue()
+    }
+
+    @Test
+    fun fileNameFor_differsByModelFilePath() {
+        val name = IdSyncCache.fileNameFor(File("app/objectbox-models/default.json"))
+        assertThat(name).startsWith("idsync-cache-default-")
+        assertThat(name).endsWith(".bin")
+        assertThat(IdSyncCache.fileNameFor(File("app/objectbox-models/default.json"))).isEqualTo(name)
+        assertThat(IdSyncCache.fileNameFor(File("lib/objectbox-models/default.json"))).isNotEqualTo(name)
+    }
+
+    @Test
+    fun syncs_ifSchemaChanged() {
+        syncWithCache(testSchema())
+
+        val changed = syncWithCache(testSchema { addProperty(PropertyType.Int, "added") })
+        assertThat(changed.second).isFalse()
+        assertThat(changed.first.entities[0].properties.last().modelId.id).isEqualTo(3)
+
+        // Cache was updated for the changed schema.
+        assertThat(syncWithCache(testSchema { addProperty(PropertyType.Int, "added") }).second).isTrue()
+    }
+
+    @Test
+    fun syncs_ifModelFileChanged() {
+        syncWithCache(testSchema())
+        val synced = syncWithCache(testSchema())
+        assertThat(synced.second).isTrue()
+
+        // Like after switching branches, an entity UID was changed.
+        val modelFileContent = file.readText()
+        val entityUid = synced.first.entities[0].modelUid!!
+        file.writeText(modelFileContent.replace(entityUid.toString(), (entityUid + 1).toString()))
+
+        val resynced = syncWithCache(testSchema())
+        assertThat(resynced.second).isFalse()
+        assertThat(resynced.first.entities[0].modelUid).isEqualTo(entityUid + 1)
+    }
+
+    @Test
+    fun syncs_ifCacheFileCorrupt() {
+        syncWithCache(testSchema())
+        cacheFile.writeBytes(cacheFile.readBytes().copyOf(20))
+
+        val schema = testSchema()
+        assertThat(IdSyncCache(file, cacheFile).applyIfUnchanged(schema)).isFalse()
+        assertThat(schema.entities[0].modelId).isNull()
+    }
+
+    /**
+     * Applies cached IDs or syncs the given schema. Returns the schema and if cached IDs were applied.
+     */
+    private fun syncWithCache(schema: Schema): Pair<Schema, Boolean> {
+        val cache = IdSyncCache(file, cacheFile)
+        if (cache.applyIfUnchanged(schema)) {
+            return Pair(schema, true)
+        }
+        IdSync(file).sync(schema)
+        cache.store(schema)
+        return Pair(schema, false)
+    }
+
+    private fun testSchema(block: Entity.() -> Unit = {}): Schema {
+        val schema = Schema(Schema.DEFAULT_NAME, 1, "pac.me")
+        val entity = schema.addEntity("Entity1")
+        entity.addProperty(PropertyType.String, "foo").index()
+        entity.addProperty(PropertyType.Long, "bar")
+        entity.addToMany(
+            ToManyStandalone(
+                name = "others",
+                dbName = null,
+                targetEntityName = "Entity2",
+                isFieldAccessible = true,
+                uid = null,
+                externalName = null,
+                externalTypeId = null,
+                externalTypeExpression = null
+            ), schema.addEntity("Entity2")
+        )
+        block(entity)
+        schema.finish()
+        return schema
+    }
+
+    private fun idsOf(schema: Schema): List<String> {
+        val ids = mutableListOf(
+            "${schema.lastEntityId} ${schema.lastIndexId} ${schema.lastRelationId} ${schema.modelFingerprint}"
+        )
+        for (entity in schema.entities) {
+            ids += "${entity.modelId}:${entity.modelUid} ${entity.lastPropertyId} ${entity.modelFingerprint}"
+            entity.properties.forEach { ids += "${it.modelId} ${it.modelIndexId}" }
+            entity.toManyRelations.filterIsInstance<ToManyStandalone>().forEach { ids += "${it.modelId}" }
+        }
+        return ids
+    }
+
+}
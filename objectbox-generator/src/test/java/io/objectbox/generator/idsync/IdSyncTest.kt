@@ -26,6 +26,7 @@ import io.objectbox.generator.model.Schema
 import io.objectbox.generator.model.ToManyStandalone
 import org.junit.After
 import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotEquals
 import org.junit.Assert.assertNotNull
 import org.junit.Assert.assertNotSame
 import org.junit.Assert.assertNull
@@ -427,6 +428,95 @@ class IdSyncTest {
         }
     }
 
+    @Test
+    fun modelFingerprint() {
+        fun syncSchema(withExtraProperty: Boolean = false): Schema {
+            val schema = basicSchema()
+            val entity = addEntityTo(schema, "Entity1")
+            addBasicPropertiesTo(entity)
+            if (withExtraProperty) addPropertyTo(entity, "baz")
+            schema.finish()
+            IdSync(file).sync(schema, modelFingerprints = true)
+            return schema
+        }
+
+        val schema1 = syncSchema()
+        val modelFingerprint = schema1.modelFingerprint!!
+        val entityFingerprint = schema1.entities.single().modelFingerprint!!
+
+        // Same model file: same fingerprints
+        val schema2 = syncSchema()
+        assertEquals(modelFingerprint, schema2.modelFingerprint)
+        assertEquals(entityFingerprint, schema2.entities.single().modelFingerprint)
+
+        // New model file with new UIDs: only model fingerprint changes
+        file.delete()
+        val schema3 = syncSchema()
+        assertNotEquals(modelFingerprint, schema3.modelFingerprint)
+        assertEquals(entityFingerprint, schema3.entities.single().modelFingerprint)
+
+        // New property: both change
+        val schema4 = syncSchema(withExtraProperty = true)
+        assertNotEquals(schema3.modelFingerprint, schema4.modelFingerprint)
+        assertNotEquals(entityFingerprint, schema4.entities.single().modelFingerprint)
+
+        // Not computed by default
+        val schema5 = basicSchema()
+        addBasicPropertiesTo(addEntityTo(schema5, "Entity1"))
+        schema5.finish()
+        IdSync(file).sync(schema5)
+        assertNull(schema5.modelFingerprint)
+        assertNull(schema5.entities.single().modelFingerprint)
+    }
+
+    /**
+     * Syncs a large schema: creating the model, syncing it unchanged and syncing with half of the entities removed.
+     * Lookups must not scan all entities or properties, the time taken is only printed to not fail on slow machines.
+     */
+    @Test
+    fun syncManyEntities() {
+        val entityCount = 5000
+        fun syncSchema(entityCount: Int): Schema {
+            val schema = basicSchema()
+            for (i in 0 until entityCount) {
+                schema.addTestEntity("Entity$i").apply {
+                    for (p in 0 until 10) addTestProperty("property$p", indexed = p == 0)
+                    addTestToMany("toMany")
+                }
+            }
+            schema.finish()
+            IdSync(file).sync(schema)
+            return schema
+        }
+
+        fun idsOf(schema: Schema) = schema.entities.associate { entity ->
+            entity.className to listOf(entity.modelId, entity.modelUid, entity.lastPropertyId) +
+                    entity.properties.flatMap { listOf(it.modelId, it.modelIndexId) } +
+                    entity.toManyRelations.filterIsInstance<ToManyStandalone>().map { it.modelId }
+        }
+
+        val startMillis = System.currentTimeMillis()
+        val schema1 = syncSchema(entityCount)
+        val modelFileContent = file.readText()
+        val schema2 = syncSchema(entityCount)
+        // Unchanged: same IDs, same model file
+        assertEquals(idsOf(schema1), idsOf(schema2))
+        assertEquals(modelFileContent, file.readText())
+
+        val schema3 = syncSchema(entityCount / 2)
+        println("Synced $entityCount entities in ${System.currentTimeMillis() - startMillis} ms")
+
+        // Remaining entities keep their IDs
+        val remainingIds = idsOf(schema3)
+        assertEquals(idsOf(schema1).filterKeys { remainingIds.containsKey(it) }, remainingIds)
+        val model = idSync!!.justRead()!!
+        assertEquals(entityCount / 2, model.entities.size)
+        assertEquals(entityCount / 2, model.retiredEntityUids!!.size)
+        assertEquals(entityCount / 2 * 10, model.retiredPropertyUids!!.size)
+        assertEquals(entityCount / 2, model.retiredIndexUids!!.size)
+        assertEquals(entityCount / 2, model.retiredRelationUids!!.size)
+    }
+
     private fun basicSchema() = Schema(Schema.DEFAULT_NAME, 1, "pac.me")
 
     /**
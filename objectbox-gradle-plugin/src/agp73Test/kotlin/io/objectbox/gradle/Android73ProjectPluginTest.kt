@@ -66,4 +66,4 @@ class Android73ProjectPluginTest : AndroidProjectPluginTest() {
     override val buildTransformDirectory =
         "build/intermediates/asm_instrumented_project_classes/debug"
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,127 @@
+/*
+ * ObjectBox Build Tools
+ * Copyright (C) 2025 ObjectBox Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.objectbox.gradle
+
+import com.google.common.truth.Truth.assertThat
+import org.gradle.testkit.runner.TaskOutcome
+import org.intellij.lang.annotations.Language
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import java.io.File
+
+
+/**
+ * Tests the keepRules option with Android Plugin 7.3. Only compiles the project and merges the generated rules,
+ * so does not require a compatible objectbox-android (see [Android73ProjectPluginTest]).
+ */
+class KeepRulesAndroid73Test {
+
+    @JvmField
+    @Rule
+    val testProjectDir: TemporaryFolder = TemporaryFolder.builder().assureDeletion().build()
+
+    @Language("Groovy")
+    private val buildScriptAndroidBlock =
+        """
+        android {
+            namespace 'com.example'
+            compileSdkVersion 33
+            defaultConfig {
+                applicationId "com.example"
+                minSdkVersion 21
+                targetSdkVersion 33
+            }
+            compileOptions {
+                sourceCompatibility JavaVersion.VERSION_1_8
+                targetCompatibility JavaVersion.VERSION_1_8
+            }
+        }
+        objectbox {
+            keepRules = true
+        }
+        """.trimIndent()
+
+    @Test
+    fun keepRules_addedToProguardFiles() {
+        val gradleRunner = GradleTestRunner(testProjectDir).apply {
+            additionalPlugins += "com.android.application"
+            additionalBlocks = buildScriptAndroidBlock
+        }
+        testProjectDir.newFile("src/main/AndroidManifest.xml").writeText(
+            """
+            <?xml version="1.0" encoding="utf-8"?>
+            <manifest xmlns:android="http://schemas.android.com/apk/res/android">
+                <application>
+                </application>
+            </manifest>
+            """.trimIndent()
+        )
+        gradleRunner.addSourceFile(
+            "Outer.java",
+            """
+            package com.example;
+
+            import io.objectbox.annotation.BaseEntity;
+            import io.objectbox.annotation.Id;
+
+            public class Outer {
+                @BaseEntity
+                public static abstract class NestedBase {
+                    @Id public long id;
+                }
+            }
+            """.trimIndent()
+        )
+        gradleRunner.addSourceFile(
+            "ExampleEntity.java",
+            """
+            package com.example;
+
+            import io.objectbox.annotation.Entity;
+            import io.objectbox.annotation.Transient;
+
+            @Entity
+            public class ExampleEntity extends Outer.NestedBase {
+                public String name;
+                @Transient public String cache;
+            }
+            """.trimIndent()
+        )
+
+        val result = gradleRunner.build(listOf("--stacktrace", "objectboxKeepRulesRelease")) { it.forwardOutput() }
+        assertThat(result.task(":objectboxKeepRulesRelease")!!.outcome).isEqualTo(TaskOutcome.SUCCESS)
+
+        val rules = File(testProjectDir.root, "build/intermediates/objectbox/keep-rules/release/objectbox.pro").readText()
+        assertThat(rules).contains(
+            """
+            -keepclassmembers class com.example.ExampleEntity {
+                <init>();
+                *** name;
+            }
+            """.trimIndent()
+        )
+        assertThat(rules).contains("-keepclassmembers class com.example.Outer\$NestedBase {\n    *** id;\n}")
+        // Only persisted fields are kept.
+        assertThat(rules).doesNotContain("cache")
+        // Before Android Plugin 8.3 the rules of objectbox-java are not ignored, so are not replaced.
+        assertThat(rules).doesNotContain("io.objectbox.BoxStore")
+    }
+
+}
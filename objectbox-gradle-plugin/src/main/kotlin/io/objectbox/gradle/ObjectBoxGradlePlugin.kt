@@ -30,6 +30,7 @@ import org.gradle.api.Project
 import org.gradle.api.Task
 import org.gradle.api.UnknownDomainObjectException
 import org.gradle.api.artifacts.Dependency
+import org.gradle.api.file.ConfigurableFileCollection
 import org.gradle.api.plugins.InvalidPluginException
 import org.gradle.api.tasks.compile.JavaCompile
 
@@ -73,7 +74,12 @@ open class ObjectBoxGradlePlugin : Plugin<Project> {
             // ensure Android plugin API is available
             if (env.hasAndroidPlugin) {
                 // Cannot use afterEvaluate to register Android transform, thus our plugin must be applied after Android
-                AndroidCompat.getPlugin(project).registerTransform(project, env.options.debug, env.hasKotlinPlugin)
+                val androidPlugin = AndroidCompat.getPlugin(project)
+                androidPlugin.registerTransform(
+                    project, env.options.debug, env.options.probeParallelism, env.hasKotlinPlugin
+                )
+                androidPlugin.registerKeepRules(project, env.options.keepRules)
+                androidPlugin.registerBaselineProfile(project, env.options.baselineProfile)
             } else {
                 // fall back to Gradle task
                 createPlainJavaTransformTask(env)
@@ -100,13 +106,31 @@ open class ObjectBoxGradlePlugin : Plugin<Project> {
                 .named(sourceSet.compileJavaTaskName).map { it.destinationDirectory }
             val inputClasspath = project.files(compileJavaTaskOutputDir)
 
+            // Transform to a separate directory, transforming in place would change the output of the compile task.
+            val outputDir = project.layout.buildDirectory.dir("objectbox/classes/${sourceSet.name}")
+
             // Use register to defer creation until use.
             val transformTask = project.tasks.register(
                 taskName,
                 ObjectBoxJavaClassesTransformTask::class.java,
-                ObjectBoxJavaClassesTransformTask.ConfigAction(env.options.debug, inputClasspath)
+                ObjectBoxJavaClassesTransformTask.ConfigAction(
+                    env.options.debug,
+                    env.options.probeParallelism,
+                    inputClasspath,
+                    outputDir
+                )
             )
 
+            // Use the output directory of the transform task instead of the one of the compile task as a classes
+            // directory of the source set, so e.g. the JAR and test tasks use the transformed classes.
+            // Directories other plugins add later on are appended. Only filter lazily when resolved, the compile task
+            // or other plugins may still change the directories.
+            val classesDirs = sourceSet.output.classesDirs as ConfigurableFileCollection
+            val otherClassesDirs = project.files(classesDirs.from.toList())
+                .filter { it != compileJavaTaskOutputDir.get().get().asFile }
+            classesDirs.setFrom(transformTask.flatMap { it.outputDir }, otherClassesDirs)
+            classesDirs.builtBy(transformTask)
+
             // Verify classes and compileJava task exist, attach to lifecycle
             // assumes that classes task depends on compileJava depends on compileKotlin.
             val classesTaskName = sourceSet.classesTaskName
@@ -118,7 +142,10 @@ open class ObjectBoxGradlePlugin : Plugin<Project> {
                 throw RuntimeException("Could not find classes task '$classesTaskName'.", e)
             }
 
-            env.logDebug { "Added $taskName task, depends on $classesTaskName task." }
+            env.logDebug {
+                "Added $taskName task, depends on $classesTaskName task, its output replaces the output of " +
+                        "${sourceSet.compileJavaTaskName} task as classes directory."
+            }
         }
     }
 
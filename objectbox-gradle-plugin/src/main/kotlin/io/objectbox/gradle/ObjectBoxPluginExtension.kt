@@ -31,9 +31,36 @@ abstract class ObjectBoxPluginExtension {
     /** If detailed log output should be created. */
     abstract val debug: Property<Boolean>
 
+    /**
+     * Number of threads to inspect class files with before transforming them (does not apply to the transform for
+     * Android Plugin 7.2 and newer). Defaults to 1, inspecting one class file after another.
+     */
+    abstract val probeParallelism: Property<Int>
+
+    /**
+     * For Android projects, if the annotation processor should generate keep rules that only keep the members of
+     * entity classes used by native code, which are then added to the ProGuard files of each variant. Requires
+     * Android Plugin 7.2 or newer. Only with Android Plugin 8.3 or newer these replace the rules of objectbox-java
+     * which keep all fields and constructors of entity classes. Defaults to false.
+     */
+    abstract val keepRules: Property<Boolean>
+
+    /**
+     * For Android projects, if the annotation processor should generate Baseline Profile rules for the generated
+     * classes, which are then added to the baseline profile sources of each variant. Requires Android Plugin 8.0 or
+     * newer. Defaults to false.
+     */
+    abstract val baselineProfile: Property<Boolean>
+
     init {
         @Suppress("LeakingThis") // Gradle docs ask to set it this way.
         debug.convention(false)
+        @Suppress("LeakingThis")
+        probeParallelism.convention(1)
+        @Suppress("LeakingThis")
+        keepRules.convention(false)
+        @Suppress("LeakingThis")
+        baselineProfile.convention(false)
     }
 
 }
@@ -0,0 +1,100 @@
+/*
+ * ObjectBox Build Tools
+ * Copyright (C) 2025 ObjectBox Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.objectbox.gradle
+
+import com.google.common.truth.Truth.assertThat
+import org.gradle.testkit.runner.BuildResult
+import org.gradle.testkit.runner.TaskOutcome
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+
+/**
+ * Tests that the outputs of the transform task for JVM projects are restored from the build cache,
+ * even if the project is in another directory.
+ */
+class BuildCacheTest {
+
+    @JvmField
+    @Rule
+    val projectDir: TemporaryFolder = TemporaryFolder.builder().assureDeletion().build()
+
+    @JvmField
+    @Rule
+    val relocatedProjectDir: TemporaryFolder = TemporaryFolder.builder().assureDeletion().build()
+
+    @JvmField
+    @Rule
+    val buildCacheDir: TemporaryFolder = TemporaryFolder.builder().assureDeletion().build()
+
+    @Test
+    fun transform_restoredFromCache_inRelocatedProject() {
+        with(createRunner(projectDir).build()) {
+            assertThat(task(":$TRANSFORM_TASK")?.outcome).isEqualTo(TaskOutcome.SUCCESS)
+        }
+
+        val relocatedRunner = createRunner(relocatedProjectDir)
+        with(relocatedRunner.build()) {
+            assertThat(task(":$TRANSFORM_TASK")?.outcome).isEqualTo(TaskOutcome.FROM_CACHE)
+        }
+
+        // The restored probe index is used for the relocated class files.
+        relocatedProjectDir.root.resolve("src/main/java/com/example/Other.java")
+            .writeText("package com.example; public class Other { public int changed; }")
+        with(relocatedRunner.build()) {
+            assertThat(task(":$TRANSFORM_TASK")?.outcome).isEqualTo(TaskOutcome.SUCCESS)
+            assertThat(output).doesNotContain("No probe index found")
+            assertThat(output).contains("class files changed, transforming")
+        }
+    }
+
+    private fun createRunner(testProjectDir: TemporaryFolder): GradleTestRunner {
+        val runner = GradleTestRunner(testProjectDir)
+        // Share the local build cache between both projects.
+        val buildCachePath = buildCacheDir.root.absolutePath.replace('\\', '/')
+        testProjectDir.root.resolve("settings.gradle").appendText(
+            "\nbuildCache { local { directory = file('$buildCachePath') } }\n"
+        )
+        return runner.apply {
+            additionalPlugins += "java-library"
+            addSourceFile(
+                "Example.java",
+                """
+                package com.example;
+
+                import io.objectbox.annotation.Entity;
+                import io.objectbox.annotation.Id;
+
+                @Entity
+                public class Example {
+                    @Id public long id;
+                }
+                """.trimIndent()
+            )
+            addSourceFile("Other.java", "package com.example; public class Other { }")
+        }
+    }
+
+    private fun GradleTestRunner.build(): BuildResult = build(listOf("--build-cache", "build"))
+
+    companion object {
+        private const val TRANSFORM_TASK = "transformObjectBoxClasses"
+    }
+
+}
@@ -33,9 +33,11 @@ import static net.ltgt.gradle.incap.IncrementalAnnotationProcessorType.DYNAMIC;
  * Processor is aggregating as from each element annotated with @Entity info flows
  * into MyObjectBox file and for each element into multiple helper files (Underscore and Cursor class).
  * Info is also aggregated into the model file, but as it does not need to be compiled it doesn't matter to Gradle.
+ * The helper files can not be generated by a separate isolating processor: they contain IDs from the model file and
+ * info from other entities (like incoming relations), which is not reachable from their entity class.
  * <p>
- * There is a flag to turn off incremental support to make indirect inheritance from entity classes work,
- * hence the processor is declared as dynamic here.
+ * There is a flag to turn off incremental support (it used to be required to make indirect inheritance from
+ * entity classes work), hence the processor is declared as dynamic here.
  */
 @AutoService(Processor.class)
 @IncrementalAnnotationProcessor(DYNAMIC)
@@ -29,7 +29,7 @@ import javax.tools.Diagnostic
 /**
  * Helps raise and keep count of errors during processing.
  */
-class Messages(private val messager: Messager, private val debug: Boolean) {
+class Messages(private val messager: Messager, private val debug: Boolean) : SchemaReporter {
 
     private var errorCount: Int = 0
 
@@ -39,7 +39,7 @@ class Messages(private val messager: Messager, private val debug: Boolean) {
     /**
      * If debug mode is enabled, prints `message` as note. Otherwise does nothing.
      */
-    fun debug(message: String) {
+    override fun debug(message: String) {
         if (debug) {
             printMessage(Diagnostic.Kind.NOTE, message)
         }
@@ -52,6 +52,13 @@ class Messages(private val messager: Messager, private val debug: Boolean) {
         printMessage(Diagnostic.Kind.NOTE, message)
     }
 
+    /**
+     * Prints `message` as warning.
+     */
+    fun warn(message: String) {
+        printMessage(Diagnostic.Kind.WARNING, message)
+    }
+
     /**
      * Prints `message` as error.
      */
@@ -78,7 +85,7 @@ class Messages(private val messager: Messager, private val debug: Boolean) {
     /**
      * Prints `message` as error, links to `elementHolder.parsedElement` if not null.
      */
-    fun error(message: String, elementHolder: HasParsedElement? = null) {
+    override fun error(message: String, elementHolder: HasParsedElement?) {
         val element: Element? = if (elementHolder?.parsedElement is Element) {
             elementHolder.parsedElement as Element
         } else null
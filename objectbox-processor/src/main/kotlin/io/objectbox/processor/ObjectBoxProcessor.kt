@@ -24,17 +24,16 @@ import io.objectbox.annotation.ExternalName
 import io.objectbox.annotation.NameInDb
 import io.objectbox.annotation.Sync
 import io.objectbox.annotation.Uid
-import io.objectbox.generator.BoxGenerator
 import io.objectbox.generator.GeneratorJob
 import io.objectbox.generator.GeneratorOutput
-import io.objectbox.generator.idsync.IdSync
-import io.objectbox.generator.idsync.IdSyncException
+import io.objectbox.generator.idsync.IdSyncCache
 import io.objectbox.generator.model.Property
 import io.objectbox.generator.model.Schema
 import io.objectbox.reporting.BasicBuildTracker
 import net.ltgt.gradle.incap.IncrementalAnnotationProcessorType
 import java.io.File
 import java.io.FileNotFoundException
+import java.io.IOException
 import javax.annotation.processing.AbstractProcessor
 import javax.annotation.processing.Filer
 import javax.annotation.processing.ProcessingEnvironment
@@ -67,12 +66,82 @@ open class ObjectBoxProcessor : AbstractProcessor() {
         const val OPTION_FLATBUFFERS_SCHEMA_FOLDER: String = "objectbox.flatbuffersSchemaFolder"
         const val OPTION_DEBUG: String = "objectbox.debug"
 
+        /**
+         * Set to true to generate Cursor put methods that pass all properties with a single collectPacked call.
+         * Generated Cursors fall back to chained collect calls at runtime if the ObjectBox library in use does not
+         * have collectPacked.
+         */
+        const val OPTION_PACKED_PUT: String = "objectbox.packedPut"
+
+        /**
+         * Set to true to build the binary model when generating MyObjectBox, instead of generating code that builds
+         * it at runtime using ModelBuilder. The model is then built by the ObjectBox library of the processor.
+         */
+        const val OPTION_PRECOMPUTED_MODEL: String = "objectbox.precomputedModel"
+
+        /**
+         * Set to true to add fingerprints of the synced model to MyObjectBox (MODEL_FINGERPRINT) and of each entity
+         * to its EntityInfo (Entity_) class (__ENTITY_FINGERPRINT). Not used by the ObjectBox library, yet.
+         */
+        const val OPTION_MODEL_FINGERPRINTS: String = "objectbox.modelFingerprints"
+
+        /**
+         * Set to true to register entities in MyObjectBox with a lightweight descriptor, so the properties and
+         * relation infos of the EntityInfo (Entity_) classes are only initialized on first use. Note that opening a
+         * BoxStore uses the properties of all entities.
+         */
+        const val OPTION_LAZY_ENTITY_INFO: String = "objectbox.lazyEntityInfo"
+
+        /**
+         * Set to true to generate a single class per entity implementing its ID getter, cursor factory and the relation
+         * getters of one to-one and one to-many relation type, instead of a class for each of them. Getters of other
+         * relation types share a class per type. Reduces the number of classes (e.g. on Android).
+         */
+        const val OPTION_SINGLE_ACCESSOR_CLASS: String = "objectbox.singleAccessorClass"
+
+        /**
+         * Set to true to write Android Baseline Profile rules for the generated classes to
+         * META-INF/objectbox/baseline-prof of the class output. For Android modules the baselineProfile option of the
+         * Gradle plugin enables this and adds the rules to the baseline profile sources of each variant.
+         */
+        const val OPTION_BASELINE_PROFILE: String = "objectbox.baselineProfile"
+
+        /**
+         * Set to true to add R8/ProGuard rules to the class output (META-INF/proguard) that only keep the constructor
+         * and fields of entity classes used by native code. R8 only reads these from library JARs, for Android modules
+         * the keepRules option of the Gradle plugin enables this and adds the rules to the ProGuard files instead.
+         */
+        const val OPTION_KEEP_RULES: String = "objectbox.keepRules"
+
+        /**
+         * Set to true to render the classes of entities in parallel (using up to one thread per processor).
+         * Files are still written one after another.
+         */
+        const val OPTION_PARALLEL_GENERATION: String = "objectbox.parallelGeneration"
+
+        /**
+         * Set to true to measure the time of each processing phase and of generating each file. Reports them as a
+         * note and writes them as JSON to build/objectbox/processor-timings.json of the project.
+         */
+        const val OPTION_TIMINGS: String = "objectbox.timings"
+
+        /**
+         * Set to true to cache the IDs assigned by syncing with the model file in the build directory of the project.
+         * If neither the entity classes nor the model file changed, applies the cached IDs instead of syncing again.
+         * There is one cache file per model file. Compilations that share a model file (like those of different
+         * source sets) share a cache file, which only means that they sync again if their entities differ.
+         */
+        const val OPTION_ID_SYNC_CACHE: String = "objectbox.idSyncCache"
+
         /** Set by ObjectBox plugin */
         const val OPTION_TRANSFORMATION_ENABLED: String = "objectbox.transformationEnabled"
         const val OPTION_ALLOW_NUMBERED_CONSTRUCTOR_ARGS: String = "objectbox.allowNumberedConstructorArgs"
 
         /**
          * Set to false to turn off support for incremental processing.
+         *
+         * Note: no longer required for indirect inheritance (an entity extending a class that is not annotated, that
+         * extends a @BaseEntity class), super types are resolved without relying on the elements of a round.
          */
         const val OPTION_INCREMENTAL: String = "objectbox.incremental"
 
@@ -126,6 +195,16 @@ open class ObjectBoxProcessor : AbstractProcessor() {
     private var debug: Boolean = false
     private var allowNumberedConstructorArgs: Boolean = false
     private var incremental = true
+    private var packedPut: Boolean = false
+    private var precomputedModel: Boolean = false
+    private var modelFingerprints: Boolean = false
+    private var lazyEntityInfo: Boolean = false
+    private var singleAccessorClass: Boolean = false
+    private var baselineProfile: Boolean = false
+    private var keepRules: Boolean = false
+    private var parallelGeneration: Boolean = false
+    private var reportTimings: Boolean = false
+    private var idSyncCache: Boolean = false
 
     @Synchronized
     override fun init(env: ProcessingEnvironment) {
@@ -146,6 +225,16 @@ open class ObjectBoxProcessor : AbstractProcessor() {
         transformationEnabled = "false" != options[OPTION_TRANSFORMATION_ENABLED] // default true
         allowNumberedConstructorArgs = "false" != options[OPTION_ALLOW_NUMBERED_CONSTRUCTOR_ARGS] // default true
         incremental = "false" != options[OPTION_INCREMENTAL] // Default true (opt-out).
+        packedPut = "true" == options[OPTION_PACKED_PUT]
+        precomputedModel = "true" == options[OPTION_PRECOMPUTED_MODEL]
+        modelFingerprints = "true" == options[OPTION_MODEL_FINGERPRINTS]
+        lazyEntityInfo = "true" == options[OPTION_LAZY_ENTITY_INFO]
+        singleAccessorClass = "true" == options[OPTION_SINGLE_ACCESSOR_CLASS]
+        baselineProfile = "true" == options[OPTION_BASELINE_PROFILE]
+        keepRules = "true" == options[OPTION_KEEP_RULES]
+        parallelGeneration = "true" == options[OPTION_PARALLEL_GENERATION]
+        reportTimings = "true" == options[OPTION_TIMINGS]
+        idSyncCache = "true" == options[OPTION_ID_SYNC_CACHE]
 
         messages = Messages(env.messager, debug)
         messages.debug(
@@ -157,16 +246,26 @@ open class ObjectBoxProcessor : AbstractProcessor() {
             flatbuffersSchemaFolder=$flatbuffersSchemaPath
             transformationEnabled=$transformationEnabled
             allowNumberedConstructorArgs=$allowNumberedConstructorArgs
-            incremental=$incremental"""
+            incremental=$incremental
+            packedPut=$packedPut
+            precomputedModel=$precomputedModel
+            modelFingerprints=$modelFingerprints
+            lazyEntityInfo=$lazyEntityInfo
+            singleAccessorClass=$singleAccessorClass
+            baselineProfile=$baselineProfile
+            keepRules=$keepRules
+            parallelGeneration=$parallelGeneration
+            timings=$reportTimings
+            idSyncCache=$idSyncCache"""
         )
     }
 
     override fun getSupportedAnnotationTypes(): Set<String> {
         val types = LinkedHashSet<String>()
         types.add(Entity::class.java.canonicalName)
-        // Note: on an incremental run Gradle only gives class elements that have one
-        // of the supported annotations to the processor.
-        // So explicitly include the base entity annotation to get all base entity class elements.
+        // Note: on an incremental run Gradle only re-processes types that have one
+        // of the supported annotations.
+        // So explicitly include the base entity annotation so entities are processed again if a base entity changes.
         types.add(BaseEntity::class.java.canonicalName)
         return types
     }
@@ -182,6 +281,16 @@ open class ObjectBoxProcessor : AbstractProcessor() {
         options.add(OPTION_DEBUG)
         options.add(OPTION_ALLOW_NUMBERED_CONSTRUCTOR_ARGS)
         options.add(OPTION_INCREMENTAL)
+        options.add(OPTION_PACKED_PUT)
+        options.add(OPTION_PRECOMPUTED_MODEL)
+        options.add(OPTION_MODEL_FINGERPRINTS)
+        options.add(OPTION_LAZY_ENTITY_INFO)
+        options.add(OPTION_SINGLE_ACCESSOR_CLASS)
+        options.add(OPTION_BASELINE_PROFILE)
+        options.add(OPTION_KEEP_RULES)
+        options.add(OPTION_PARALLEL_GENERATION)
+        options.add(OPTION_TIMINGS)
+        options.add(OPTION_ID_SYNC_CACHE)
         // Dynamic incremental support (see ObjectBoxProcessorShim):
         // do not advertise processor as incremental if turned off.
         // See OPTION_INCREMENTAL for explanation.
@@ -210,38 +319,42 @@ open class ObjectBoxProcessor : AbstractProcessor() {
         if (messages.errorRaised) {
             return
         }
+        // Measuring is cheap, so always measure, but only report if enabled.
+        val timings = ProcessorTimings()
 
-        val entities = env.getElementsAnnotatedWith(Entity::class.java)
+        val entities = timings.measure("collectElements") {
+            env.getElementsAnnotatedWith(Entity::class.java)
+        }
         if (entities.size == 0) {
             return  // no entities found
         }
 
-        val defaultJavaPackage = if (daoCompat && daoCompatPackage != null) {
-            daoCompatPackage
-        } else if (customDefaultPackage != null) {
-            customDefaultPackage
-        } else {
-            // entities may be in multiple packages, so generate MyObjectBox in one that is least likely to change
-            val packages = entities.map { elementUtils.getPackageOf(it).qualifiedName.toString() }
-            selectPackage(packages)
+        val defaultJavaPackage = timings.measure("collectElements") {
+            if (daoCompat && daoCompatPackage != null) {
+                daoCompatPackage
+            } else if (customDefaultPackage != null) {
+                customDefaultPackage
+            } else {
+                // entities may be in multiple packages, so generate MyObjectBox in one that is least likely to change
+                val packages = entities.map { elementUtils.getPackageOf(it).qualifiedName.toString() }
+                selectPackage(packages)
+            }
         }
         val schema = Schema(Schema.DEFAULT_NAME, 1, defaultJavaPackage)
 
         // Parse entities.
-        val annotatedElements = mutableSetOf<Element>().run {
-            addAll(env.getElementsAnnotatedWith(Entity::class.java))
-            addAll(env.getElementsAnnotatedWith(BaseEntity::class.java))
-            toSet()
-        }
-        for (entity in entities) {
-            parseEntity(annotatedElements, schema, relations, entity)
+        timings.measure("parseEntities") {
+            val typeHelper = TypeHelper(elementUtils, typeUtils) // Shared to re-use cached type info.
+            for (entity in entities) {
+                parseEntity(schema, relations, typeHelper, entity)
+            }
         }
 
         if (messages.errorRaised) {
             return // Avoid errors during resolving relations caused by previous errors.
         }
 
-        if (!relations.resolve(schema)) {
+        if (!timings.measure("resolveRelations") { relations.resolve(schema) }) {
             return // resolving relations failed
         }
 
@@ -249,69 +362,108 @@ open class ObjectBoxProcessor : AbstractProcessor() {
             return // avoid changing files (model file, generated source)
         }
 
-        if (!checkSyncEnabledEntities(schema.entities)) {
-            return
-        }
-
-        try {
-            schema.finish()
-        } catch (e: Exception) {
-            messages.error("Code generation failed: $e")
-            e.printStackTrace()
+        val schemaGenerator = SchemaGenerator(messages, daoCompat)
+        if (!timings.measure("finishSchema") { schemaGenerator.finish(schema) }) {
             return
         }
 
-        if (!syncIdModel(schema)) {
+        // Finding the project root creates a probe resource, which the Filer may refuse to create again within the
+        // same round, so do it at most once.
+        val projectRoot by lazy { findProjectRootOrFailure() }
+        val modelFile = findModelFile { projectRoot } ?: return
+        val idSyncCacheFile = if (idSyncCache) findIdSyncCacheFile(modelFile, projectRoot) else null
+        if (!schemaGenerator.syncIdModel(schema, modelFile, idSyncCacheFile, modelFingerprints, timings)) {
             return // id model sync failed
         }
 
         this.schema = schema // make processed schema accessible for testing
 
-        var completed = false
-        try {
+        timings.measure("generate") {
+            generate(schemaGenerator, schema, timings)
+        }
+
+        if (reportTimings) {
+            printAndWriteTimings(timings, schema.entities.size, projectRoot)
+        }
+    }
+
+    /**
+     * Like [findProjectRoot], but returns a failure instead of throwing.
+     */
+    private fun findProjectRootOrFailure(): Result<File> {
+        return try {
+            Result.success(findProjectRoot(filer))
+        } catch (e: FileNotFoundException) {
+            Result.failure(e)
+        }
+    }
+
+    private fun generate(schemaGenerator: SchemaGenerator, schema: Schema, timings: ProcessorTimings) {
+        schemaGenerator.generate(schema) {
             val job = GeneratorJob(schema, GeneratorOutput.create(filer))
             job.isDaoCompat = daoCompat
+            job.isPackedPut = packedPut
+            job.isPrecomputedModel = precomputedModel
+            job.isModelFingerprints = modelFingerprints
+            job.isLazyEntityInfo = lazyEntityInfo
+            job.isSingleAccessorClass = singleAccessorClass
+            job.isBaselineProfile = baselineProfile
+            job.isKeepRules = keepRules
+            if (parallelGeneration) job.generatorThreads = Runtime.getRuntime().availableProcessors()
+            if (reportTimings) job.fileTimesNanos = timings.nanosByFile
             flatbuffersSchemaPath?.let {
                 job.outputFlatbuffersSchema = GeneratorOutput.create(it)
             }
-            BoxGenerator().generateAll(job)
-            completed = true
-        } catch (e: Exception) {
-            messages.error("Code generation failed: $e")
-            e.printStackTrace()
+            job
         }
-        trackStats(schema, completed)
     }
 
-    private fun trackStats(schema: Schema, completed: Boolean) {
-        var toOneCount = 0
-        var toManyCount = 0
-        var propertyCount = 0
-        for (entity in schema.entities) {
-            toManyCount += entity.toManyRelations?.size ?: 0
-            toOneCount += entity.toOneRelations?.size ?: 0
-            propertyCount += entity.properties?.size ?: 0
-        }
-        BasicBuildTracker("Processor").trackStats(
-            daoCompat = daoCompat,
-            completed = completed,
-            entityCount = schema.entities.size,
-            propertyCount = propertyCount,
-            toManyCount = toManyCount,
-            toOneCount = toOneCount
+    /**
+     * Returns the file to cache IDs synced with [modelFile] in, see [OPTION_ID_SYNC_CACHE], or null if the project
+     * directory could not be found.
+     */
+    private fun findIdSyncCacheFile(modelFile: File, projectRoot: Result<File>): File? {
+        return projectRoot.fold(
+            onSuccess = { File(it, "build/objectbox/" + IdSyncCache.fileNameFor(modelFile)) },
+            onFailure = {
+                messages.debug("Not caching synced IDs, could not find project directory: ${it.message}")
+                null
+            }
         )
     }
 
-    private fun parseEntity(annotatedElements: Set<Element>, schema: Schema, relations: Relations, entity: Element) {
+    /**
+     * Notes the time of each phase and writes them, including those of each generated file, as JSON to the build
+     * directory of the project, see [OPTION_TIMINGS].
+     */
+    private fun printAndWriteTimings(timings: ProcessorTimings, entityCount: Int, projectRoot: Result<File>) {
+        messages.info(timings.summary())
+        // Only for diagnostics, so do not fail the build.
+        val reportDir = projectRoot.getOrElse {
+            messages.warn("Could not write processor timings, could not find project directory: ${it.message}")
+            return
+        }
+        val reportFile = File(reportDir, "build/objectbox/${ProcessorTimings.REPORT_FILE_NAME}")
+        try {
+            timings.writeReport(reportFile, entityCount)
+            if (debug) messages.debug("Wrote processor timings to $reportFile")
+        } catch (e: IOException) {
+            messages.warn("Could not write processor timings to $reportFile: $e")
+        }
+    }
+
+    private fun parseEntity(schema: Schema, relations: Relations, typeHelper: TypeHelper, entity: Element) {
         val name = entity.simpleName.toString()
         if (debug) messages.debug("Parsing entity $name...")
 
-        schema.entities.find { it.className == name }?.let {
+        schema.findEntityByClassName(name)?.let {
             messages.error("There is already an entity class '$name': '${it.javaPackage}.${it.className}'.", entity)
             return
         }
 
         val entityModel = schema.addEntity(name)
+        entityModel.parsedElement = entity
+        entityModel.binaryClassName = elementUtils.getBinaryName(entity as TypeElement).toString()
         entityModel.javaPackage = elementUtils.getPackageOf(entity).qualifiedName.toString()
         entityModel.javaPackageDao = daoCompatPackage ?: entityModel.javaPackage
 
@@ -342,7 +494,7 @@ open class ObjectBoxProcessor : AbstractProcessor() {
         }
 
         // Parse properties.
-        parseProperties(annotatedElements, relations, entityModel, entity)
+        parseProperties(relations, typeHelper, entityModel, entity)
         // Verify there is an @Id property.
         entityModel.ensureIdProperty()
         // Verify there is at most 1 unique property with REPLACE strategy.
@@ -360,7 +512,7 @@ open class ObjectBoxProcessor : AbstractProcessor() {
         relations.ensureToOneIdRefProperties(entityModel)
 
         // signal if a constructor will be available
-        entityModel.setHasAllArgsConstructor(entity.hasAllPropertiesConstructor(entityModel))
+        entityModel.setHasAllArgsConstructor(entity.hasAllPropertiesConstructor(entityModel, typeHelper))
 
         // Require an all-properties or no-arg constructor so the native (JNI) database code can create objects.
         // Note: visibility is not checked, access restrictions don't apply to native code.
@@ -377,16 +529,16 @@ open class ObjectBoxProcessor : AbstractProcessor() {
 
     /**
      * Starting from the given [type] walks up the inheritance chain and for each super type
-     * that has a match in [annotatedElements] adds that element to the [entityInheritanceChain].
+     * that is annotated with @BaseEntity or @Entity adds its element to the [entityInheritanceChain].
      */
     private fun findAnnotatedSuperElements(
-        annotatedElements: Set<Element>,
         entityInheritanceChain: MutableList<Element>,
         type: TypeMirror
     ): Boolean {
-        // Implementation note: it can NOT be assumed that for each of directSupertypes(type) there
-        // will be an element in RoundEnvironment.rootElements. E.g when processing is incremental rootElements
-        // only contains annotated elements (for this processor @BaseEntity and @Entity classes).
+        // Implementation note: do NOT look for super types in the RoundEnvironment. It can not be assumed that each
+        // annotated super type is an element of this round: e.g. when processing is incremental and only a class
+        // in between changed, or if the super type is in a library. Instead, resolve the element of each super type
+        // and check its annotations, these are also available for elements read from class files.
 
         // Note: Why can there be multiple super types? Because interfaces are considered super types.
         for (superType in typeUtils.directSupertypes(type)) {
@@ -396,46 +548,41 @@ open class ObjectBoxProcessor : AbstractProcessor() {
             }
             if (debug) messages.debug("$type has super type $superType.")
 
-            // If there is an annotated element that matches this super type, find it.
-            val matchingElement = annotatedElements.find { annotatedElement ->
-                if (annotatedElement.kind != ElementKind.CLASS) {
-                    // The @BaseEntity and @Entity annotation should be restricted to classes by the compiler,
-                    // but to be sure ignore any annotated element that is not a class.
-                    false
-                } else {
-                    // Note: if directSupertypes() returns parameterized types they are specific (e.g. BaseEntity<String>),
-                    // in contrast parameterized types of elements of the round environment are generic (e.g. BaseEntity<T>).
-                    // So before comparing, erase any parameter types (e.g. BaseEntity<T> -> BaseEntity).
-                    typeUtils.isSameType(typeUtils.erasure(annotatedElement.asType()), typeUtils.erasure(superType))
-                }
-            }
-            // If there is a match, add the element to the list.
-            matchingElement?.let {
-                entityInheritanceChain.add(it)
+            // Note: if directSupertypes() returns parameterized types they are specific (e.g. BaseEntity<String>),
+            // the element of a type is always generic (e.g. BaseEntity<T>), so is the same for any parameter types.
+            val superElement = typeUtils.asElement(superType)
+            // The @BaseEntity and @Entity annotation should be restricted to classes by the compiler,
+            // but to be sure ignore any annotated element that is not a class.
+            val isAnnotated = superElement != null && superElement.kind == ElementKind.CLASS
+                    && (superElement.getAnnotation(BaseEntity::class.java) != null
+                    || superElement.getAnnotation(Entity::class.java) != null)
+            // If annotated, add the element to the list.
+            if (isAnnotated) {
+                entityInheritanceChain.add(superElement)
                 if (debug) messages.debug("$superType is annotated, add to inheritance chain.")
             }
 
             // Continue with checking the super types of this super type.
-            val hasMatches = findAnnotatedSuperElements(annotatedElements, entityInheritanceChain, superType)
+            val hasMatches = findAnnotatedSuperElements(entityInheritanceChain, superType)
 
             // Do not check sibling super types if this one or its parents are matches
             // (this is fine as Java has no multi-inheritance).
-            if (matchingElement != null || hasMatches) return true
+            if (isAnnotated || hasMatches) return true
         }
 
         return false // No matches.
     }
 
     private fun parseProperties(
-        annotatedElements: Set<Element>,
         relations: Relations,
+        typeHelper: TypeHelper,
         entityModel: ModelEntity,
         entityElement: Element
     ) {
         // The current entity...
         val entityInheritanceChain = mutableListOf(entityElement)
         // ...and its super classes that are annotated.
-        if (findAnnotatedSuperElements(annotatedElements, entityInheritanceChain, entityElement.asType())) {
+        if (findAnnotatedSuperElements(entityInheritanceChain, entityElement.asType())) {
             if (debug) messages.debug(
                 "Detected entity inheritance chain: " +
                         entityInheritanceChain.joinToString(separator = "->") { it.simpleName })
@@ -447,7 +594,7 @@ open class ObjectBoxProcessor : AbstractProcessor() {
         val entitiesSuperMostFirst = entityInheritanceChain.reversed()
         entitiesSuperMostFirst.forEach { element ->
             val isSuperEntity = entitiesSuperMostFirst.last() != element
-            with(Properties(elementUtils, typeUtils, messages, relations, entityModel, element, isSuperEntity)) {
+            with(Properties(elementUtils, typeUtils, typeHelper, messages, relations, entityModel, element, isSuperEntity)) {
                 parseFields()
                 entityModel.hasBoxStoreField =
                     entityModel.hasBoxStoreField || hasBoxStoreField() // Do not overwrite true.
@@ -487,14 +634,14 @@ open class ObjectBoxProcessor : AbstractProcessor() {
      * Returns true if the entity has a constructor where param types, names and order matches the properties of the
      * given entity model.
      */
-    private fun Element.hasAllPropertiesConstructor(entityModel: ModelEntity): Boolean {
+    private fun Element.hasAllPropertiesConstructor(entityModel: ModelEntity, typeHelper: TypeHelper): Boolean {
         if (debug) messages.debug("Checking for all-args constructor for ${entityModel.className}...")
         val constructors = ElementFilter.constructorsIn(enclosedElements)
         val properties = entityModel.properties
         for (constructor in constructors) {
             val parameters = constructor.parameters
             if (debug) messages.debug("Checking constructor $constructor...")
-            if (parameters.size == properties.size && parametersMatchProperties(parameters, properties)) {
+            if (parameters.size == properties.size && parametersMatchProperties(parameters, properties, typeHelper)) {
                 if (debug) messages.debug("Valid all-args constructor found")
                 return true
             }
@@ -505,9 +652,9 @@ open class ObjectBoxProcessor : AbstractProcessor() {
 
     private fun parametersMatchProperties(
         parameters: MutableList<out VariableElement>,
-        properties: MutableList<Property>
+        properties: MutableList<Property>,
+        typeHelper: TypeHelper
     ): Boolean {
-        val typeHelper = TypeHelper(elementUtils, typeUtils)
         for ((idx, param) in parameters.withIndex()) {
             val property = properties[idx]
             val altName = if (allowNumberedConstructorArgs) "arg$idx" else null
@@ -563,20 +710,24 @@ open class ObjectBoxProcessor : AbstractProcessor() {
         return false
     }
 
-    private fun syncIdModel(schema: Schema): Boolean {
+    /**
+     * Returns the model file (option or default path), ensures its folder exists. Returns null and reports an error
+     * if that is not possible.
+     *
+     * Only gets the [projectRoot] if using the default path.
+     */
+    private fun findModelFile(projectRoot: () -> Result<File>): File? {
         val customModelPath = this.customModelPath
         val useDefaultPath = customModelPath.isNullOrEmpty()
         val modelFile = if (useDefaultPath) {
-            try {
-                val projectRoot = findProjectRoot(filer)
-                File(projectRoot, "objectbox-models/default.json")
-            } catch (e: FileNotFoundException) {
+            val root = projectRoot().getOrElse {
                 messages.error(
                     "Could not find project root to create model file in. " +
-                            "Add absolute path to model file with processor option '$OPTION_MODEL_PATH'. (${e.message})"
+                            "Add absolute path to model file with processor option '$OPTION_MODEL_PATH'. (${it.message})"
                 )
-                return false
+                return null
             }
+            File(root, "objectbox-models/default.json")
         } else {
             File(customModelPath!!)
         }
@@ -589,77 +740,17 @@ open class ObjectBoxProcessor : AbstractProcessor() {
                         "Could not create default model folder at '${modelFolder.absolutePath}'. " +
                                 "Add absolute path to model file with processor option '$OPTION_MODEL_PATH'."
                     )
-                    return false
+                    return null
                 }
             } else {
                 messages.error(
                     "The model folder does not exist at '${modelFolder.absolutePath}'" +
                             " (based on the option $OPTION_MODEL_PATH='$customModelPath')."
                 )
-                return false
+                return null
             }
         }
-
-        try {
-            IdSync(modelFile).sync(schema)
-        } catch (e: IdSyncException) {
-            messages.error(e.message ?: "Could not sync id model for unknown reason.")
-            return false
-        }
-
-        return true
-    }
-
-    /**
-     * Checks sync enabled entities to not contain relations to not synced entities
-     * and to only contain unique indexes with REPLACE conflict strategy. Returns
-     * false if any check has failed. Adds error messages for each failed check.
-     */
-    private fun checkSyncEnabledEntities(entities: List<ModelEntity>): Boolean {
-        var hasNoFailures = true
-        entities
-            .filter { it.isSyncEnabled }
-            .forEach { syncedEntity ->
-                // Check there are no relations to not synced entities.
-                syncedEntity.toOneRelations
-                    .forEach {
-                        if (!it.targetEntity!!.checkIsSynced(syncedEntity, it.name)) {
-                            hasNoFailures = false
-                        }
-                    }
-                syncedEntity.toManyRelations
-                    .forEach {
-                        if (!it.targetEntity!!.checkIsSynced(syncedEntity, it.name)) {
-                            hasNoFailures = false
-                        }
-                    }
-                // Check that all unique indexes use the REPLACE conflict strategy.
-                val uniqueNotReplaceIndexes = syncedEntity.indexes.filter {
-                    it.isUnique && !it.isUniqueOnConflictReplace
-                }
-                if (uniqueNotReplaceIndexes.isNotEmpty()) {
-                    hasNoFailures = false
-                    messages.error(
-                        "Synced entities must use @Unique(onConflict = ConflictStrategy.REPLACE) for all unique properties, but found others in '${syncedEntity.className}':\n${
-                            uniqueNotReplaceIndexes.joinToString(separator = "\n") { "  ${it.properties[0].propertyName}" }
-                        }",
-                        syncedEntity
-                    )
-                }
-            }
-        return hasNoFailures
-    }
-
-    private fun ModelEntity.checkIsSynced(syncedEntity: ModelEntity, relationName: String): Boolean {
-        return if (isSyncEnabled) {
-            true
-        } else {
-            messages.error(
-                "Synced entity '${syncedEntity.className}' can't have a relation to not-synced entity '$className', but found relation '$relationName'.",
-                syncedEntity
-            )
-            false
-        }
+        return modelFile
     }
 
 }
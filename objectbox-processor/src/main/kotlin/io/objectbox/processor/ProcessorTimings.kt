@@ -0,0 +1,98 @@
+/*
+ * ObjectBox Build Tools
+ * Copyright (C) 2025 ObjectBox Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.objectbox.processor
+
+import java.io.File
+import java.util.Locale
+
+/**
+ * Measures the time of each processing phase using a monotonic clock ([System.nanoTime]). Phases measured more than
+ * once add up. Also holds the time it took to generate each file, see [io.objectbox.generator.GeneratorJob.fileTimesNanos].
+ */
+class ProcessorTimings {
+
+    companion object {
+        const val REPORT_FILE_NAME = "processor-timings.json"
+    }
+
+    private val startNanos = System.nanoTime()
+    private val nanosByPhase = LinkedHashMap<String, Long>()
+
+    /** Time to generate each file in nanoseconds, keyed by file name. Filled by the generator. */
+    val nanosByFile = LinkedHashMap<String, Long>()
+
+    inline fun <T> measure(phase: String, block: () -> T): T {
+        val start = System.nanoTime()
+        try {
+            return block()
+        } finally {
+            add(phase, System.nanoTime() - start)
+        }
+    }
+
+    fun add(phase: String, nanos: Long) {
+        nanosByPhase[phase] = (nanosByPhase[phase] ?: 0) + nanos
+    }
+
+    /**
+     * Returns a single line listing the time of each phase and the total time since this was created.
+     */
+    fun summary(): String {
+        val phases = nanosByPhase.entries.joinToString(", ") { "${it.key} ${millis(it.value)}" }
+        return "Processor timings (ms): $phases, total ${millis(System.nanoTime() - startNanos)}" +
+                " (${nanosByFile.size} files generated)"
+    }
+
+    /**
+     * Writes the time of each phase and of each generated file in milliseconds as JSON to the given file.
+     */
+    fun writeReport(file: File, entityCount: Int) {
+        val json = StringBuilder()
+        json.append("{\n")
+        json.append("  \"entities\": ").append(entityCount).append(",\n")
+        json.append("  \"totalMillis\": ").append(millis(System.nanoTime() - startNanos)).append(",\n")
+        json.append("  \"phases\": ")
+        appendMillisObject(json, nanosByPhase)
+        json.append(",\n")
+        json.append("  \"files\": ")
+        appendMillisObject(json, nanosByFile)
+        json.append("\n}\n")
+        file.parentFile?.mkdirs()
+        file.writeText(json.toString())
+    }
+
+    private fun appendMillisObject(json: StringBuilder, nanosByName: Map<String, Long>) {
+        if (nanosByName.isEmpty()) {
+            json.append("{}")
+            return
+        }
+        json.append("{\n")
+        nanosByName.entries.forEachIndexed { index, (name, nanos) ->
+            val escapedName = name.replace("\\", "\\\\").replace("\"", "\\\"")
+            json.append("    \"").append(escapedName).append("\": ").append(millis(nanos))
+            if (index < nanosByName.size - 1) json.append(',')
+            json.append('\n')
+        }
+        json.append("  }")
+    }
+
+    // Always use a dot as decimal separator, also to write valid JSON.
+    private fun millis(nanos: Long): String = String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0)
+
+}
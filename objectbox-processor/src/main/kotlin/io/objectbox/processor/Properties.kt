@@ -55,6 +55,7 @@ import javax.lang.model.element.AnnotationMirror
 import javax.lang.model.element.Element
 import javax.lang.model.element.ExecutableElement
 import javax.lang.model.element.Modifier
+import javax.lang.model.element.TypeElement
 import javax.lang.model.element.VariableElement
 import javax.lang.model.type.TypeMirror
 import javax.lang.model.util.ElementFilter
@@ -67,6 +68,7 @@ import javax.lang.model.util.Types
 class Properties(
     private val elementUtils: Elements,
     private val typeUtils: Types,
+    private val typeHelper: TypeHelper,
     private val messages: Messages,
     private val relations: Relations,
     private val entityModel: Entity,
@@ -74,8 +76,6 @@ class Properties(
     private val isSuperEntity: Boolean
 ) {
 
-    private val typeHelper = TypeHelper(elementUtils, typeUtils)
-
     private val fields: List<VariableElement> = ElementFilter.fieldsIn(entityElement.enclosedElements)
     private val methods: List<ExecutableElement> = ElementFilter.methodsIn(entityElement.enclosedElements)
 
@@ -177,6 +177,8 @@ class Properties(
         } ?: return
 
         propertyBuilder.property.parsedElement = field
+        propertyBuilder.property.declaringClassName =
+            elementUtils.getBinaryName(field.enclosingElement as TypeElement).toString()
 
         // checks if field is accessible
         val isPrivate = field.modifiers.contains(Modifier.PRIVATE)
@@ -227,9 +227,7 @@ class Relations(private val messages: Messages) {
     }
 
     private fun findTargetEntityOrRaiseError(schema: Schema, targetEntityName: String, sourceEntity: Entity): Entity? {
-        val targetEntity = schema.entities.singleOrNull {
-            it.className == targetEntityName
-        }
+        val targetEntity = schema.findEntityByClassName(targetEntityName)
         if (targetEntity == null) {
             messages.error(
                 "Relation target class '$targetEntityName' " +
@@ -0,0 +1,185 @@
+/*
+ * ObjectBox Build Tools
+ * Copyright (C) 2025 ObjectBox Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.objectbox.processor
+
+import io.objectbox.generator.BoxGenerator
+import io.objectbox.generator.GeneratorJob
+import io.objectbox.generator.idsync.IdSync
+import io.objectbox.generator.idsync.IdSyncCache
+import io.objectbox.generator.idsync.IdSyncException
+import io.objectbox.generator.model.Schema
+import io.objectbox.reporting.BasicBuildTracker
+import java.io.File
+import io.objectbox.generator.model.Entity as ModelEntity
+
+/**
+ * Processes a [Schema] once it was parsed from entity classes: checks and finishes it, syncs it with the model file
+ * and generates code for it.
+ *
+ * Only depends on the model and reports to a [SchemaReporter], so it does not depend on how the schema was parsed.
+ */
+class SchemaGenerator(private val messages: SchemaReporter, private val daoCompat: Boolean) {
+
+    /**
+     * Checks the schema and finishes it. Returns false if that failed, errors are reported to [messages].
+     */
+    fun finish(schema: Schema): Boolean {
+        if (!checkSyncEnabledEntities(schema.entities)) {
+            return false
+        }
+
+        try {
+            schema.finish()
+        } catch (e: Exception) {
+            messages.error("Code generation failed: $e")
+            e.printStackTrace()
+            return false
+        }
+        return true
+    }
+
+    /**
+     * Assigns IDs to the finished schema and updates the given model file. Returns false if that failed, errors are
+     * reported to [messages]. If [cacheFile] is given, applies the IDs cached there if nothing changed since the last
+     * sync (see [IdSyncCache]). Only computes model fingerprints if [modelFingerprints]. If [timings] is given,
+     * measures reading the model file and syncing separately.
+     */
+    fun syncIdModel(
+        schema: Schema,
+        modelFile: File,
+        cacheFile: File? = null,
+        modelFingerprints: Boolean = false,
+        timings: ProcessorTimings? = null
+    ): Boolean {
+        val cache = cacheFile?.let { IdSyncCache(modelFile, it, modelFingerprints) }
+        if (cache != null) {
+            val applied = if (timings != null) {
+                timings.measure("idSyncCache") { cache.applyIfUnchanged(schema) }
+            } else {
+                cache.applyIfUnchanged(schema)
+            }
+            if (applied) {
+                messages.debug("Applied cached IDs, entities and model file are unchanged.")
+                return true
+            }
+        }
+
+        try {
+            if (timings != null) {
+                val idSync = timings.measure("idSyncRead") { IdSync(modelFile) }
+                timings.measure("idSyncSync") { idSync.sync(schema, modelFingerprints) }
+            } else {
+                IdSync(modelFile).sync(schema, modelFingerprints)
+            }
+        } catch (e: IdSyncException) {
+            messages.error(e.message ?: "Could not sync id model for unknown reason.")
+            return false
+        }
+        cache?.store(schema)
+        return true
+    }
+
+    /**
+     * Generates code for the finished and synced schema using the job created by [createJob]. Errors, also those
+     * creating the job (like missing output folders), are reported to [messages].
+     */
+    fun generate(schema: Schema, createJob: () -> GeneratorJob) {
+        var completed = false
+        try {
+            BoxGenerator().generateAll(createJob())
+            completed = true
+        } catch (e: Exception) {
+            messages.error("Code generation failed: $e")
+            e.printStackTrace()
+        }
+        trackStats(schema, completed)
+    }
+
+    private fun trackStats(schema: Schema, completed: Boolean) {
+        var toOneCount = 0
+        var toManyCount = 0
+        var propertyCount = 0
+        for (entity in schema.entities) {
+            toManyCount += entity.toManyRelations?.size ?: 0
+            toOneCount += entity.toOneRelations?.size ?: 0
+            propertyCount += entity.properties?.size ?: 0
+        }
+        BasicBuildTracker("Processor").trackStats(
+            daoCompat = daoCompat,
+            completed = completed,
+            entityCount = schema.entities.size,
+            propertyCount = propertyCount,
+            toManyCount = toManyCount,
+            toOneCount = toOneCount
+        )
+    }
+
+    /**
+     * Checks sync enabled entities to not contain relations to not synced entities
+     * and to only contain unique indexes with REPLACE conflict strategy. Returns
+     * false if any check has failed. Adds error messages for each failed check.
+     */
+    private fun checkSyncEnabledEntities(entities: List<ModelEntity>): Boolean {
+        var hasNoFailures = true
+        entities
+            .filter { it.isSyncEnabled }
+            .forEach { syncedEntity ->
+                // Check there are no relations to not synced entities.
+                syncedEntity.toOneRelations
+                    .forEach {
+                        if (!it.targetEntity!!.checkIsSynced(syncedEntity, it.name)) {
+                            hasNoFailures = false
+                        }
+                    }
+                syncedEntity.toManyRelations
+                    .forEach {
+                        if (!it.targetEntity!!.checkIsSynced(syncedEntity, it.name)) {
+                            hasNoFailures = false
+                        }
+                    }
+                // Check that all unique indexes use the REPLACE conflict strategy.
+                val uniqueNotReplaceIndexes = syncedEntity.indexes.filter {
+                    it.isUnique && !it.isUniqueOnConflictReplace
+                }
+                if (uniqueNotReplaceIndexes.isNotEmpty()) {
+                    hasNoFailures = false
+                    messages.error(
+                        "Synced entities must use @Unique(onConflict = ConflictStrategy.REPLACE) for all unique properties, but found others in '${syncedEntity.className}':\n${
+                            uniqueNotReplaceIndexes.joinToString(separator = "\n") { "  ${it.properties[0].propertyName}" }
+                        }",
+                        syncedEntity
+                    )
+                }
+            }
+        return hasNoFailures
+    }
+
+    private fun ModelEntity.checkIsSynced(syncedEntity: ModelEntity, relationName: String): Boolean {
+        return if (isSyncEnabled) {
+            true
+        } else {
+            messages.error(
+                "Synced entity '${syncedEntity.className}' can't have a relation to not-synced entity '$className', but found relation '$relationName'.",
+                syncedEntity
+            )
+            false
+        }
+    }
+
+}
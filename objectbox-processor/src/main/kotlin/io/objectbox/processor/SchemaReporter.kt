@@ -0,0 +1,35 @@
+/*
+ * ObjectBox Build Tools
+ * Copyright (C) 2025 ObjectBox Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.objectbox.processor
+
+import io.objectbox.generator.model.HasParsedElement
+
+/**
+ * Receives the messages of a [SchemaGenerator]. Implemented by the frontend that parsed the schema, like [Messages]
+ * for the annotation processor, which can link errors to the source of the parsed element of a model object.
+ */
+interface SchemaReporter {
+
+    /** Reports a message only useful when debugging. */
+    fun debug(message: String)
+
+    /** Reports an error, if [elementHolder] is given, for the source its model object was parsed from. */
+    fun error(message: String, elementHolder: HasParsedElement? = null)
+
+}
@@ -22,6 +22,7 @@ import io.objectbox.generator.model.PropertyType
 import io.objectbox.relation.ToMany
 import io.objectbox.relation.ToOne
 import java.util.*
+import javax.lang.model.element.TypeElement
 import javax.lang.model.type.ArrayType
 import javax.lang.model.type.DeclaredType
 import javax.lang.model.type.TypeKind
@@ -31,6 +32,9 @@ import javax.lang.model.util.Types
 
 /**
  * Helps translate processor types to objectbox types.
+ *
+ * Comparing types is expensive, so the results for declared types are cached by the erased canonical name
+ * of the type. Create one instance per processing round and share it.
  */
 class TypeHelper(
     private val elementUtils: Elements,
@@ -58,23 +62,78 @@ class TypeHelper(
     private val typeList = List::class.java.getTypeMirror(eraseTypeParameters = true)
 
     /**
-     * Checks if this [TypeMirror] is the same type as [otherType]. If [eraseTypeParameters] is set,
-     * erases type parameters before comparing (e.g. `ToOne<Example>` as `ToOne`).
+     * What is known about a declared type, ignoring its type parameters (e.g. `ToOne<Example>` as `ToOne`).
+     */
+    private class DeclaredTypeInfo(
+        /** The property type if the type is a supported (boxed) scalar, Date or String type. */
+        val propertyType: PropertyType?,
+        val isToOne: Boolean,
+        val isToMany: Boolean,
+        val isList: Boolean,
+        val isMap: Boolean,
+        val isObject: Boolean
+    )
+
+    private val declaredTypeInfos = HashMap<String, DeclaredTypeInfo>()
+
+    /**
+     * Returns info about this type if it is a declared type, otherwise null. Info is cached by the erased
+     * canonical name, which is unique within a compilation (except for local and anonymous classes, which are
+     * not cached).
+     */
+    private fun TypeMirror.declaredTypeInfo(): DeclaredTypeInfo? {
+        if (kind != TypeKind.DECLARED) return null
+        val name = ((this as DeclaredType).asElement() as TypeElement).qualifiedName.toString()
+        if (name.isEmpty()) return createDeclaredTypeInfo(typeUtils.erasure(this))
+        return declaredTypeInfos.getOrPut(name) { createDeclaredTypeInfo(typeUtils.erasure(this)) }
+    }
+
+    private fun createDeclaredTypeInfo(erasedType: TypeMirror): DeclaredTypeInfo {
+        // also handles Kotlin types as they are mapped to Java primitive (wrapper) types at compile time
+        val propertyType = when {
+            erasedType.isSameTypeAs(typeShort) -> PropertyType.Short
+            erasedType.isSameTypeAs(typeInteger) -> PropertyType.Int
+            erasedType.isSameTypeAs(typeLong) -> PropertyType.Long
+            erasedType.isSameTypeAs(typeFloat) -> PropertyType.Float
+            erasedType.isSameTypeAs(typeDouble) -> PropertyType.Double
+            erasedType.isSameTypeAs(typeBoolean) -> PropertyType.Boolean
+            erasedType.isSameTypeAs(typeByte) -> PropertyType.Byte
+            erasedType.isSameTypeAs(typeDate) -> PropertyType.Date
+            erasedType.isSameTypeAs(typeCharacter) -> PropertyType.Char
+            erasedType.isSameTypeAs(typeString) -> PropertyType.String
+            else -> null
+        }
+        return DeclaredTypeInfo(
+            propertyType = propertyType,
+            isToOne = propertyType == null && erasedType.isSameTypeAs(typeToOne),
+            isToMany = propertyType == null && erasedType.isSameTypeAs(typeToMany),
+            isList = propertyType == null && erasedType.isSameTypeAs(typeList),
+            isMap = propertyType == null && erasedType.isSameTypeAs(typeMap),
+            isObject = propertyType == null && erasedType.isSameTypeAs(typeObject)
+        )
+    }
+
+    /**
+     * Checks if this [TypeMirror] is the same type as [otherType].
      */
-    private fun TypeMirror.isSameTypeAs(otherType: TypeMirror, eraseTypeParameters: Boolean = false): Boolean {
-        return typeUtils.isSameType(if (eraseTypeParameters) typeUtils.erasure(this) else this, otherType)
+    private fun TypeMirror.isSameTypeAs(otherType: TypeMirror): Boolean {
+        return typeUtils.isSameType(this, otherType)
+    }
+
+    private fun TypeMirror.isDeclaredAs(propertyType: PropertyType): Boolean {
+        return declaredTypeInfo()?.propertyType == propertyType
     }
 
     fun isToOne(typeMirror: TypeMirror): Boolean {
-        return typeMirror.isSameTypeAs(typeToOne, eraseTypeParameters = true)
+        return typeMirror.declaredTypeInfo()?.isToOne == true
     }
 
     fun isToMany(typeMirror: TypeMirror): Boolean {
-        return typeMirror.isSameTypeAs(typeToMany, eraseTypeParameters = true)
+        return typeMirror.declaredTypeInfo()?.isToMany == true
     }
 
     fun isList(typeMirror: TypeMirror): Boolean {
-        return typeMirror.isSameTypeAs(typeList, eraseTypeParameters = true)
+        return typeMirror.declaredTypeInfo()?.isList == true
     }
 
     fun isStringList(typeMirror: TypeMirror): Boolean {
@@ -84,56 +143,56 @@ class TypeHelper(
         // Map must have 1, verify anyhow.
         if (typeArguments.size != 1) return false
 
-        return typeArguments[0].isSameTypeAs(typeString)
+        return typeArguments[0].isDeclaredAs(PropertyType.String)
     }
 
     private fun TypeMirror.isMapOf(
-        expectedKeyType: TypeMirror,
-        expectedValueType: TypeMirror? = null
+        expectedKeyType: PropertyType,
+        expectedValueType: PropertyType? = null
     ): Boolean {
-        if (!isSameTypeAs(typeMap, eraseTypeParameters = true)) return false
+        if (declaredTypeInfo()?.isMap != true) return false
 
         val typeArguments = (this as DeclaredType).typeArguments
         // Map must have 2, verify anyhow.
         if (typeArguments.size != 2) return false
 
-        val keyTypeMatches = typeArguments[0].isSameTypeAs(expectedKeyType)
+        val keyTypeMatches = typeArguments[0].isDeclaredAs(expectedKeyType)
         if (!keyTypeMatches || expectedValueType == null) {
             return keyTypeMatches
         }
-        return typeArguments[1].isSameTypeAs(expectedValueType)
+        return typeArguments[1].isDeclaredAs(expectedValueType)
     }
 
     fun isStringMap(typeMirror: TypeMirror): Boolean {
-        return typeMirror.isMapOf(typeString)
+        return typeMirror.isMapOf(PropertyType.String)
     }
 
     fun isStringLongMap(typeMirror: TypeMirror): Boolean {
-        return typeMirror.isMapOf(typeString, typeLong)
+        return typeMirror.isMapOf(PropertyType.String, PropertyType.Long)
     }
 
     fun isStringStringMap(typeMirror: TypeMirror): Boolean {
-        return typeMirror.isMapOf(typeString, typeString)
+        return typeMirror.isMapOf(PropertyType.String, PropertyType.String)
     }
 
     fun isIntegerMap(typeMirror: TypeMirror): Boolean {
-        return typeMirror.isMapOf(typeInteger)
+        return typeMirror.isMapOf(PropertyType.Int)
     }
 
     fun isIntegerLongMap(typeMirror: TypeMirror): Boolean {
-        return typeMirror.isMapOf(typeInteger, typeLong)
+        return typeMirror.isMapOf(PropertyType.Int, PropertyType.Long)
     }
 
     fun isLongMap(typeMirror: TypeMirror): Boolean {
-        return typeMirror.isMapOf(typeLong)
+        return typeMirror.isMapOf(PropertyType.Long)
     }
 
     fun isLongLongMap(typeMirror: TypeMirror): Boolean {
-        return typeMirror.isMapOf(typeLong, typeLong)
+        return typeMirror.isMapOf(PropertyType.Long, PropertyType.Long)
     }
 
     fun isObject(typeMirror: TypeMirror): Boolean {
-        return typeMirror.isSameTypeAs(typeObject)
+        return typeMirror.declaredTypeInfo()?.isObject == true
     }
 
     /**
@@ -144,78 +203,35 @@ class TypeHelper(
             return null
         }
 
-        val kind = typeMirror.kind
-
-        // also handles Kotlin types as they are mapped to Java primitive (wrapper) types at compile time
-        if (typeMirror.isSameTypeAs(typeShort) || kind == TypeKind.SHORT) {
-            return PropertyType.Short
-        }
-        if (typeMirror.isSameTypeAs(typeInteger) || kind == TypeKind.INT) {
-            return PropertyType.Int
-        }
-        if (typeMirror.isSameTypeAs(typeLong) || kind == TypeKind.LONG) {
-            return PropertyType.Long
-        }
-
-        if (typeMirror.isSameTypeAs(typeFloat) || kind == TypeKind.FLOAT) {
-            return PropertyType.Float
-        }
-        if (typeMirror.isSameTypeAs(typeDouble) || kind == TypeKind.DOUBLE) {
-            return PropertyType.Double
-        }
-
-        if (typeMirror.isSameTypeAs(typeBoolean) || kind == TypeKind.BOOLEAN) {
-            return PropertyType.Boolean
-        }
-        if (typeMirror.isSameTypeAs(typeByte) || kind == TypeKind.BYTE) {
-            return PropertyType.Byte
-        }
-        if (typeMirror.isSameTypeAs(typeDate)) {
-            return PropertyType.Date
-        }
-        if (typeMirror.isSameTypeAs(typeCharacter) || kind == TypeKind.CHAR) {
-            return PropertyType.Char
-        }
-        if (typeMirror.isSameTypeAs(typeString)) {
-            return PropertyType.String
-        }
-
-        if (kind == TypeKind.ARRAY) {
-            val arrayComponentType = (typeMirror as ArrayType).componentType
-            if (arrayComponentType.kind == TypeKind.BOOLEAN) {
-                return PropertyType.BooleanArray
-            }
-            if (arrayComponentType.kind == TypeKind.BYTE) {
-                return PropertyType.ByteArray
+        return when (typeMirror.kind) {
+            TypeKind.SHORT -> PropertyType.Short
+            TypeKind.INT -> PropertyType.Int
+            TypeKind.LONG -> PropertyType.Long
+            TypeKind.FLOAT -> PropertyType.Float
+            TypeKind.DOUBLE -> PropertyType.Double
+            TypeKind.BOOLEAN -> PropertyType.Boolean
+            TypeKind.BYTE -> PropertyType.Byte
+            TypeKind.CHAR -> PropertyType.Char
+            TypeKind.DECLARED -> typeMirror.declaredTypeInfo()!!.propertyType
+                ?: if (isStringList(typeMirror)) PropertyType.StringArray else null
+
+            TypeKind.ARRAY -> {
+                val arrayComponentType = (typeMirror as ArrayType).componentType
+                when (arrayComponentType.kind) {
+                    TypeKind.BOOLEAN -> PropertyType.BooleanArray
+                    TypeKind.BYTE -> PropertyType.ByteArray
+                    TypeKind.SHORT -> PropertyType.ShortArray
+                    TypeKind.CHAR -> PropertyType.CharArray
+                    TypeKind.INT -> PropertyType.IntArray
+                    TypeKind.LONG -> PropertyType.LongArray
+                    TypeKind.FLOAT -> PropertyType.FloatArray
+                    TypeKind.DOUBLE -> PropertyType.DoubleArray
+                    else -> if (arrayComponentType.isDeclaredAs(PropertyType.String)) PropertyType.StringArray else null
+                }
             }
-            if (arrayComponentType.kind == TypeKind.SHORT) {
-                return PropertyType.ShortArray
-            }
-            if (arrayComponentType.kind == TypeKind.CHAR) {
-                return PropertyType.CharArray
-            }
-            if (arrayComponentType.kind == TypeKind.INT) {
-                return PropertyType.IntArray
-            }
-            if (arrayComponentType.kind == TypeKind.LONG) {
-                return PropertyType.LongArray
-            }
-            if (arrayComponentType.kind == TypeKind.FLOAT) {
-                return PropertyType.FloatArray
-            }
-            if (arrayComponentType.kind == TypeKind.DOUBLE) {
-                return PropertyType.DoubleArray
-            }
-            if (arrayComponentType.isSameTypeAs(typeString)) {
-                return PropertyType.StringArray
-            }
-        }
 
-        if (isStringList(typeMirror)) {
-            return PropertyType.StringArray
+            else -> null
         }
-
-        return null
     }
 
     /**
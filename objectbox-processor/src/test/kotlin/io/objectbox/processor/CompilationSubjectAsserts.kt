@@ -18,10 +18,13 @@
 
 package io.objectbox.processor
 
+import com.google.common.truth.Truth.assertWithMessage
 import com.google.testing.compile.Compilation
 import com.google.testing.compile.CompilationSubject
 import com.google.testing.compile.JavaFileObjectSubject
 import com.google.testing.compile.JavaFileObjects
+import java.util.Collections
+import java.util.WeakHashMap
 
 
 /**
@@ -44,12 +47,53 @@ fun Compilation.generatedSourceFileOrFail(qualifiedName: String): JavaFileObject
     return generatedFile
 }
 
+/**
+ * Asserts the generated source is equivalent to the expected source file. If compiled using a [TestEnvironment],
+ * also asserts generating with [ObjectBoxProcessor.OPTION_PRECOMPUTED_MODEL] results in exactly the same model.
+ */
 fun Compilation.assertGeneratedSourceMatches(qualifiedName: String, fileName: String): Compilation {
     generatedSourceFileOrFail(qualifiedName)
         .hasSourceEquivalentTo(JavaFileObjects.forResource("expected-source/$fileName"))
+    assertPrecomputedModelMatches()
     return this
 }
 
+private val precomputedModelChecked = Collections.newSetFromMap(WeakHashMap<Compilation, Boolean>())
+
+/**
+ * If compiled using a [TestEnvironment], asserts the model precomputed with
+ * [ObjectBoxProcessor.OPTION_PRECOMPUTED_MODEL] is byte-identical to the one built by the ModelBuilder code of the
+ * generated MyObjectBox class. Checks each compilation only once.
+ */
+private fun Compilation.assertPrecomputedModelMatches() {
+    if (!precomputedModelChecked.add(this)) return
+    val myObjectBoxName = generatedSourceFiles()
+        .map { it.name.substringAfter("/SOURCE_OUTPUT/").removeSuffix(".java").replace('/', '.') }
+        .singleOrNull { it == "MyObjectBox" || it.endsWith(".MyObjectBox") }
+        ?: return
+    val precomputedCompilation = TestEnvironment.variantCompilation(
+        this, mapOf(ObjectBoxProcessor.OPTION_PRECOMPUTED_MODEL to "true")
+    ) ?: return
+    assertWithMessage("$myObjectBoxName with precomputed model uses ModelBuilder")
+        .that(precomputedCompilation.generatedSourceText(myObjectBoxName)).doesNotContain("ModelBuilder")
+    assertWithMessage("Model precomputed for $myObjectBoxName")
+        .that(precomputedCompilation.invokeGetModel(myObjectBoxName))
+        .isEqualTo(invokeGetModel(myObjectBoxName))
+}
+
+/**
+ * Loads the generated MyObjectBox class and returns the model returned by its private getModel method.
+ */
+fun Compilation.invokeGetModel(myObjectBoxName: String): ByteArray {
+    val getModel = GeneratedClassLoader(this).loadClass(myObjectBoxName).getDeclaredMethod("getModel")
+    getModel.isAccessible = true
+    return getModel.invoke(null) as ByteArray
+}
+
+private fun Compilation.generatedSourceText(qualifiedName: String): String? {
+    return generatedSourceFile(qualifiedName).orElse(null)?.getCharContent(true)?.toString()
+}
+
 /**
  * Assumes type is in "io.objectbox.processor.test" package and file is named "$simpleName.java".
  */
@@ -0,0 +1,44 @@
+/*
+ * ObjectBox Build Tools
+ * Copyright (C) 2025 ObjectBox Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.objectbox.processor
+
+import com.google.testing.compile.Compilation
+import javax.tools.JavaFileObject
+
+/**
+ * Loads the classes generated by a compilation, all other classes are loaded from the test class path.
+ */
+class GeneratedClassLoader(compilation: Compilation) : ClassLoader(GeneratedClassLoader::class.java.classLoader) {
+
+    private val classFiles = compilation.generatedFiles()
+        .filter { it.kind == JavaFileObject.Kind.CLASS }
+        .associate {
+            it.name.substringAfter("/CLASS_OUTPUT/").removeSuffix(".class").replace('/', '.') to
+                    it.openInputStream().use { input -> input.readBytes() }
+        }
+
+    val definedClassNames = mutableListOf<String>()
+
+    override fun findClass(name: String): Class<*> {
+        val bytes = classFiles[name] ?: throw ClassNotFoundException(name)
+        definedClassNames.add(name)
+        return defineClass(name, bytes, 0, bytes.size)
+    }
+
+}
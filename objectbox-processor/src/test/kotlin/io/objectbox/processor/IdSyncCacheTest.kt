@@ -0,0 +1,98 @@
+/*
+ * ObjectBox Build Tools
+ * Copyright (C) 2025 ObjectBox Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.objectbox.processor
+
+import com.google.common.truth.Truth.assertThat
+import com.google.testing.compile.Compilation
+import org.junit.Test
+import java.io.File
+
+/**
+ * Tests [ObjectBoxProcessor.OPTION_ID_SYNC_CACHE].
+ */
+class IdSyncCacheTest : BaseProcessorTest() {
+
+    @Test
+    fun idSyncCache_appliesCachedIdsIfUnchanged() {
+        File("build/objectbox").listFiles { file -> file.name.startsWith("idsync-cache-") }?.forEach { it.delete() }
+
+        fun compile(): Compilation {
+            val environment = TestEnvironment(
+                "backlink-to-many.json",
+                options = mapOf(ObjectBoxProcessor.OPTION_ID_SYNC_CACHE to "true")
+            )
+            val compilation = environment.compile("BacklinkToOneTarget", "BacklinkToOneSource")
+            compilation.assertThatIt { succeededWithoutWarnings() }
+            return compilation
+        }
+
+        fun Compilation.appliedCachedIds() = notes().any {
+            it.getMessage(null).contains("Applied cached IDs")
+        }
+
+        fun Compilation.sources() = generatedSourceFiles()
+            .associate { it.name to it.getCharContent(true).toString() }
+
+        // Syncs with the model file and caches IDs.
+        val synced = compile()
+        assertThat(synced.appliedCachedIds()).isFalse()
+        // Model file and entities unchanged (the model file is always a fresh copy of the original).
+        val cached = compile()
+        assertThat(cached.appliedCachedIds()).isTrue()
+        assertThat(cached.sources()).containsExactlyEntriesIn(synced.sources())
+    }
+
+    @Test
+    fun idSyncCache_withDefaultModelFileAndTimings_works() {
+        // Without the model path option (like with the Gradle plugin) the model file, the ID cache and the timings
+        // report are all placed relative to the project root.
+        val modelDir = File("objectbox-models")
+        assertThat(modelDir.exists()).isFalse()
+        val reportFile = File("build/objectbox/${ProcessorTimings.REPORT_FILE_NAME}")
+        reportFile.delete()
+        try {
+            fun compile(): Compilation {
+                val environment = TestEnvironment(
+                    "default.json",
+                    useTemporaryModelFile = true,
+                    useModelPathOption = false,
+                    options = mapOf(
+                        ObjectBoxProcessor.OPTION_ID_SYNC_CACHE to "true",
+                        ObjectBoxProcessor.OPTION_TIMINGS to "true"
+                    )
+                )
+                val compilation = environment.compile("IdEntity")
+                compilation.assertThatIt { succeededWithoutWarnings() }
+                // The Filer refuses to create a probe resource with the same name again (probe names only differ
+                // by the time), so should only probe for the project root once.
+                assertThat(compilation.generatedFiles().count { it.name.contains("objectbox-probe") }).isEqualTo(1)
+                return compilation
+            }
+
+            compile()
+            assertThat(File(modelDir, "default.json").exists()).isTrue()
+            assertThat(reportFile.exists()).isTrue()
+            val cached = compile()
+            assertThat(cached.notes().any { it.getMessage(null).contains("Applied cached IDs") }).isTrue()
+        } finally {
+            modelDir.deleteRecursively()
+        }
+    }
+
+}
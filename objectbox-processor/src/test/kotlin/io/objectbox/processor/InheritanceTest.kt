@@ -19,9 +19,14 @@
 package io.objectbox.processor
 
 import com.google.common.truth.Truth.assertThat
+import com.google.testing.compile.Compilation
+import com.google.testing.compile.Compiler
+import com.google.testing.compile.JavaFileObjects
 import io.objectbox.generator.model.PropertyType
 import org.junit.Assert
 import org.junit.Test
+import java.io.File
+import java.nio.file.Files
 import javax.tools.JavaFileObject
 
 
@@ -114,6 +119,39 @@ class InheritanceTest : BaseProcessorTest() {
             .forEach { Assert.fail("Found stray property '${it.name}' in model file.") }
     }
 
+    /**
+     * Tests that an indirect super @BaseEntity class is detected even if it is not an element of the processed round,
+     * like on an incremental run where only the entity changed. Simulated by compiling the super classes beforehand.
+     */
+    @Test
+    fun indirectBaseEntity_fromClassPath() {
+        val classesDir = Files.createTempDirectory("objectbox-inheritance").toFile()
+        try {
+            val superClasses = Compiler.javac()
+                .compile(listOf("InheritanceBase", "InheritanceNoBase").map { JavaFileObjects.forResource("$it.java") })
+            assertThat(superClasses.status()).isEqualTo(Compilation.Status.SUCCESS)
+            superClasses.generatedFiles()
+                .filter { it.kind == JavaFileObject.Kind.CLASS }
+                .forEach { classFile ->
+                    // Name is like "/CLASS_OUTPUT/io/objectbox/processor/test/InheritanceBase.class".
+                    val path = classFile.name.substringAfter("/CLASS_OUTPUT/")
+                    File(classesDir, path).apply { parentFile.mkdirs() }
+                        .outputStream().use { out -> classFile.openInputStream().use { it.copyTo(out) } }
+                }
+
+            val environment = TestEnvironment("inheritance-classpath.json", useTemporaryModelFile = true)
+            environment.classpath += classesDir
+            environment.compile("InheritanceSub", "InheritanceInterface")
+                .assertThatIt { succeededWithoutWarnings() }
+
+            val schemaEntity = environment.schema.entities.single()
+            assertThat(schemaEntity.properties.map { it.propertyName })
+                .containsExactly("id", "baseString", "overriddenString", "subString").inOrder()
+        } finally {
+            classesDir.deleteRecursively()
+        }
+    }
+
     @Test
     fun genericBaseEntity() {
         val nameBase = "InheritanceBaseGeneric"
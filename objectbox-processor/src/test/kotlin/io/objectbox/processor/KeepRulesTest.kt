@@ -0,0 +1,144 @@
+/*
+ * ObjectBox Build Tools
+ * Copyright (C) 2025 ObjectBox Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.objectbox.processor
+
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import javax.tools.StandardLocation
+
+/**
+ * Tests [ObjectBoxProcessor.OPTION_KEEP_RULES].
+ */
+class KeepRulesTest : BaseProcessorTest() {
+
+    @Test
+    fun keepRules_keepOnlyMembersUsedByNativeCode() {
+        val environment = TestEnvironment(
+            "keep-rules.json",
+            useTemporaryModelFile = true,
+            options = mapOf(ObjectBoxProcessor.OPTION_KEEP_RULES to "true")
+        )
+        environment.addSourceFile(
+            "com.example.Base", """
+            package com.example;
+            import io.objectbox.annotation.BaseEntity;
+            import io.objectbox.annotation.Id;
+
+            @BaseEntity
+            public abstract class Base {
+                @Id public long id;
+                public String baseName;
+            }
+            """.trimIndent()
+        )
+        environment.addSourceFile(
+            "com.example.Example", """
+            package com.example;
+            import io.objectbox.annotation.Entity;
+            import io.objectbox.relation.ToOne;
+
+            @Entity
+            public class Example extends Base {
+                public String name;
+                public ToOne<Other> other;
+            }
+            """.trimIndent()
+        )
+        environment.addSourceFile(
+            "com.example.Other", """
+            package com.example;
+            import io.objectbox.annotation.Entity;
+            import io.objectbox.annotation.Id;
+
+            @Entity
+            public class Other {
+                @Id public long id;
+                public String value;
+
+                public Other(long id, String value) {
+                    this.id = id;
+                    this.value = value;
+                }
+            }
+            """.trimIndent()
+        )
+        environment.addSourceFile(
+            "com.example.Outer", """
+            package com.example;
+            import io.objectbox.annotation.BaseEntity;
+            import io.objectbox.annotation.Id;
+
+            public class Outer {
+                @BaseEntity
+                public static abstract class NestedBase {
+                    @Id public long id;
+                }
+            }
+            """.trimIndent()
+        )
+        environment.addSourceFile(
+            "com.example.Nested", """
+            package com.example;
+            import io.objectbox.annotation.Entity;
+
+            @Entity
+            public class Nested extends Outer.NestedBase {
+                public String value;
+            }
+            """.trimIndent()
+        )
+        val compilation = environment.compile()
+        compilation.assertThatIt { succeededWithoutWarnings() }
+
+        val rules = compilation
+            .generatedFile(StandardLocation.CLASS_OUTPUT, "META-INF/proguard/objectbox-com.example.MyObjectBox.pro")
+            .get().getCharContent(false).toString()
+        assertEquals(
+            """
+            # THIS FILE IS GENERATED BY ObjectBox, DO NOT EDIT.
+            # Keeps the constructors and fields of entity classes used by native code.
+
+            -keepclassmembers class com.example.Example {
+                <init>();
+                *** name;
+                *** other;
+                *** __boxStore;
+            }
+            -keepclassmembers class com.example.Base {
+                *** id;
+                *** baseName;
+            }
+            -keepclassmembers class com.example.Nested {
+                <init>();
+                *** value;
+            }
+            -keepclassmembers class com.example.Outer${'$'}NestedBase {
+                *** id;
+            }
+            -keepclassmembers class com.example.Other {
+                <init>(***, ***);
+                *** id;
+                *** value;
+            }
+
+            """.trimIndent(), rules
+        )
+    }
+
+}
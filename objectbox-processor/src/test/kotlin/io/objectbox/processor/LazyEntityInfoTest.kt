@@ -0,0 +1,119 @@
+/*
+ * ObjectBox Build Tools
+ * Copyright (C) 2025 ObjectBox Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.objectbox.processor
+
+import com.google.common.truth.Truth.assertThat
+import io.objectbox.BoxStoreBuilder
+import io.objectbox.EntityInfo
+import io.objectbox.Property
+import io.objectbox.relation.RelationInfo
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertSame
+import org.junit.Test
+
+/**
+ * Tests [ObjectBoxProcessor.OPTION_LAZY_ENTITY_INFO].
+ */
+class LazyEntityInfoTest : BaseProcessorTest() {
+
+    @Test
+    fun lazyEntityInfo_registersDescriptorWithoutInitializingEntityInfo() {
+        val compilation = TestEnvironment(
+            "relation.json",
+            options = mapOf(ObjectBoxProcessor.OPTION_LAZY_ENTITY_INFO to "true")
+        ).compile("RelationChild", "RelationParent")
+        compilation.assertThatIt { succeededWithoutWarnings() }
+
+        val entityInfoName = "io.objectbox.processor.test.RelationChild_"
+        val propertiesName = "${entityInfoName}\$RelationChildProperties"
+        val classLoader = GeneratedClassLoader(compilation)
+        val descriptor = classLoader.loadClass("${entityInfoName}\$RelationChildDescriptor")
+            .getField("__INSTANCE").get(null) as EntityInfo<*>
+        assertEquals(1, descriptor.entityId)
+        assertEquals("RelationChild", descriptor.dbName)
+        assertNotNull(descriptor.idGetter)
+        assertNotNull(descriptor.cursorFactory)
+        // Neither the properties nor the EntityInfo class which constructs relation infos should be loaded, yet.
+        assertThat(classLoader.definedClassNames).containsNoneOf(entityInfoName, propertiesName)
+
+        // Like when opening a store: constructs properties, but still does not load the EntityInfo class.
+        val properties = descriptor.allProperties
+        assertEquals(listOf("id", "parentId"), properties.map { it.name })
+        assertEquals("id", descriptor.idProperty.name)
+        assertThat(classLoader.definedClassNames).contains(propertiesName)
+        assertThat(classLoader.definedClassNames).doesNotContain(entityInfoName)
+
+        // Once used, the EntityInfo class is an EntityInfo exposing the same properties.
+        val entityInfoClass = classLoader.loadClass(entityInfoName)
+        val entityInfo = entityInfoClass.getField("__INSTANCE").get(null) as EntityInfo<*>
+        assertSame(entityInfoClass, entityInfo.javaClass)
+        assertSame(properties, entityInfo.allProperties)
+        assertSame(properties, entityInfoClass.getField("__ALL_PROPERTIES").get(null))
+        assertSame(properties[1], entityInfoClass.getField("parentId").get(null))
+        assertNotNull(entityInfoClass.getField("parent").get(null))
+    }
+
+    @Test
+    fun entityInfo_isSameObjectEverywhere() {
+        for (lazyEntityInfo in listOf(false, true)) {
+            val compilation = TestEnvironment(
+                "relation.json",
+                options = mapOf(ObjectBoxProcessor.OPTION_LAZY_ENTITY_INFO to lazyEntityInfo.toString())
+            ).compile("RelationChild", "RelationParent")
+            compilation.assertThatIt { succeededWithoutWarnings() }
+
+            val classLoader = GeneratedClassLoader(compilation)
+            val builder = classLoader.loadClass("io.objectbox.processor.test.MyObjectBox")
+                .getMethod("builder").invoke(null) as BoxStoreBuilder
+            @Suppress("UNCHECKED_CAST")
+            val registeredInfos = BoxStoreBuilder::class.java.getDeclaredField("entityInfoList")
+                .apply { isAccessible = true }.get(builder) as List<EntityInfo<*>>
+            assertEquals(2, registeredInfos.size)
+
+            val child = classLoader.loadClass("io.objectbox.processor.test.RelationChild_")
+            val parent = classLoader.loadClass("io.objectbox.processor.test.RelationParent_")
+            val childInfo = registeredInfos.single { it.entityName == "RelationChild" }
+            val parentInfo = registeredInfos.single { it.entityName == "RelationParent" }
+            // Entity_ is always an EntityInfo, with lazy EntityInfo the descriptor is registered instead.
+            val childInstance = child.getField("__INSTANCE").get(null) as EntityInfo<*>
+            val parentInstance = parent.getField("__INSTANCE").get(null) as EntityInfo<*>
+            if (lazyEntityInfo) {
+                assertEquals("RelationChildDescriptor", childInfo.javaClass.simpleName)
+                assertEquals("RelationParentDescriptor", parentInfo.javaClass.simpleName)
+            } else {
+                assertSame(childInfo, childInstance)
+                assertSame(parentInfo, parentInstance)
+            }
+            assertSame(childInfo, (child.getField("parentId").get(null) as Property<*>).entity)
+            assertSame(childInfo.allProperties, child.getField("__ALL_PROPERTIES").get(null))
+            assertSame(childInfo.allProperties, childInstance.allProperties)
+            assertSame(childInfo.idProperty, childInstance.idProperty)
+            assertSame(childInfo.cursorFactory, child.getField("__CURSOR_FACTORY").get(null))
+            assertSame(childInfo.cursorFactory, childInstance.cursorFactory)
+            assertSame(childInfo.idGetter, child.getDeclaredField("__ID_GETTER").apply { isAccessible = true }.get(null))
+            assertSame(childInfo.idGetter, childInstance.idGetter)
+            assertEquals(childInfo.entityClass, childInstance.entityClass)
+            val relation = child.getField("parent").get(null) as RelationInfo<*, *>
+            assertSame(childInfo, relation.sourceInfo)
+            assertSame(parentInfo, relation.targetInfo)
+        }
+    }
+
+}
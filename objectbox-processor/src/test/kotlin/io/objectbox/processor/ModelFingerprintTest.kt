@@ -0,0 +1,64 @@
+/*
+ * ObjectBox Build Tools
+ * Copyright (C) 2025 ObjectBox Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.objectbox.processor
+
+import com.google.common.truth.Truth.assertThat
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+/**
+ * Tests [ObjectBoxProcessor.OPTION_MODEL_FINGERPRINTS].
+ */
+class ModelFingerprintTest : BaseProcessorTest() {
+
+    private fun compile(modelFingerprints: Boolean?) = TestEnvironment(
+        "relation.json",
+        options = modelFingerprints?.let { mapOf(ObjectBoxProcessor.OPTION_MODEL_FINGERPRINTS to it.toString()) }
+            ?: emptyMap()
+    ).compile("RelationChild", "RelationParent").also { it.assertThatIt { succeededWithoutWarnings() } }
+
+    @Test
+    fun modelFingerprints_notGeneratedByDefault() {
+        for (compilation in listOf(compile(null), compile(false))) {
+            val classLoader = GeneratedClassLoader(compilation)
+            assertThat(classLoader.loadClass("io.objectbox.processor.test.MyObjectBox").fields.map { it.name })
+                .doesNotContain("MODEL_FINGERPRINT")
+            assertThat(classLoader.loadClass("io.objectbox.processor.test.RelationChild_").fields.map { it.name })
+                .doesNotContain("__ENTITY_FINGERPRINT")
+        }
+    }
+
+    @Test
+    fun modelFingerprints_generatedIfEnabled() {
+        fun fingerprints(): List<Long> {
+            val classLoader = GeneratedClassLoader(compile(true))
+            return listOf(
+                classLoader.loadClass("io.objectbox.processor.test.MyObjectBox").getField("MODEL_FINGERPRINT"),
+                classLoader.loadClass("io.objectbox.processor.test.RelationChild_").getField("__ENTITY_FINGERPRINT"),
+                classLoader.loadClass("io.objectbox.processor.test.RelationParent_").getField("__ENTITY_FINGERPRINT")
+            ).map { it.getLong(null) }
+        }
+
+        val fingerprints = fingerprints()
+        // Entities have distinct fingerprints, all are stable for the same model.
+        assertEquals(3, fingerprints.toSet().size)
+        assertEquals(fingerprints, fingerprints())
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * ObjectBox Build Tools
+ * Copyright (C) 2025 ObjectBox Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.objectbox.processor
+
+import org.junit.Assert.assertNull
+import org.junit.Test
+
+/**
+ * Tests [ObjectBoxProcessor.OPTION_PACKED_PUT].
+ */
+class PackedPutTest : BaseProcessorTest() {
+
+    @Test
+    fun packedPut_generatesPackedAndChainedPut() {
+        val className = "SimpleEntity"
+        val relatedClassName = "IdEntity"
+
+        // need stable model file + ids to verify sources match
+        val environment = TestEnvironment(
+            "default.json",
+            options = mapOf(ObjectBoxProcessor.OPTION_PACKED_PUT to "true")
+        )
+
+        environment.compile(className, relatedClassName)
+            .assertThatIt { succeededWithoutWarnings() }
+            .assertGeneratedSourceMatches(
+                "io.objectbox.processor.test.${className}Cursor",
+                "${className}Cursor-packed.java"
+            )
+    }
+
+    @Test
+    fun packedPut_libraryWithoutCollectPacked_usesChainedPut() {
+        val compilation = TestEnvironment(
+            "default.json",
+            options = mapOf(ObjectBoxProcessor.OPTION_PACKED_PUT to "true")
+        ).compile("SimpleEntity", "IdEntity")
+        compilation.assertThatIt { succeededWithoutWarnings() }
+
+        // The ObjectBox library on the test class path has no collectPacked method,
+        // so the Cursor should detect at runtime to use chained collect calls.
+        val cursorClass = GeneratedClassLoader(compilation)
+            .loadClass("io.objectbox.processor.test.SimpleEntityCursor")
+        val collectPacked = cursorClass.getDeclaredField("COLLECT_PACKED")
+        collectPacked.isAccessible = true
+        assertNull(collectPacked.get(null))
+    }
+
+}
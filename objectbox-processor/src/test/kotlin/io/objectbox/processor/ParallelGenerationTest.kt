@@ -0,0 +1,48 @@
+/*
+ * ObjectBox Build Tools
+ * Copyright (C) 2025 ObjectBox Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.objectbox.processor
+
+import com.google.common.truth.Truth.assertThat
+import org.junit.Test
+
+/**
+ * Tests [ObjectBoxProcessor.OPTION_PARALLEL_GENERATION].
+ */
+class ParallelGenerationTest : BaseProcessorTest() {
+
+    @Test
+    fun parallelGeneration_generatesSameSources() {
+        fun compile(parallelGeneration: Boolean): Map<String, String> {
+            val environment = TestEnvironment(
+                "backlink-to-many.json",
+                options = mapOf(ObjectBoxProcessor.OPTION_PARALLEL_GENERATION to parallelGeneration.toString())
+            )
+            val compilation = environment.compile("BacklinkToOneTarget", "BacklinkToOneSource")
+            compilation.assertThatIt { succeededWithoutWarnings() }
+            return compilation.generatedSourceFiles()
+                .associate { it.name to it.getCharContent(true).toString() }
+        }
+
+        val sequential = compile(parallelGeneration = false)
+        val parallel = compile(parallelGeneration = true)
+        assertThat(sequential).hasSize(5) // Cursor and EntityInfo for each entity, MyObjectBox
+        assertThat(parallel).containsExactlyEntriesIn(sequential).inOrder()
+    }
+
+}
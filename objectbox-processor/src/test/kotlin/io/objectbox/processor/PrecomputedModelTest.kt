@@ -0,0 +1,83 @@
+/*
+ * ObjectBox Build Tools
+ * Copyright (C) 2025 ObjectBox Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.objectbox.processor
+
+import com.google.common.truth.Truth.assertWithMessage
+import org.junit.Assert.assertArrayEquals
+import org.junit.Test
+
+/**
+ * Tests [ObjectBoxProcessor.OPTION_PRECOMPUTED_MODEL]. Also see [assertGeneratedSourceMatches], which compares
+ * precomputed and built models of all compilations with expected source files.
+ */
+class PrecomputedModelTest : BaseProcessorTest() {
+
+    @Test
+    fun precomputedModel_matchesModelBuilderCode() {
+        val source = """
+            package com.example;
+            import io.objectbox.annotation.Entity;
+            import io.objectbox.annotation.ExternalName;
+            import io.objectbox.annotation.ExternalPropertyType;
+            import io.objectbox.annotation.ExternalType;
+            import io.objectbox.annotation.HnswFlags;
+            import io.objectbox.annotation.HnswIndex;
+            import io.objectbox.annotation.Id;
+            import io.objectbox.annotation.Index;
+            import io.objectbox.annotation.NameInDb;
+            import io.objectbox.annotation.Unique;
+            import io.objectbox.annotation.VectorDistanceType;
+            import io.objectbox.relation.ToMany;
+            import io.objectbox.relation.ToOne;
+
+            @Entity
+            @ExternalName("example-external")
+            public class Example {
+                @Id public long id;
+                @NameInDb("renamed") public String name;
+                @Index public String indexed;
+                @Unique public long unique;
+                @ExternalType(ExternalPropertyType.UUID) public byte[] uuid;
+                @HnswIndex(dimensions = 2, flags = @HnswFlags(debugLogs = true), distanceType = VectorDistanceType.COSINE,
+                        reparationBacklinkProbability = 0.95F)
+                public float[] vector;
+                public ToOne<Example> parent;
+                @ExternalName("example-children")
+                @ExternalType(ExternalPropertyType.UUID_VECTOR)
+                public ToMany<Example> children;
+            }
+            """.trimIndent()
+
+        fun getModel(precomputedModel: Boolean): ByteArray {
+            val compilation = TestEnvironment(
+                "precomputed-model.json",
+                options = mapOf(ObjectBoxProcessor.OPTION_PRECOMPUTED_MODEL to precomputedModel.toString())
+            ).apply { addSourceFile("com.example.Example", source) }.compile()
+            compilation.assertThatIt { succeededWithoutWarnings() }
+            compilation.generatedSourceFile("com.example.MyObjectBox").get().getCharContent(false).let {
+                assertWithMessage("MyObjectBox uses ModelBuilder").that(it.contains("ModelBuilder"))
+                    .isEqualTo(!precomputedModel)
+            }
+            return compilation.invokeGetModel("com.example.MyObjectBox")
+        }
+
+        assertArrayEquals(getModel(false), getModel(true))
+    }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * ObjectBox Build Tools
+ * Copyright (C) 2025 ObjectBox Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.objectbox.processor
+
+import com.google.common.truth.Truth.assertThat
+import org.junit.Test
+import java.io.File
+
+/**
+ * Tests [ObjectBoxProcessor.OPTION_TIMINGS].
+ */
+class ProcessorTimingsTest : BaseProcessorTest() {
+
+    @Test
+    fun timings_notesAndWritesReport() {
+        val reportFile = File("build/objectbox/${ProcessorTimings.REPORT_FILE_NAME}")
+        reportFile.delete()
+
+        val environment = TestEnvironment(
+            "backlink-to-many.json",
+            options = mapOf(ObjectBoxProcessor.OPTION_TIMINGS to "true")
+        )
+        environment.compile("BacklinkToOneTarget", "BacklinkToOneSource")
+            .assertThatIt {
+                succeededWithoutWarnings()
+                hadNoteContaining("Processor timings (ms): collectElements")
+            }
+
+        assertThat(reportFile.exists()).isTrue()
+        val report = reportFile.readText()
+        assertThat(report).contains("\"entities\": 2,")
+        for (phase in listOf(
+            "collectElements", "parseEntities", "resolveRelations", "finishSchema", "idSyncRead", "idSyncSync",
+            "generate"
+        )) {
+            assertThat(report).contains("\"$phase\": ")
+        }
+        assertThat(report).contains("\"io.objectbox.processor.test.BacklinkToOneSourceCursor.java\": ")
+        assertThat(report).contains("\"io.objectbox.processor.test.MyObjectBox.java\": ")
+    }
+
+}
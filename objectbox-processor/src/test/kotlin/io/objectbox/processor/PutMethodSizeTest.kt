@@ -0,0 +1,121 @@
+/*
+ * ObjectBox Build Tools
+ * Copyright (C) 2025 ObjectBox Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.objectbox.processor
+
+import com.google.common.truth.Truth.assertThat
+import com.google.common.truth.Truth.assertWithMessage
+import org.junit.Test
+import java.io.DataInputStream
+import javax.tools.JavaFileObject
+
+/**
+ * Tests the put method of generated Cursor classes stays small enough to be JIT-compiled.
+ */
+class PutMethodSizeTest : BaseProcessorTest() {
+
+    @Test
+    fun entity_manyProperties_methodsBelowJitLimit() {
+        // Mostly nullable properties as their put code is the largest.
+        val types = listOf("Long", "Integer", "String", "Double", "java.util.Date", "Boolean", "Float", "byte[]")
+        val properties = (1..120).joinToString("\n") { "    ${types[it % types.size]} property$it;" }
+        val source = "package com.example;\n" +
+                "import io.objectbox.annotation.Entity;\n" +
+                "import io.objectbox.annotation.Id;\n" +
+                "\n" +
+                "@Entity\n" +
+                "public class Example {\n" +
+                "    @Id long id;\n" +
+                properties + "\n" +
+                "}\n"
+
+        val compilation = TestEnvironment("many-properties.json", useTemporaryModelFile = true)
+            .apply { addSourceFile("com.example.Example", source) }
+            .compile()
+        compilation.assertThatIt { succeededWithoutWarnings() }
+
+        val cursorClass = compilation.generatedFiles()
+            .single { it.kind == JavaFileObject.Kind.CLASS && it.name.endsWith("/ExampleCursor.class") }
+        val methodSizes = cursorClass.openInputStream().use { readMethodCodeSizes(DataInputStream(it)) }
+        // Collect calls should have been split off from put into multiple methods.
+        assertThat(methodSizes).containsKey("put")
+        assertThat(methodSizes).containsKey("collectPart2")
+        // HotSpot does not JIT-compile methods larger than 8000 bytes (HugeMethodLimit).
+        methodSizes.forEach { (name, size) ->
+            assertWithMessage(name).that(size).isLessThan(8000)
+        }
+    }
+
+    /**
+     * Reads the class file and returns the bytecode size of each method by name.
+     */
+    private fun readMethodCodeSizes(input: DataInputStream): Map<String, Int> {
+        input.skipBytes(8) // magic, minor and major version
+        val constantPoolCount = input.readUnsignedShort()
+        val utf8Constants = arrayOfNulls<String>(constantPoolCount)
+        var index = 1
+        while (index < constantPoolCount) {
+            when (val tag = input.readUnsignedByte()) {
+                1 -> utf8Constants[index] = input.readUTF()
+                3, 4 -> input.skipBytes(4) // Integer, Float
+                5, 6 -> { // Long, Double take two entries
+                    input.skipBytes(8)
+                    index++
+                }
+                7, 8, 16, 19, 20 -> input.skipBytes(2) // Class, String, MethodType, Module, Package
+                9, 10, 11, 12, 17, 18 -> input.skipBytes(4) // Refs, NameAndType, Dynamic, InvokeDynamic
+                15 -> input.skipBytes(3) // MethodHandle
+                else -> throw IllegalStateException("Unknown constant pool tag $tag")
+            }
+            index++
+        }
+        input.skipBytes(6) // access flags, this and super class
+        input.skipBytes(2 * input.readUnsignedShort()) // interfaces
+        repeat(input.readUnsignedShort()) { // fields
+            input.skipBytes(6)
+            skipAttributes(input)
+        }
+        val methodSizes = mutableMapOf<String, Int>()
+        repeat(input.readUnsignedShort()) {
+            input.skipBytes(2)
+            val name = utf8Constants[input.readUnsignedShort()]!!
+            input.skipBytes(2)
+            repeat(input.readUnsignedShort()) {
+                val attributeName = utf8Constants[input.readUnsignedShort()]
+                val length = input.readInt()
+                if (attributeName == "Code") {
+                    input.skipBytes(4) // max stack and locals
+                    val codeLength = input.readInt()
+                    methodSizes[name] = maxOf(codeLength, methodSizes[name] ?: 0) // Overloads: keep largest
+                    input.skipBytes(length - 8)
+                } else {
+                    input.skipBytes(length)
+                }
+            }
+        }
+        return methodSizes
+    }
+
+    private fun skipAttributes(input: DataInputStream) {
+        repeat(input.readUnsignedShort()) {
+            input.skipBytes(2)
+            input.skipBytes(input.readInt())
+        }
+    }
+
+}
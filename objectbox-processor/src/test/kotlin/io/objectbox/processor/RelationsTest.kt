@@ -618,10 +618,7 @@ class RelationsTest : BaseProcessorTest() {
         assertThat(environment.isModelFileExists()).isFalse()
     }
 
-    @Test
-    fun testToManyStandalone() {
-        val parentName = "ToManyStandalone"
-        val parentFileObject = """
+    private val toManyStandaloneFileObject = """
         package io.objectbox.processor.test;
         
         import java.util.List;
@@ -639,13 +636,17 @@ class RelationsTest : BaseProcessorTest() {
             List<IdEntity> childrenList = new ToMany<>(this, ToManyStandalone_.childrenList);
         }
         """.trimIndent().let {
-            JavaFileObjects.forSourceString("io.objectbox.processor.test.${parentName}", it)
+            JavaFileObjects.forSourceString("io.objectbox.processor.test.ToManyStandalone", it)
         }
+
+    @Test
+    fun testToManyStandalone() {
+        val parentName = "ToManyStandalone"
         val childName = "IdEntity"
 
         val environment = TestEnvironment("standalone-to-many.json")
 
-        environment.compile(listOf(parentFileObject, idEntityFileObject))
+        environment.compile(listOf(toManyStandaloneFileObject, idEntityFileObject))
             .assertThatIt { succeededWithoutWarnings() }
             .assertGeneratedSourceMatches("${parentName}_")
             .assertGeneratedSourceMatches("${parentName}Cursor")
@@ -655,6 +656,19 @@ class RelationsTest : BaseProcessorTest() {
         assertToManyStandaloneModel(environment, parentName, listOf("children", "childrenList"))
     }
 
+    @Test
+    fun testToManyStandalone_largeRelationIds() {
+        // Relation IDs of 1000 and more must not be formatted with a grouping separator.
+        val environment = TestEnvironment("standalone-to-many-large-ids.json")
+
+        environment.compile(listOf(toManyStandaloneFileObject, idEntityFileObject))
+            .assertThatIt { succeededWithoutWarnings() }
+            .assertGeneratedSourceMatches(
+                "io.objectbox.processor.test.ToManyStandalone_",
+                "ToManyStandalone-large-ids_.java"
+            )
+    }
+
     @Test
     fun testToManyStandaloneUidName() {
         val parentName = "ToManyStandaloneUidName"
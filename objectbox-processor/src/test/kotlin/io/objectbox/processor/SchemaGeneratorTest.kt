@@ -0,0 +1,99 @@
+/*
+ * ObjectBox Build Tools
+ * Copyright (C) 2025 ObjectBox Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.objectbox.processor
+
+import com.google.common.truth.Truth.assertThat
+import io.objectbox.generator.GeneratorJob
+import io.objectbox.generator.GeneratorOutput
+import io.objectbox.generator.model.HasParsedElement
+import io.objectbox.generator.model.PropertyType
+import io.objectbox.generator.model.Schema
+import io.objectbox.model.PropertyFlags
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import java.io.File
+
+/**
+ * Tests [SchemaGenerator] with a schema built without annotation processing, like another frontend would.
+ */
+class SchemaGeneratorTest {
+
+    @JvmField
+    @Rule
+    val tempFolder = TemporaryFolder()
+
+    private class RecordingReporter : SchemaReporter {
+        val errors = mutableListOf<Pair<String, HasParsedElement?>>()
+
+        override fun debug(message: String) {
+        }
+
+        override fun error(message: String, elementHolder: HasParsedElement?) {
+            errors += message to elementHolder
+        }
+    }
+
+    @Test
+    fun generate_withoutAnnotationProcessing() {
+        val schema = Schema(1, "com.example")
+        schema.addEntity("Note").apply {
+            // Opaque to the generator, for annotation processing this is the element of the entity class.
+            parsedElement = "Note.kt"
+            addIdProperty()
+            addProperty(PropertyType.String, "text")
+        }
+        val modelFile = File(tempFolder.root, "default.json")
+        val outputDir = tempFolder.newFolder("generated")
+
+        val reporter = RecordingReporter()
+        val schemaGenerator = SchemaGenerator(reporter, daoCompat = false)
+        assertTrue(schemaGenerator.finish(schema))
+        assertTrue(schemaGenerator.syncIdModel(schema, modelFile))
+        schemaGenerator.generate(schema) { GeneratorJob(schema, GeneratorOutput.create(outputDir)) }
+
+        assertThat(reporter.errors).isEmpty()
+        assertThat(modelFile.readText()).contains("\"name\": \"Note\"")
+        for (fileName in listOf("NoteCursor.java", "Note_.java", "MyObjectBox.java")) {
+            assertTrue(fileName, File(outputDir, "com/example/$fileName").exists())
+        }
+    }
+
+    @Test
+    fun finish_reportsErrorForEntity() {
+        val schema = Schema(1, "com.example")
+        val entity = schema.addEntity("Note").apply {
+            isSyncEnabled = true
+            addIdProperty()
+            addProperty(PropertyType.String, "text").index(PropertyFlags.INDEXED or PropertyFlags.UNIQUE, 0)
+        }
+
+        val reporter = RecordingReporter()
+        assertFalse(SchemaGenerator(reporter, daoCompat = false).finish(schema))
+
+        assertThat(reporter.errors).hasSize(1)
+        val (message, elementHolder) = reporter.errors[0]
+        assertThat(message).startsWith("Synced entities must use @Unique(onConflict = ConflictStrategy.REPLACE)")
+        assertSame(entity, elementHolder)
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * ObjectBox Build Tools
+ * Copyright (C) 2025 ObjectBox Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.objectbox.processor
+
+import com.google.common.truth.Truth.assertThat
+import com.google.testing.compile.Compilation
+import io.objectbox.EntityInfo
+import io.objectbox.relation.RelationInfo
+import io.objectbox.relation.ToMany
+import io.objectbox.relation.ToOne
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertSame
+import org.junit.Test
+import javax.tools.JavaFileObject
+
+/**
+ * Tests [ObjectBoxProcessor.OPTION_SINGLE_ACCESSOR_CLASS].
+ */
+class SingleAccessorClassTest : BaseProcessorTest() {
+
+    @Test
+    fun singleAccessorClass_replacesGetterAndFactoryClasses() {
+        val sources = mapOf(
+            "Parent" to """
+                @Entity
+                public class Parent {
+                    @Id public long id;
+                    @Backlink(to = "parent") public ToMany<Child> children;
+                    public ToMany<Tag> tags;
+                }
+                """,
+            "Child" to """
+                @Entity
+                public class Child {
+                    @Id public Long id;
+                    public ToOne<Parent> parent;
+                }
+                """,
+            "Tag" to """
+                @Entity
+                public class Tag {
+                    @Id public long id;
+                    @Backlink(to = "tags") public ToMany<Parent> parents;
+                }
+                """
+        )
+
+        fun compile(singleAccessorClass: Boolean): Compilation {
+            val compilation = TestEnvironment(
+                "single-accessor-class.json",
+                useTemporaryModelFile = true,
+                options = mapOf(ObjectBoxProcessor.OPTION_SINGLE_ACCESSOR_CLASS to singleAccessorClass.toString())
+            ).apply {
+                sources.forEach { (name, source) ->
+                    addSourceFile(
+                        "com.example.$name",
+                        "package com.example;\n" +
+                                "import io.objectbox.annotation.*;\n" +
+                                "import io.objectbox.relation.*;\n" +
+                                source.trimIndent()
+                    )
+                }
+            }.compile()
+            compilation.assertThatIt { succeededWithoutWarnings() }
+            return compilation
+        }
+
+        val classFilesByMode = listOf(false, true).associateWith { singleAccessorClass ->
+            compile(singleAccessorClass).generatedFiles()
+                .filter { it.kind == JavaFileObject.Kind.CLASS }
+                .associate { it.name.substringAfterLast('/') to it.openInputStream().use { input -> input.readBytes().size } }
+        }
+        // Entities, MyObjectBox and per entity a Cursor, Cursor factory, EntityInfo, ID getter and one class per relation getter.
+        assertEquals(22, classFilesByMode.getValue(false).size)
+        // The accessor class implements the ID getter, the cursor factory and the getters of one to-one and one to-many
+        // relation type, only getters of other relation types get an additional class.
+        assertEquals(15, classFilesByMode.getValue(true).size)
+        assertThat(classFilesByMode.getValue(true).keys.filter { it.contains('$') }).containsExactly(
+            "Parent_\$ParentAccessors.class",
+            "Parent_\$ParentChildToManyGetter.class",
+            "Child_\$ChildAccessors.class",
+            "Tag_\$TagAccessors.class",
+            "Tag_\$ParentTagToManyGetter.class"
+        )
+
+        // Getters and the cursor factory of the accessor class must select the right relation.
+        val classLoader = GeneratedClassLoader(compile(true))
+        @Suppress("UNCHECKED_CAST")
+        fun <T> cast(value: Any?): T = value as T
+        fun newEntity(name: String, id: Long): Any = classLoader.loadClass("com.example.$name")
+            .getDeclaredConstructor().newInstance()
+            .also { it.javaClass.getField("id").set(it, id) }
+        fun relationInfo(name: String): RelationInfo<Any, Any> {
+            val (entityName, relationName) = name.split('.')
+            return cast(classLoader.loadClass("com.example.${entityName}_").getField(relationName).get(null))
+        }
+        val parent = newEntity("Parent", 1)
+        val child = newEntity("Child", 2)
+        val tag = newEntity("Tag", 3)
+        val childParent = ToOne<Any>(child, relationInfo("Child.parent")).also { child.javaClass.getField("parent").set(child, it) }
+        val parentChildren = ToMany<Any>(parent, relationInfo("Parent.children")).also { parent.javaClass.getField("children").set(parent, it) }
+        val parentTags = ToMany<Any>(parent, relationInfo("Parent.tags")).also { parent.javaClass.getField("tags").set(parent, it) }
+        val tagParents = ToMany<Any>(tag, relationInfo("Tag.parents")).also { tag.javaClass.getField("parents").set(tag, it) }
+
+        assertSame(childParent, relationInfo("Child.parent").toOneGetter.getToOne(child))
+        assertSame(parentChildren, relationInfo("Parent.children").toManyGetter.getToMany(parent))
+        assertSame(childParent, relationInfo("Parent.children").backlinkToOneGetter.getToOne(child))
+        assertSame(parentTags, relationInfo("Parent.tags").toManyGetter.getToMany(parent))
+        assertSame(tagParents, relationInfo("Tag.parents").toManyGetter.getToMany(tag))
+        assertSame(parentTags, relationInfo("Tag.parents").backlinkToManyGetter.getToMany(parent))
+
+        listOf(parent, child, tag).forEachIndexed { index, entity ->
+            val entityInfo = cast<EntityInfo<Any>>(
+                classLoader.loadClass("${entity.javaClass.name}_").getField("__INSTANCE").get(null)
+            )
+            assertEquals(index + 1L, entityInfo.idGetter.getId(entity))
+            assertNotNull(entityInfo.cursorFactory)
+        }
+    }
+
+}
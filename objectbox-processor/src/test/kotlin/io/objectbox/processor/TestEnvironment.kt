@@ -27,6 +27,7 @@ import io.objectbox.generator.model.Schema
 import java.io.File
 import java.io.FileNotFoundException
 import java.nio.file.Files
+import java.util.WeakHashMap
 import javax.tools.JavaFileObject
 
 /**
@@ -39,6 +40,9 @@ import javax.tools.JavaFileObject
  * (see .gitignore rules). Removes the file if it exists.
  * Also will not compare against original as it is assumed there is none.
  *
+ * If not [useModelPathOption] the processor uses its default model file in the project directory, like when used
+ * with the Gradle plugin. Such tests need to delete that file.
+ *
  * Use this like:
  *
  * ```
@@ -78,7 +82,10 @@ class TestEnvironment(
     modelFile: String,
     private val myObjectBoxPackage: String? = null,
     private val optionDisableTransform: Boolean = false,
-    private val useTemporaryModelFile: Boolean = false
+    private val useTemporaryModelFile: Boolean = false,
+    private val useModelPathOption: Boolean = true,
+    /** Additional processor options by name, e.g. `mapOf(ObjectBoxProcessor.OPTION_PACKED_PUT to "true")`. */
+    private val options: Map<String, String> = emptyMap()
 ) {
 
     // tests run from IntelliJ are relative to module directory
@@ -89,12 +96,14 @@ class TestEnvironment(
 
     private val modelFilePath: String
     private val modelFilePathOriginal: String
-    private val modelFileProcessorOption: List<String>
+    private val processorOptions: Map<String, String>
         get() {
-            val options = mutableListOf("-A${ObjectBoxProcessor.OPTION_MODEL_PATH}=$modelFilePath")
-            options += "-A${ObjectBoxProcessor.OPTION_DEBUG}=true"
-            if (myObjectBoxPackage != null) options += "-A${ObjectBoxProcessor.OPTION_MYOBJECTBOX_PACKAGE}=$myObjectBoxPackage"
-            if (optionDisableTransform) options += "-A${ObjectBoxProcessor.OPTION_TRANSFORMATION_ENABLED}=false"
+            val options = linkedMapOf<String, String>()
+            if (useModelPathOption) options[ObjectBoxProcessor.OPTION_MODEL_PATH] = modelFilePath
+            options[ObjectBoxProcessor.OPTION_DEBUG] = "true"
+            if (myObjectBoxPackage != null) options[ObjectBoxProcessor.OPTION_MYOBJECTBOX_PACKAGE] = myObjectBoxPackage
+            if (optionDisableTransform) options[ObjectBoxProcessor.OPTION_TRANSFORMATION_ENABLED] = "false"
+            options.putAll(this.options)
             return options
         }
 
@@ -104,6 +113,11 @@ class TestEnvironment(
 
     private val javaFileObjects = mutableListOf<JavaFileObject>()
 
+    /**
+     * Additional class path entries, e.g. a directory with classes compiled before, to be used by [compile].
+     */
+    val classpath = mutableListOf<File>()
+
     init {
         val path = when {
             File(modelFilesPathModule).isDirectory -> modelFilesPathModule
@@ -165,28 +179,45 @@ class TestEnvironment(
      * New code should add source code using [addSourceFile] instead.
      */
     fun compile(files: List<JavaFileObject>, modelExpectedToChange: Boolean = false): Compilation {
-        val compilation = Compiler.javac()
-            .withProcessors(processor)
-            .withOptions(modelFileProcessorOption)
-            .compile(files)
+        val compilation = compile(files, processor, processorOptions)
         if (!useTemporaryModelFile && !modelExpectedToChange) assertModelFileMatchesOriginal()
         return compilation
     }
 
     fun compileDaoCompat(vararg files: String): Compilation {
         val fileObjects = files.map { JavaFileObjects.forResource("$it.java") }
-        val compilation = Compiler.javac()
-            .withProcessors(processor)
-            .withOptions(
-                modelFileProcessorOption
-                // disabled as compat DAO currently requires entity property getters/setters
-//                        "-A${ObjectBoxProcessor.OPTION_DAO_COMPAT}=true"
-            )
-            .compile(fileObjects)
+        val compilation = compile(
+            fileObjects, processor,
+            processorOptions
+            // disabled as compat DAO currently requires entity property getters/setters
+//                    + (ObjectBoxProcessor.OPTION_DAO_COMPAT to "true")
+        )
         if (!useTemporaryModelFile) assertModelFileMatchesOriginal()
         return compilation
     }
 
+    private fun compile(
+        files: List<JavaFileObject>,
+        processor: ObjectBoxProcessorShim,
+        options: Map<String, String>
+    ): Compilation {
+        val compiler = Compiler.javac()
+            .withProcessors(processor)
+            .withOptions(options.map { (name, value) -> "-A$name=$value" })
+        val compilation = if (classpath.isEmpty()) {
+            compiler.compile(files)
+        } else {
+            // Replaces the system class path, so add it.
+            val systemClasspath = System.getProperty("java.class.path").split(File.pathSeparator).map { File(it) }
+            compiler.withClasspath(systemClasspath + classpath).compile(files)
+        }
+        // Only compiles again once a variant is requested, see variantCompilation.
+        variants[compilation] = Variants(options) { variantOptions ->
+            compile(files, ObjectBoxProcessorShim(), variantOptions)
+        }
+        return compilation
+    }
+
     /**
      * Asserts the model file contains the same string as the original file it was copied from.
      */
@@ -205,4 +236,33 @@ class TestEnvironment(
     fun isModelFileExists(): Boolean {
         return File(modelFilePath).exists()
     }
-}
\ No newline at end of file
+
+    /**
+     * Compiles the files of a compilation again with additional options, at most once for the same options.
+     */
+    private class Variants(
+        val options: Map<String, String>,
+        private val compile: (Map<String, String>) -> Compilation
+    ) {
+        private val compilations = mutableMapOf<Map<String, String>, Compilation>()
+
+        fun get(additionalOptions: Map<String, String>): Compilation? {
+            val variantOptions = options + additionalOptions
+            if (variantOptions == options) return null
+            return compilations.getOrPut(variantOptions) { compile(variantOptions) }
+        }
+    }
+
+    companion object {
+        private val variants = WeakHashMap<Compilation, Variants>()
+
+        /**
+         * Returns the result of compiling the same files with the same options as the given compilation, plus the
+         * given processor options. Returns null if the given compilation was not done by a [TestEnvironment] or
+         * already used the given options.
+         */
+        fun variantCompilation(compilation: Compilation, options: Map<String, String>): Compilation? {
+            return variants[compilation]?.get(options)
+        }
+    }
+}
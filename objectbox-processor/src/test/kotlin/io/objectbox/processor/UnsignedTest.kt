@@ -47,13 +47,8 @@ class UnsignedTest : BaseProcessorTest() {
         // Need stable model file + ids to verify sources match.
         TestEnvironment("unsigned.json").run {
             compile(listOf(javaFileObject))
-                .assertThatIt {
-                    succeededWithoutWarnings()
-                    generatedSourceFile("com.example.MyObjectBox").run {
-                        isNotNull()
-                        hasSourceEquivalentTo(JavaFileObjects.forResource("expected-source/MyObjectBox-unsigned.java"))
-                    }
-                }
+                .assertThatIt { succeededWithoutWarnings() }
+                .assertGeneratedSourceMatches("com.example.MyObjectBox", "MyObjectBox-unsigned.java")
         }
 
         // Assert model file, ensure it is re-created on each run.
@@ -28,6 +28,8 @@ public final class BacklinkToOneListTargetCursor extends Cursor<BacklinkToOneLis
 
 
 
+    private Cursor<BacklinkToOneListSource> __BacklinkToOneListSourceTargetCursor;
+
     public BacklinkToOneListTargetCursor(io.objectbox.Transaction tx, long cursor, BoxStore boxStore) {
         super(tx, cursor, BacklinkToOneListTarget_.__INSTANCE, boxStore);
     }
@@ -53,8 +55,30 @@ public final class BacklinkToOneListTargetCursor extends Cursor<BacklinkToOneLis
         entity.id = __assignedId;
 
         entity.__boxStore = boxStoreForEntities;
-        checkApplyToManyToDb(entity.sources, BacklinkToOneListSource.class);
+        List<BacklinkToOneListSource> sources = entity.sources;
+        if (sources instanceof ToMany) {
+            ToMany<BacklinkToOneListSource> sourcesToMany = (ToMany<BacklinkToOneListSource>) sources;
+            if (sourcesToMany.internalCheckApplyToDbRequired()) {
+                sourcesToMany.internalApplyToDb(this, getBacklinkToOneListSourceTargetCursor());
+            }
+        }
         return __assignedId;
     }
 
+    private Cursor<BacklinkToOneListSource> getBacklinkToOneListSourceTargetCursor() {
+        if (__BacklinkToOneListSourceTargetCursor == null) {
+            __BacklinkToOneListSourceTargetCursor = getRelationTargetCursor(BacklinkToOneListSource.class);
+        }
+        return __BacklinkToOneListSourceTargetCursor;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (__BacklinkToOneListSourceTargetCursor != null) {
+            __BacklinkToOneListSourceTargetCursor.close();
+            __BacklinkToOneListSourceTargetCursor = null;
+        }
+        super.close();
+    }
+
 }
@@ -28,6 +28,8 @@ public final class BacklinkToOneTargetCursor extends Cursor<BacklinkToOneTarget>
 
 
 
+    private Cursor<BacklinkToOneSource> __BacklinkToOneSourceTargetCursor;
+
     public BacklinkToOneTargetCursor(io.objectbox.Transaction tx, long cursor, BoxStore boxStore) {
         super(tx, cursor, BacklinkToOneTarget_.__INSTANCE, boxStore);
     }
@@ -53,8 +55,30 @@ public final class BacklinkToOneTargetCursor extends Cursor<BacklinkToOneTarget>
         entity.id = __assignedId;
 
         entity.__boxStore = boxStoreForEntities;
-        checkApplyToManyToDb(entity.sources, BacklinkToOneSource.class);
+        List<BacklinkToOneSource> sources = entity.sources;
+        if (sources instanceof ToMany) {
+            ToMany<BacklinkToOneSource> sourcesToMany = (ToMany<BacklinkToOneSource>) sources;
+            if (sourcesToMany.internalCheckApplyToDbRequired()) {
+                sourcesToMany.internalApplyToDb(this, getBacklinkToOneSourceTargetCursor());
+            }
+        }
         return __assignedId;
     }
 
+    private Cursor<BacklinkToOneSource> getBacklinkToOneSourceTargetCursor() {
+        if (__BacklinkToOneSourceTargetCursor == null) {
+            __BacklinkToOneSourceTargetCursor = getRelationTargetCursor(BacklinkToOneSource.class);
+        }
+        return __BacklinkToOneSourceTargetCursor;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (__BacklinkToOneSourceTargetCursor != null) {
+            __BacklinkToOneSourceTargetCursor.close();
+            __BacklinkToOneSourceTargetCursor = null;
+        }
+        super.close();
+    }
+
 }
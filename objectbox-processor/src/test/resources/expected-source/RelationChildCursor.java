@@ -1,6 +1,5 @@
 package io.objectbox.processor.test;
 
-
 import io.objectbox.BoxStore;
 import io.objectbox.Cursor;
 import io.objectbox.annotation.apihint.Internal;
@@ -29,6 +28,8 @@ public final class RelationChildCursor extends Cursor<RelationChild> {
 
     private final static int __ID_parentId = RelationChild_.parentId.id;
 
+    private Cursor<RelationParent> __RelationParentTargetCursor;
+
     public RelationChildCursor(io.objectbox.Transaction tx, long cursor, BoxStore boxStore) {
         super(tx, cursor, RelationChild_.__INSTANCE, boxStore);
     }
@@ -48,20 +49,11 @@ public final class RelationChildCursor extends Cursor<RelationChild> {
     public long put(RelationChild entity) {
         ToOne<RelationParent> parent = entity.parent;
         if(parent != null && parent.internalRequiresPutTarget()) {
-            Cursor<RelationParent> targetCursor = getRelationTargetCursor(RelationParent.class);
-            try {
-                parent.internalPutTarget(targetCursor);
-            } finally {
-                targetCursor.close();
-            }
+            parent.internalPutTarget(getRelationParentTargetCursor());
         }
         Long id = entity.id;
-        long __assignedId = collect313311(cursor, id != null ? id: 0, PUT_FLAG_FIRST | PUT_FLAG_COMPLETE,
-                0, null, 0, null,
-                0, null, 0, null,
+        long __assignedId = collect004000(cursor, id != null ? id: 0, PUT_FLAG_FIRST | PUT_FLAG_COMPLETE,
                 __ID_parentId, entity.parentId, 0, 0,
-                0, 0, 0, 0,
-                0, 0, 0, 0,
                 0, 0, 0, 0);
 
         entity.id = __assignedId;
@@ -70,4 +62,20 @@ public final class RelationChildCursor extends Cursor<RelationChild> {
         return __assignedId;
     }
 
+    private Cursor<RelationParent> getRelationParentTargetCursor() {
+        if (__RelationParentTargetCursor == null) {
+            __RelationParentTargetCursor = getRelationTargetCursor(RelationParent.class);
+        }
+        return __RelationParentTargetCursor;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (__RelationParentTargetCursor != null) {
+            __RelationParentTargetCursor.close();
+            __RelationParentTargetCursor = null;
+        }
+        super.close();
+    }
+
 }
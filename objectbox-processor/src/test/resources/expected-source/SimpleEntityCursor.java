@@ -79,6 +79,8 @@ public final class SimpleEntityCursor extends Cursor<SimpleEntity> {
     private final static int __ID_floatArrayHnsw = SimpleEntity_.floatArrayHnsw.id;
     private final static int __ID_toOneId = SimpleEntity_.toOneId.id;
 
+    private Cursor<IdEntity> __IdEntityTargetCursor;
+
     public SimpleEntityCursor(io.objectbox.Transaction tx, long cursor, BoxStore boxStore) {
         super(tx, cursor, SimpleEntity_.__INSTANCE, boxStore);
     }
@@ -98,12 +100,7 @@ public final class SimpleEntityCursor extends Cursor<SimpleEntity> {
     public long put(SimpleEntity entity) {
         ToOne<IdEntity> toOne = entity.toOne;
         if(toOne != null && toOne.internalRequiresPutTarget()) {
-            Cursor<IdEntity> targetCursor = getRelationTargetCursor(IdEntity.class);
-            try {
-                toOne.internalPutTarget(targetCursor);
-            } finally {
-                targetCursor.close();
-            }
+            toOne.internalPutTarget(getIdEntityTargetCursor());
         }
         boolean[] booleanArray = entity.booleanArray;
         int __id31 = booleanArray != null ? __ID_booleanArray : 0;
@@ -171,17 +168,6 @@ public final class SimpleEntityCursor extends Cursor<SimpleEntity> {
         int __id23 = namedProperty != null ? __ID_namedProperty : 0;
         byte[] simpleByteArray = entity.simpleByteArray;
         int __id19 = simpleByteArray != null ? __ID_simpleByteArray : 0;
-        Map stringFlexMap = entity.stringFlexMap;
-        int __id29 = stringFlexMap != null ? __ID_stringFlexMap : 0;
-        Object flexProperty = entity.flexProperty;
-        int __id30 = flexProperty != null ? __ID_flexProperty : 0;
-
-        collect430000(cursor, 0, 0,
-                __id18, simpleString, __id23, namedProperty,
-                0, null, 0, null,
-                __id19, simpleByteArray, __id29, __id29 != 0 ? stringFlexMapConverter.convertToDatabaseValue(stringFlexMap) : null,
-                __id30, __id30 != 0 ? flexPropertyConverter.convertToDatabaseValue(flexProperty) : null);
-
         Long simpleLong = entity.simpleLong;
         int __id6 = simpleLong != null ? __ID_simpleLong : 0;
         Integer simpleInt = entity.simpleInt;
@@ -190,13 +176,15 @@ public final class SimpleEntityCursor extends Cursor<SimpleEntity> {
         int __id22 = indexedProperty != null ? __ID_indexedProperty : 0;
 
         collect313311(cursor, 0, 0,
-                0, null, 0, null,
-                0, null, 0, null,
+                __id18, simpleString, __id23, namedProperty,
+                0, null, __id19, simpleByteArray,
                 __ID_simpleLongPrimitive, entity.simpleLongPrimitive, __id6, __id6 != 0 ? simpleLong : 0,
                 __ID_toOneId, entity.toOne.getTargetId(), __ID_simpleIntPrimitive, entity.simpleIntPrimitive,
                 __id4, __id4 != 0 ? simpleInt : 0, __id22, __id22 != 0 ? indexedProperty : 0,
                 __ID_simpleFloatPrimitive, entity.simpleFloatPrimitive, __ID_simpleDoublePrimitive, entity.simpleDoublePrimitive);
 
+        Map stringFlexMap = entity.stringFlexMap;
+        int __id29 = stringFlexMap != null ? __ID_stringFlexMap : 0;
         Long dateNano = entity.dateNano;
         int __id27 = dateNano != null ? __ID_dateNano : 0;
         java.util.Date simpleDate = entity.simpleDate;
@@ -212,39 +200,67 @@ public final class SimpleEntityCursor extends Cursor<SimpleEntity> {
 
         collect313311(cursor, 0, 0,
                 0, null, 0, null,
-                0, null, 0, null,
+                0, null, __id29, __id29 != 0 ? stringFlexMapConverter.convertToDatabaseValue(stringFlexMap) : null,
                 __ID_dateNanoPrimitive, entity.dateNanoPrimitive, __id27, __id27 != 0 ? dateNano : 0,
                 __id15, __id15 != 0 ? simpleDate.getTime() : 0, __id24, __id24 != 0 ? customTypeConverter.convertToDatabaseValue(customType) : 0,
                 __id25, __id25 != 0 ? customTypesConverter.convertToDatabaseValue(customTypes) : 0, __ID_simpleShortPrimitive, entity.simpleShortPrimitive,
                 __id8, __id8 != 0 ? simpleFloat : 0, __id10, __id10 != 0 ? simpleDouble : 0);
 
+        Object flexProperty = entity.flexProperty;
+        int __id30 = flexProperty != null ? __ID_flexProperty : 0;
         java.util.Date idCompanion = entity.idCompanion;
         int __id28 = idCompanion != null ? __ID_idCompanion : 0;
         Short simpleShort = entity.simpleShort;
         int __id2 = simpleShort != null ? __ID_simpleShort : 0;
         Character simpleChar = entity.simpleChar;
         int __id17 = simpleChar != null ? __ID_simpleChar : 0;
+        Byte simpleByte = entity.simpleByte;
+        int __id14 = simpleByte != null ? __ID_simpleByte : 0;
 
-        collect004000(cursor, 0, 0,
+        collect313311(cursor, 0, 0,
+                0, null, 0, null,
+                0, null, __id30, __id30 != 0 ? flexPropertyConverter.convertToDatabaseValue(flexProperty) : null,
                 __id28, __id28 != 0 ? idCompanion.getTime() : 0, __id2, __id2 != 0 ? simpleShort : 0,
-                __ID_simpleCharPrimitive, entity.simpleCharPrimitive, __id17, __id17 != 0 ? simpleChar : 0);
+                __ID_simpleCharPrimitive, entity.simpleCharPrimitive, __id17, __id17 != 0 ? simpleChar : 0,
+                __ID_simpleBytePrimitive, entity.simpleBytePrimitive, __id14, __id14 != 0 ? simpleByte : 0,
+                0, 0, 0, 0);
 
-        Byte simpleByte = entity.simpleByte;
-        int __id14 = simpleByte != null ? __ID_simpleByte : 0;
         Boolean simpleBoolean = entity.getSimpleBoolean();
         int __id12 = simpleBoolean != null ? __ID_simpleBoolean : 0;
 
         long __assignedId = collect004000(cursor, entity.id, PUT_FLAG_COMPLETE,
-                __ID_simpleBytePrimitive, entity.simpleBytePrimitive, __id14, __id14 != 0 ? simpleByte : 0,
-                __ID_simpleBooleanPrimitive, entity.isSimpleBooleanPrimitive() ? 1 : 0, __id12, __id12 != 0 ? simpleBoolean ? 1 : 0 : 0);
+                __ID_simpleBooleanPrimitive, entity.isSimpleBooleanPrimitive() ? 1 : 0, __id12, __id12 != 0 ? simpleBoolean ? 1 : 0 : 0,
+                0, 0, 0, 0);
 
         entity.id = __assignedId;
 
         attachEntity(entity);
-        checkApplyToManyToDb(entity.toMany, IdEntity.class);
+        List<IdEntity> toMany = entity.toMany;
+        if (toMany instanceof ToMany) {
+            ToMany<IdEntity> toManyToMany = (ToMany<IdEntity>) toMany;
+            if (toManyToMany.internalCheckApplyToDbRequired()) {
+                toManyToMany.internalApplyToDb(this, getIdEntityTargetCursor());
+            }
+        }
         return __assignedId;
     }
 
+    private Cursor<IdEntity> getIdEntityTargetCursor() {
+        if (__IdEntityTargetCursor == null) {
+            __IdEntityTargetCursor = getRelationTargetCursor(IdEntity.class);
+        }
+        return __IdEntityTargetCursor;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (__IdEntityTargetCursor != null) {
+            __IdEntityTargetCursor.close();
+            __IdEntityTargetCursor = null;
+        }
+        super.close();
+    }
+
     private void attachEntity(SimpleEntity entity) {
         // Transformer will create __boxStore field in entity and init it here:
         // entity.__boxStore = boxStoreForEntities;
@@ -28,6 +28,8 @@ public final class ToManyStandaloneCursor extends Cursor<ToManyStandalone> {
 
 
 
+    private Cursor<IdEntity> __IdEntityTargetCursor;
+
     public ToManyStandaloneCursor(io.objectbox.Transaction tx, long cursor, BoxStore boxStore) {
         super(tx, cursor, ToManyStandalone_.__INSTANCE, boxStore);
     }
@@ -53,11 +55,39 @@ public final class ToManyStandaloneCursor extends Cursor<ToManyStandalone> {
         entity.id = __assignedId;
 
         attachEntity(entity);
-        checkApplyToManyToDb(entity.children, IdEntity.class);
-        checkApplyToManyToDb(entity.childrenList, IdEntity.class);
+        List<IdEntity> children = entity.children;
+        if (children instanceof ToMany) {
+            ToMany<IdEntity> childrenToMany = (ToMany<IdEntity>) children;
+            if (childrenToMany.internalCheckApplyToDbRequired()) {
+                childrenToMany.internalApplyToDb(this, getIdEntityTargetCursor());
+            }
+        }
+        List<IdEntity> childrenList = entity.childrenList;
+        if (childrenList instanceof ToMany) {
+            ToMany<IdEntity> childrenListToMany = (ToMany<IdEntity>) childrenList;
+            if (childrenListToMany.internalCheckApplyToDbRequired()) {
+                childrenListToMany.internalApplyToDb(this, getIdEntityTargetCursor());
+            }
+        }
         return __assignedId;
     }
 
+    private Cursor<IdEntity> getIdEntityTargetCursor() {
+        if (__IdEntityTargetCursor == null) {
+            __IdEntityTargetCursor = getRelationTargetCursor(IdEntity.class);
+        }
+        return __IdEntityTargetCursor;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (__IdEntityTargetCursor != null) {
+            __IdEntityTargetCursor.close();
+            __IdEntityTargetCursor = null;
+        }
+        super.close();
+    }
+
     private void attachEntity(ToManyStandalone entity) {
         // Transformer will create __boxStore field in entity and init it here:
         // entity.__boxStore = boxStoreForEntities;
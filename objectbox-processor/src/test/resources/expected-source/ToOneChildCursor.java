@@ -1,6 +1,5 @@
 package io.objectbox.processor.test;
 
-
 import io.objectbox.BoxStore;
 import io.objectbox.Cursor;
 import io.objectbox.annotation.apihint.Internal;
@@ -30,6 +29,8 @@ public final class ToOneChildCursor extends Cursor<ToOneChild> {
     private final static int __ID_aParentId = ToOneChild_.aParentId.id;
     private final static int __ID_parentId = ToOneChild_.parentId.id;
 
+    private Cursor<ToOneParent> __ToOneParentTargetCursor;
+
     public ToOneChildCursor(io.objectbox.Transaction tx, long cursor, BoxStore boxStore) {
         super(tx, cursor, ToOneChild_.__INSTANCE, boxStore);
     }
@@ -49,29 +50,15 @@ public final class ToOneChildCursor extends Cursor<ToOneChild> {
     public long put(ToOneChild entity) {
         ToOne<ToOneParent> parent = entity.parent;
         if(parent != null && parent.internalRequiresPutTarget()) {
-            Cursor<ToOneParent> targetCursor = getRelationTargetCursor(ToOneParent.class);
-            try {
-                parent.internalPutTarget(targetCursor);
-            } finally {
-                targetCursor.close();
-            }
+            parent.internalPutTarget(getToOneParentTargetCursor());
         }
         ToOne<ToOneParent> parentWithIdProperty = entity.parentWithIdProperty;
         if(parentWithIdProperty != null && parentWithIdProperty.internalRequiresPutTarget()) {
-            Cursor<ToOneParent> targetCursor = getRelationTargetCursor(ToOneParent.class);
-            try {
-                parentWithIdProperty.internalPutTarget(targetCursor);
-            } finally {
-                targetCursor.close();
-            }
+            parentWithIdProperty.internalPutTarget(getToOneParentTargetCursor());
         }
         Long id = entity.id;
-        long __assignedId = collect313311(cursor, id != null ? id: 0, PUT_FLAG_FIRST | PUT_FLAG_COMPLETE,
-                0, null, 0, null,
-                0, null, 0, null,
+        long __assignedId = collect004000(cursor, id != null ? id: 0, PUT_FLAG_FIRST | PUT_FLAG_COMPLETE,
                 __ID_aParentId, entity.aParentId, __ID_parentId, entity.parent.getTargetId(),
-                0, 0, 0, 0,
-                0, 0, 0, 0,
                 0, 0, 0, 0);
 
         entity.id = __assignedId;
@@ -80,4 +67,20 @@ public final class ToOneChildCursor extends Cursor<ToOneChild> {
         return __assignedId;
     }
 
+    private Cursor<ToOneParent> getToOneParentTargetCursor() {
+        if (__ToOneParentTargetCursor == null) {
+            __ToOneParentTargetCursor = getRelationTargetCursor(ToOneParent.class);
+        }
+        return __ToOneParentTargetCursor;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (__ToOneParentTargetCursor != null) {
+            __ToOneParentTargetCursor.close();
+            __ToOneParentTargetCursor = null;
+        }
+        super.close();
+    }
+
 }